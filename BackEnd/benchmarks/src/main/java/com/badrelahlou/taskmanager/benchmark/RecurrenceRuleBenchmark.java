@@ -0,0 +1,59 @@
+package com.badrelahlou.taskmanager.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badrelahlou.taskmanager.service.RecurrenceRule;
+import com.badrelahlou.taskmanager.service.RecurrenceRules;
+
+/**
+ * Rule evaluation without the application context. {@code next} is the lookup done when a task
+ * is saved; {@code following} is the scheduler advancing a series from its stored occurrence,
+ * which for COUNT rules no longer depends on how far into the series that occurrence is.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecurrenceRuleBenchmark {
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 2, 9, 0);
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 15, 12, 0);
+
+    @Param({ "FREQ=DAILY", "FREQ=WEEKLY;BYDAY=MO,WE,FR", "FREQ=MONTHLY;BYDAY=-1FR",
+             "FREQ=YEARLY;BYMONTH=3,9;BYMONTHDAY=1", "FREQ=DAILY;COUNT=5000" })
+    public String rule;
+
+    private RecurrenceRule compiled;
+    private RecurrenceRule.Occurrence stored;
+
+    @Setup(Level.Trial)
+    public void compile() {
+        compiled = new RecurrenceRules().compile(rule);
+        stored = compiled.nextOccurrence(START, NOW);
+    }
+
+    @Benchmark
+    public LocalDateTime next() {
+        return compiled.next(START, NOW);
+    }
+
+    @Benchmark
+    public RecurrenceRule.Occurrence following() {
+        return compiled.following(START, stored);
+    }
+}
@@ -0,0 +1,58 @@
+package com.badrelahlou.taskmanager.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badrelahlou.taskmanager.dto.TimeReportRow;
+import com.badrelahlou.taskmanager.service.DashboardDTO;
+import com.badrelahlou.taskmanager.service.DashboardService;
+import com.badrelahlou.taskmanager.service.ReportService;
+import com.badrelahlou.taskmanager.service.TimeReportService;
+
+/** Dashboard counters and report aggregation over the seeded tasks and time entries. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReportBenchmark {
+    @Benchmark
+    public DashboardDTO userDashboard(SeededApplication app) {
+        return app.bean(DashboardService.class).getUserDashboard(app.randomUserId());
+    }
+
+    @Benchmark
+    public Map<String, Object> completionReport(SeededApplication app) {
+        return app.bean(ReportService.class).getTaskCompletionReport(null, null, null, null);
+    }
+
+    @Benchmark
+    public Map<String, Object> completionReportLastWeek(SeededApplication app) {
+        LocalDateTime now = LocalDateTime.now();
+        return app.bean(ReportService.class).getTaskCompletionReport(null, null, now.minusDays(7), now);
+    }
+
+    @Benchmark
+    public List<TimeReportRow> timeReportByDay(SeededApplication app) {
+        LocalDate today = LocalDate.now();
+        return app.bean(TimeReportService.class).getTimeReport(today.minusDays(app.days), today, "day", null);
+    }
+
+    @Benchmark
+    public List<TimeReportRow> userTimeReportByWeek(SeededApplication app) {
+        LocalDate today = LocalDate.now();
+        return app.bean(TimeReportService.class).getTimeReport(today.minusDays(app.days), today, "week",
+                app.randomUserId());
+    }
+}
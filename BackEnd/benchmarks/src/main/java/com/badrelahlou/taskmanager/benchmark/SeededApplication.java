@@ -0,0 +1,219 @@
+package com.badrelahlou.taskmanager.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.badrelahlou.taskmanager.TaskmanagerApplication;
+import com.badrelahlou.taskmanager.model.Priority;
+import com.badrelahlou.taskmanager.model.Role;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.model.TimeEntry;
+import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+import com.badrelahlou.taskmanager.repository.TimeEntryRepository;
+import com.badrelahlou.taskmanager.repository.UserRepository;
+import com.badrelahlou.taskmanager.service.DependencyGraph;
+import com.badrelahlou.taskmanager.service.ReportService;
+import com.badrelahlou.taskmanager.service.TaskCounters;
+import com.badrelahlou.taskmanager.service.TaskSearchIndex;
+import com.badrelahlou.taskmanager.service.TimeReportService;
+
+/**
+ * The whole application on an in-memory H2 database, seeded once per trial with {@code users}
+ * users, {@code tasks} tasks (each depending on up to {@code dependencies} earlier ones) and
+ * {@code entriesPerDay} time entries per user for the last {@code days} days. The in-memory
+ * structures that are normally built at startup or by scheduled jobs are rebuilt after seeding.
+ * <p>
+ * Build with {@code mvn install -DskipTests} in BackEnd and {@code mvn package} here, then run
+ * {@code java -jar target/benchmarks.jar}. Every benchmark runs at each of the task counts below,
+ * so results can be compared across volumes; override them per run, e.g.
+ * {@code -p tasks=1000000 -p users=500}, and {@code -rf json} keeps results for comparison.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+    private static final int CHUNK = 1000;
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    @Param("50")
+    public int users;
+
+    @Param({ "10000", "100000", "500000" })
+    public int tasks;
+
+    @Param("2")
+    public int dependencies;
+
+    @Param("30")
+    public int days;
+
+    @Param("4")
+    public int entriesPerDay;
+
+    private ConfigurableApplicationContext context;
+    private long[] userIds;
+    private long[] taskIds;
+    private TaskStatus[] taskStatuses;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(TaskmanagerApplication.class)
+                .profiles("benchmark")
+                .run();
+        Random random = new Random(42);
+        seedUsers();
+        seedTasks(random);
+        seedTimeEntries(random);
+
+        bean(DependencyGraph.class).load();
+        bean(TaskSearchIndex.class).load();
+        bean(TaskCounters.class).reconcile();
+        bean(ReportService.class).scheduleRebuild();
+        bean(ReportService.class).refreshRollup();
+        bean(TimeReportService.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public long randomUserId() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+
+    public int randomTaskIndex() {
+        return ThreadLocalRandom.current().nextInt(taskIds.length);
+    }
+
+    public long taskId(int index) {
+        return taskIds[index];
+    }
+
+    public TaskStatus taskStatus(int index) {
+        return taskStatuses[index];
+    }
+
+    public List<Long> randomTaskIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(taskIds[randomTaskIndex()]);
+        }
+        return ids;
+    }
+
+    private void seedUsers() {
+        UserRepository userRepository = bean(UserRepository.class);
+        List<User> batch = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.setUsername("bench-user-" + i);
+            user.setEmail("bench-user-" + i + "@example.com");
+            user.setPasswordHash("unused");
+            user.setRole(Role.TEAM_MEMBER);
+            batch.add(user);
+        }
+        List<User> saved = userRepository.saveAll(batch);
+        userIds = new long[saved.size()];
+        for (int i = 0; i < saved.size(); i++) {
+            userIds[i] = saved.get(i).getId();
+        }
+    }
+
+    private void seedTasks(Random random) {
+        TaskRepository taskRepository = bean(TaskRepository.class);
+        UserRepository userRepository = bean(UserRepository.class);
+        TransactionTemplate transactionTemplate = bean(TransactionTemplate.class);
+        taskIds = new long[tasks];
+        taskStatuses = new TaskStatus[tasks];
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < tasks; from += CHUNK) {
+            int start = from;
+            int end = Math.min(tasks, from + CHUNK);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = start; i < end; i++) {
+                    Task task = new Task();
+                    task.setTitle("Task " + i + " " + WORDS[random.nextInt(WORDS.length)]);
+                    task.setDescription(description(random));
+                    task.setPriority(PRIORITIES[random.nextInt(PRIORITIES.length)]);
+                    task.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+                    task.setStartTime(now.minusDays(random.nextInt(Math.max(1, days))));
+                    task.setEndTime(task.getStartTime().plusHours(1 + random.nextInt(72)));
+                    if (random.nextInt(10) > 0) {
+                        task.setAssignedUser(userRepository.getReferenceById(userIds[random.nextInt(userIds.length)]));
+                    }
+                    // Dependencies point at earlier tasks only, so the seeded graph is acyclic.
+                    Set<Long> dependsOn = new HashSet<>();
+                    for (int d = 0; d < dependencies && i > 0; d++) {
+                        dependsOn.add(taskIds[random.nextInt(i)]);
+                    }
+                    List<Task> references = new ArrayList<>(dependsOn.size());
+                    for (Long id : dependsOn) {
+                        references.add(taskRepository.getReferenceById(id));
+                    }
+                    task.setDependencies(references);
+                    taskIds[i] = taskRepository.save(task).getId();
+                    taskStatuses[i] = task.getStatus();
+                }
+            });
+        }
+    }
+
+    private void seedTimeEntries(Random random) {
+        TimeEntryRepository timeEntryRepository = bean(TimeEntryRepository.class);
+        LocalDateTime today = LocalDateTime.now().toLocalDate().atStartOfDay();
+        List<TimeEntry> batch = new ArrayList<>(CHUNK);
+        for (long userId : userIds) {
+            for (int day = 0; day < days; day++) {
+                for (int e = 0; e < entriesPerDay; e++) {
+                    TimeEntry entry = new TimeEntry();
+                    entry.setUserId(userId);
+                    entry.setTaskId(taskIds[random.nextInt(taskIds.length)]);
+                    entry.setStartedAt(today.minusDays(day).plusHours(8 + 2L * e));
+                    entry.setDurationMs((15 + random.nextInt(90)) * 60_000L);
+                    entry.setEndedAt(entry.getStartedAt().plusNanos(entry.getDurationMs() * 1_000_000));
+                    batch.add(entry);
+                    if (batch.size() == CHUNK) {
+                        timeEntryRepository.saveAll(batch);
+                        batch = new ArrayList<>(CHUNK);
+                    }
+                }
+            }
+        }
+        timeEntryRepository.saveAll(batch);
+    }
+
+    private static String description(Random random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 24; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.toString();
+    }
+
+    private static final String[] WORDS = {
+        "billing", "deploy", "pipeline", "migration", "database", "customer", "onboarding", "security",
+        "audit", "report", "invoice", "cluster", "release", "review", "frontend", "backend", "cache",
+        "latency", "search", "index", "schema", "backup", "alerting", "dashboard", "export", "import",
+    };
+}
@@ -0,0 +1,80 @@
+package com.badrelahlou.taskmanager.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.service.TaskService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson serialization of task pages with the application's ObjectMapper: on its own, over an
+ * already loaded graph, and together with loading the page as the list endpoint does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    @Param({ "50", "500" })
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private TransactionTemplate transactionTemplate;
+    private TaskService taskService;
+    private List<Task> loadedPage;
+    private int pages;
+
+    @Setup(Level.Trial)
+    public void load(SeededApplication app) {
+        objectMapper = app.bean(ObjectMapper.class);
+        transactionTemplate = app.bean(TransactionTemplate.class);
+        taskService = app.bean(TaskService.class);
+        pages = Math.max(1, app.tasks / pageSize);
+        // Serializing once inside the transaction initializes every lazy association it touches.
+        loadedPage = transactionTemplate.execute(status -> {
+            List<Task> tasks = taskService.getAllTasks(PageRequest.of(0, pageSize)).getContent();
+            write(tasks);
+            return tasks;
+        });
+    }
+
+    @Benchmark
+    public byte[] serializeLoadedPage() {
+        return write(loadedPage);
+    }
+
+    @Benchmark
+    public byte[] loadAndSerializePage() {
+        int page = ThreadLocalRandom.current().nextInt(pages);
+        return transactionTemplate.execute(status ->
+                write(taskService.getAllTasks(PageRequest.of(page, pageSize)).getContent()));
+    }
+
+    private byte[] write(List<Task> tasks) {
+        try {
+            return objectMapper.writeValueAsBytes(tasks);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.badrelahlou.taskmanager.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badrelahlou.taskmanager.dto.TaskBatchOperation;
+import com.badrelahlou.taskmanager.dto.TaskBatchResult;
+import com.badrelahlou.taskmanager.model.Priority;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.service.TaskBatchService;
+
+/**
+ * One whole import through TaskBatchService per invocation: {@code importSize} creates, with
+ * {@code failuresPerThousand} of them replaced by status changes of a missing task. Any failure
+ * sends its chunk through the one-operation-per-transaction replay, so the second setting shows
+ * what that costs. Imported tasks stay in the database.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskBatchBenchmark {
+    @Param("10000")
+    public int importSize;
+
+    @Param({"0", "1"})
+    public int failuresPerThousand;
+
+    private List<TaskBatchOperation> operations;
+
+    @Setup(Level.Invocation)
+    public void prepare() {
+        operations = new ArrayList<>(importSize);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < importSize; i++) {
+            TaskBatchOperation operation = new TaskBatchOperation();
+            if (failuresPerThousand > 0 && i % (1000 / failuresPerThousand) == 0) {
+                operation.setType(TaskBatchOperation.Type.STATUS);
+                operation.setTaskId(-1L);
+                operation.setStatus(TaskStatus.DONE);
+            } else {
+                Task task = new Task();
+                task.setTitle("Imported task " + i);
+                task.setDescription("Created by TaskBatchBenchmark");
+                task.setPriority(Priority.LOW);
+                task.setStartTime(now);
+                task.setEndTime(now.plusDays(1));
+                operation.setType(TaskBatchOperation.Type.CREATE);
+                operation.setTask(task);
+            }
+            operations.add(operation);
+        }
+    }
+
+    @Benchmark
+    public List<TaskBatchResult> importTasks(SeededApplication app) {
+        return app.bean(TaskBatchService.class).execute(operations);
+    }
+}
@@ -0,0 +1,119 @@
+package com.badrelahlou.taskmanager.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badrelahlou.taskmanager.service.TaskSearchIndex;
+
+/**
+ * Top-20 search over the in-memory index against the previous approach of listing every task and
+ * filtering with {@code contains}, without the application context. Titles, descriptions and
+ * {@code commentsPerTask} comments per task are synthetic Zipf-like text; the default volume is
+ * the 5M-task target. Index and texts take about 1 GB of heap per million tasks, hence the heap
+ * set below; lower it together with {@code -p tasks}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class TaskSearchBenchmark {
+    private static final int LIMIT = 20;
+
+    @Param("5000000")
+    public int tasks;
+
+    @Param("2")
+    public int commentsPerTask;
+
+    @Param({ "billing", "deploy pipeline", "migr", "databse", "security audit report" })
+    public String query;
+
+    private TaskSearchIndex index;
+    private String[] texts;
+
+    @Setup(Level.Trial)
+    public void build() {
+        String[] vocabulary = vocabulary(20_000);
+        Random random = new Random(42);
+        index = new TaskSearchIndex();
+        texts = new String[tasks];
+        long commentId = 0;
+        for (int i = 0; i < tasks; i++) {
+            long taskId = i + 1L;
+            String title = text(vocabulary, random, 4);
+            String description = text(vocabulary, random, 20);
+            index.indexTask(taskId, title, description);
+            StringBuilder all = new StringBuilder(title).append(' ').append(description);
+            for (int c = 0; c < commentsPerTask; c++) {
+                String comment = text(vocabulary, random, 8);
+                index.indexComment(taskId, ++commentId, comment);
+                all.append(' ').append(comment);
+            }
+            texts[i] = all.toString();
+        }
+    }
+
+    @Benchmark
+    public List<TaskSearchIndex.Hit> index() {
+        return index.search(query, LIMIT);
+    }
+
+    // What a client had to do before: fetch every task and keep those containing all query words.
+    @Benchmark
+    @Measurement(iterations = 3)
+    public List<Integer> fullScan() {
+        String[] words = query.toLowerCase(Locale.ROOT).split(" ");
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < texts.length && matches.size() < LIMIT; i++) {
+            String text = texts[i].toLowerCase(Locale.ROOT);
+            boolean all = true;
+            for (String word : words) {
+                all &= text.contains(word);
+            }
+            if (all) {
+                matches.add(i);
+            }
+        }
+        return matches;
+    }
+
+    private static String[] vocabulary(int size) {
+        String[] base = { "billing", "deploy", "pipeline", "migrate", "database", "customer", "onboarding",
+                "security", "audit", "report", "release", "invoice", "cluster", "login", "dashboard" };
+        String[] words = new String[size];
+        Random random = new Random(7);
+        for (int i = 0; i < size; i++) {
+            words[i] = i < base.length ? base[i]
+                    : base[i % base.length].substring(0, 3) + Integer.toString(random.nextInt(1 << 20), 36);
+        }
+        return words;
+    }
+
+    // Low ranks are far more common, as in real task text.
+    private static String text(String[] vocabulary, Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            double u = random.nextDouble();
+            text.append(vocabulary[(int) (Math.pow(u, 3) * vocabulary.length)]).append(' ');
+        }
+        return text.toString();
+    }
+}
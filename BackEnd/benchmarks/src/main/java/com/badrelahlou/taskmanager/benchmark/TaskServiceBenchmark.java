@@ -0,0 +1,115 @@
+package com.badrelahlou.taskmanager.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badrelahlou.taskmanager.model.Priority;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.service.ActiveTimer;
+import com.badrelahlou.taskmanager.service.TaskService;
+import com.badrelahlou.taskmanager.service.TimeTrackingService;
+
+/**
+ * Write paths of TaskService, each including the events, notifications and in-memory index
+ * updates it triggers. Created tasks stay in the database, so long runs slowly grow it. Run over
+ * SeededApplication's task counts, {@code complete} shows whether completing a task costs the
+ * same whatever the size of the table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskServiceBenchmark {
+    @Param({ "1", "10" })
+    public int dependenciesPerTask;
+
+    /** A task with {@code dependents} open tasks waiting for it, reopened before every completion. */
+    @State(Scope.Benchmark)
+    public static class Completion {
+        @Param({ "1", "10", "100" })
+        public int dependents;
+
+        private Long taskId;
+
+        @Setup(Level.Trial)
+        public void create(SeededApplication app) {
+            TaskService taskService = app.bean(TaskService.class);
+            taskId = taskService.createTask(newTask("Completed task"), null).getId();
+            List<Long> dependsOn = List.of(taskId);
+            for (int i = 0; i < dependents; i++) {
+                Long id = taskService.createTask(newTask("Waiting task " + i), dependsOn).getId();
+                taskService.assignTaskToUser(id, app.randomUserId());
+            }
+        }
+
+        // Level.Invocation is fine here: a completion takes milliseconds, far above the per-call setup overhead.
+        @Setup(Level.Invocation)
+        public void reopen(SeededApplication app) {
+            app.bean(TaskService.class).updateStatus(taskId, TaskStatus.IN_PROGRESS);
+        }
+    }
+
+    @Benchmark
+    public Task createWithDependencies(SeededApplication app) {
+        return app.bean(TaskService.class).createTask(newTask("Benchmark task"), app.randomTaskIds(dependenciesPerTask));
+    }
+
+    // Completing a task notifies the assignees of its open dependents, found by the reverse lookup.
+    @Benchmark
+    public Task complete(SeededApplication app, Completion completion) {
+        return app.bean(TaskService.class).updateStatus(completion.taskId, TaskStatus.DONE);
+    }
+
+    @Benchmark
+    public Task update(SeededApplication app) {
+        int index = app.randomTaskIndex();
+        Task patch = new Task();
+        patch.setTitle("Updated task " + index);
+        patch.setDescription("Updated by TaskServiceBenchmark");
+        patch.setPriority(Priority.HIGH);
+        patch.setStatus(app.taskStatus(index));
+        return app.bean(TaskService.class).updateTask(app.taskId(index), patch);
+    }
+
+    @Benchmark
+    public Task assign(SeededApplication app) {
+        return app.bean(TaskService.class).assignTaskToUser(app.taskId(app.randomTaskIndex()), app.randomUserId());
+    }
+
+    // Stopping a timer records time only; completing the task is the status change measured above.
+    @Benchmark
+    public ActiveTimer startAndStopTimer(SeededApplication app) {
+        TimeTrackingService timeTracking = app.bean(TimeTrackingService.class);
+        long userId = app.randomUserId();
+        long taskId = app.taskId(app.randomTaskIndex());
+        timeTracking.start(userId, taskId);
+        return timeTracking.stop(userId, taskId);
+    }
+
+    private static Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Created by TaskServiceBenchmark");
+        task.setPriority(Priority.MEDIUM);
+        task.setStartTime(LocalDateTime.now());
+        task.setEndTime(task.getStartTime().plusHours(4));
+        return task;
+    }
+}
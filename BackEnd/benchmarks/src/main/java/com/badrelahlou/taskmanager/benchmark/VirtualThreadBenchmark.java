@@ -0,0 +1,103 @@
+package com.badrelahlou.taskmanager.benchmark;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * The request path on Tomcat's default 200 platform threads against one virtual thread per
+ * request, without the application context. A request holds one of {@code poolSize} connections
+ * for {@code jdbcMs} and then blocks without one for {@code brokerMs}, the shape of a task update
+ * that publishes a notification. One operation is a burst of {@code clients} concurrent requests,
+ * so requests per second are {@code clients} divided by the score. The virtual mode needs Java 21
+ * and fails its setup on older JVMs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({ "platform", "virtual" })
+    public String mode;
+
+    @Param({ "1000", "2000", "5000", "10000" })
+    public int clients;
+
+    @Param("20")
+    public int poolSize;
+
+    @Param("2")
+    public long jdbcMs;
+
+    @Param("10")
+    public long brokerMs;
+
+    private Executor executor;
+    private Semaphore connections;
+
+    @Setup(Level.Trial)
+    public void start() {
+        if ("virtual".equals(mode)) {
+            if (Runtime.version().feature() < 21) {
+                throw new IllegalStateException("Virtual threads need Java 21, this is Java "
+                        + Runtime.version().feature());
+            }
+            executor = new VirtualThreadTaskExecutor("bench-");
+        } else {
+            executor = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        }
+        connections = new Semaphore(poolSize, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (executor instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public void burst() throws InterruptedException {
+        CountDownLatch finished = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            executor.execute(() -> {
+                try {
+                    connections.acquire();
+                    try {
+                        Thread.sleep(jdbcMs);
+                    } finally {
+                        connections.release();
+                    }
+                    Thread.sleep(brokerMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    finished.countDown();
+                }
+            });
+        }
+        finished.await();
+    }
+}
@@ -0,0 +1,84 @@
+package com.badrelahlou.taskmanager.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * What SyntheticDataGenerator seeded, written by LoadTestServer and read by LoadDriver so the
+ * driver only requests ids that exist. Task and user ids are contiguous ranges.
+ */
+public final class Dataset {
+    private final String baseUrl;
+    private final long firstTaskId;
+    private final long lastTaskId;
+    private final long firstUserId;
+    private final long lastUserId;
+    private final String managerUsername;
+    private final String password;
+
+    public Dataset(String baseUrl, long firstTaskId, long lastTaskId, long firstUserId, long lastUserId,
+            String managerUsername, String password) {
+        this.baseUrl = baseUrl;
+        this.firstTaskId = firstTaskId;
+        this.lastTaskId = lastTaskId;
+        this.firstUserId = firstUserId;
+        this.lastUserId = lastUserId;
+        this.managerUsername = managerUsername;
+        this.password = password;
+    }
+
+    public Dataset withBaseUrl(String baseUrl) {
+        return new Dataset(baseUrl, firstTaskId, lastTaskId, firstUserId, lastUserId, managerUsername, password);
+    }
+
+    public String getBaseUrl() { return baseUrl; }
+    public long getFirstTaskId() { return firstTaskId; }
+    public long getLastTaskId() { return lastTaskId; }
+    public long getFirstUserId() { return firstUserId; }
+    public long getLastUserId() { return lastUserId; }
+    public String getManagerUsername() { return managerUsername; }
+    public String getPassword() { return password; }
+
+    public long getTasks() {
+        return lastTaskId - firstTaskId + 1;
+    }
+
+    public long getUsers() {
+        return lastUserId - firstUserId + 1;
+    }
+
+    public void write(Path file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("base-url", baseUrl);
+        properties.setProperty("first-task-id", Long.toString(firstTaskId));
+        properties.setProperty("last-task-id", Long.toString(lastTaskId));
+        properties.setProperty("first-user-id", Long.toString(firstUserId));
+        properties.setProperty("last-user-id", Long.toString(lastUserId));
+        properties.setProperty("manager-username", managerUsername);
+        properties.setProperty("password", password);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            properties.store(writer, "Seeded by LoadTestServer");
+        }
+    }
+
+    public static Dataset read(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        return new Dataset(properties.getProperty("base-url"),
+                Long.parseLong(properties.getProperty("first-task-id")),
+                Long.parseLong(properties.getProperty("last-task-id")),
+                Long.parseLong(properties.getProperty("first-user-id")),
+                Long.parseLong(properties.getProperty("last-user-id")),
+                properties.getProperty("manager-username"),
+                properties.getProperty("password"));
+    }
+}
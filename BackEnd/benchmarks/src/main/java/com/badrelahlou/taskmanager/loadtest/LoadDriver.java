@@ -0,0 +1,256 @@
+package com.badrelahlou.taskmanager.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.badrelahlou.taskmanager.dto.Cursors;
+import com.badrelahlou.taskmanager.service.LatencyRecorder;
+import com.badrelahlou.taskmanager.service.LatencySnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Replays a weighted mix of task, timer, assignment and report calls against a running
+ * LoadTestServer from {@code threads} closed-loop clients, then prints throughput and latency
+ * percentiles per operation. Requests made during {@code warmup} are not counted. Each client
+ * draws from its own {@code Random(seed + client)} and times its own user, so the request
+ * sequence is the same on every run. Exits with status 1 when more than {@code max-error-rate}
+ * of the requests fail, so it can gate a build.
+ * <p>
+ * {@code java -cp target/benchmarks.jar com.badrelahlou.taskmanager.loadtest.LoadDriver
+ * --threads=32 --warmup=30 --duration=120 --mix=get-task:40,assign:0}
+ */
+public class LoadDriver {
+    enum Operation {
+        LIST_PAGE(20), LIST_KEYSET(10), FILTER(10), SEARCH(5), GET_TASK(20), TIMER(10), ASSIGN(10),
+        DASHBOARD(5), COMPLETION_REPORT(5), TIME_REPORT(5);
+
+        private final int defaultWeight;
+
+        Operation(int defaultWeight) {
+            this.defaultWeight = defaultWeight;
+        }
+
+        String label() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    private static final String[] SEARCH_TERMS = { "billing", "deploy migration", "security audit", "cache",
+            "release review", "search index" };
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final Dataset dataset;
+    private final Map<Operation, Integer> weights;
+    private final int totalWeight;
+    private final Map<Operation, LatencyRecorder> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private String managerToken;
+
+    LoadDriver(Dataset dataset, Map<Operation, Integer> weights) {
+        this.dataset = dataset;
+        this.weights = weights;
+        this.totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyRecorder());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        Dataset dataset = Dataset.read(Path.of(options.getOrDefault("dataset", "target/loadtest/dataset.properties")));
+        if (options.containsKey("base-url")) {
+            dataset = dataset.withBaseUrl(options.get("base-url"));
+        }
+        int threads = Integer.parseInt(options.getOrDefault("threads", "32"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "30")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "120")));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        double maxErrorRate = Double.parseDouble(options.getOrDefault("max-error-rate", "0.01"));
+
+        LoadDriver driver = new LoadDriver(dataset, weights(options.get("mix")));
+        driver.login();
+        System.out.printf("%d clients against %s (%,d tasks, %,d users), %d s warmup, %d s measured, seed %d%n",
+                threads, dataset.getBaseUrl(), dataset.getTasks(), dataset.getUsers(), warmup.toSeconds(),
+                duration.toSeconds(), seed);
+        double errorRate = driver.run(threads, warmup, duration, seed);
+        if (errorRate > maxErrorRate) {
+            System.out.printf("Error rate %.2f%% is above the allowed %.2f%%%n", errorRate * 100, maxErrorRate * 100);
+            System.exit(1);
+        }
+    }
+
+    private static Map<Operation, Integer> weights(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            weights.put(operation, operation.defaultWeight);
+        }
+        if (mix != null) {
+            for (String entry : mix.split(",")) {
+                String[] parts = entry.split(":");
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase().replace('-', '_')),
+                        Integer.parseInt(parts[1].trim()));
+            }
+        }
+        return weights;
+    }
+
+    // The completion report is restricted to managers; every other endpoint is open.
+    private void login() throws Exception {
+        String body = "{\"username\":\"" + dataset.getManagerUsername() + "\",\"password\":\""
+                + dataset.getPassword() + "\"}";
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/users/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + dataset.getManagerUsername() + " failed with status "
+                    + response.statusCode());
+        }
+        managerToken = new ObjectMapper().readTree(response.body()).get("token").asText();
+    }
+
+    private double run(int threads, Duration warmup, Duration duration, long seed) throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureTo = measureFrom + duration.toNanos();
+        Thread[] clients = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            int client = i;
+            clients[i] = new Thread(() -> runClient(client, new Random(seed + client), measureFrom, measureTo),
+                    "load-client-" + i);
+            clients[i].start();
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        return report(duration);
+    }
+
+    private void runClient(int client, Random random, long measureFrom, long measureTo) {
+        long userId = dataset.getFirstUserId() + client % dataset.getUsers();
+        long now;
+        while ((now = System.nanoTime()) < measureTo) {
+            Operation operation = pick(random);
+            boolean ok;
+            try {
+                ok = execute(operation, random, userId);
+            } catch (Exception e) {
+                ok = false;
+            }
+            if (now >= measureFrom) {
+                latencies.get(operation).record(System.nanoTime() - now);
+                if (!ok) {
+                    errors.get(operation).increment();
+                }
+            }
+        }
+    }
+
+    private Operation pick(Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> weight : weights.entrySet()) {
+            roll -= weight.getValue();
+            if (roll < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Operation weights must add up to more than zero");
+    }
+
+    private boolean execute(Operation operation, Random random, long userId) throws Exception {
+        long taskId = dataset.getFirstTaskId() + (long) (random.nextDouble() * dataset.getTasks());
+        long otherUserId = dataset.getFirstUserId() + (long) (random.nextDouble() * dataset.getUsers());
+        LocalDate today = LocalDate.now();
+        switch (operation) {
+            case LIST_PAGE:
+                return get("/api/tasks?page=" + random.nextInt(50) + "&size=20", null);
+            case LIST_KEYSET:
+                return get("/api/tasks?limit=50&after=" + Cursors.encode(taskId), null);
+            case FILTER:
+                return get("/api/tasks?assignee=" + otherUserId + "&open=true&limit=50", null);
+            case SEARCH:
+                return get("/api/tasks/search?q=" + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)].replace(" ", "+"),
+                        null);
+            case GET_TASK:
+                return get("/api/tasks/" + taskId, null);
+            case TIMER:
+                String timer = "/api/users/" + userId + "/timers/" + taskId;
+                return post(timer + "/start") && post(timer + "/stop");
+            case ASSIGN:
+                return send(HttpRequest.newBuilder(uri("/api/tasks/" + taskId + "/assign"))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(Long.toString(otherUserId))));
+            case DASHBOARD:
+                return get("/api/reports/dashboard", null);
+            case COMPLETION_REPORT:
+                return get("/api/reports/task-completion?updatedFrom=" + LocalDateTime.now().minusDays(7).withNano(0),
+                        managerToken);
+            case TIME_REPORT:
+                return get("/api/reports/time?from=" + today.minusDays(30) + "&to=" + today + "&groupBy=week", null);
+            default:
+                throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+    }
+
+    private boolean get(String path, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).GET();
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return send(request);
+    }
+
+    private boolean post(String path) throws Exception {
+        return send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private boolean send(HttpRequest.Builder request) throws Exception {
+        int status = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+        return status >= 200 && status < 300;
+    }
+
+    private URI uri(String path) {
+        return URI.create(dataset.getBaseUrl() + path);
+    }
+
+    private double report(Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("%-18s %9s %7s %9s %9s %9s %9s %9s %9s%n", "operation", "requests", "errors", "req/s",
+                "mean ms", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long requests = 0;
+        long failed = 0;
+        for (Operation operation : Operation.values()) {
+            LatencySnapshot latency = latencies.get(operation).snapshot();
+            if (latency.getCount() == 0) {
+                continue;
+            }
+            long operationErrors = errors.get(operation).sum();
+            requests += latency.getCount();
+            failed += operationErrors;
+            System.out.printf("%-18s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", operation.label(),
+                    latency.getCount(), operationErrors, latency.getCount() / seconds, latency.getMeanMicros() / 1000.0,
+                    latency.getP50Micros() / 1000.0, latency.getP95Micros() / 1000.0, latency.getP99Micros() / 1000.0,
+                    latency.getMaxMicros() / 1000.0);
+        }
+        System.out.printf("%-18s %9d %7d %9.1f%n", "total", requests, failed, requests / seconds);
+        return requests == 0 ? 1 : (double) failed / requests;
+    }
+}
@@ -0,0 +1,58 @@
+package com.badrelahlou.taskmanager.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.badrelahlou.taskmanager.TaskmanagerApplication;
+import com.badrelahlou.taskmanager.service.DependencyGraph;
+import com.badrelahlou.taskmanager.service.ReportService;
+import com.badrelahlou.taskmanager.service.TaskCounters;
+import com.badrelahlou.taskmanager.service.TaskSearchIndex;
+import com.badrelahlou.taskmanager.service.TimeReportService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Starts the application with the {@code loadtest} profile on an embedded H2 database, seeds it
+ * with SyntheticDataGenerator and writes the dataset file LoadDriver reads. Everything runs
+ * offline; the data is recreated on every start, so runs with the same settings are comparable.
+ * <p>
+ * Build as described in SeededApplication, then e.g.
+ * {@code java -Xmx6g -cp target/benchmarks.jar com.badrelahlou.taskmanager.loadtest.LoadTestServer
+ * --taskmanager.loadtest.tasks=2000000}. Pointing {@code spring.datasource.*} at an empty
+ * PostgreSQL database seeds that instead.
+ */
+public class LoadTestServer {
+    public static void main(String[] args) throws IOException {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskmanagerApplication.class)
+                .profiles("loadtest")
+                .run(args);
+        Environment environment = context.getEnvironment();
+        long started = System.nanoTime();
+        Dataset dataset = new SyntheticDataGenerator(context.getBean(JdbcTemplate.class),
+                context.getBean(TransactionTemplate.class), context.getBean(PasswordEncoder.class), environment)
+                .generate();
+
+        // The rows bypassed JPA, so rebuild what startup and the scheduled jobs derive from them.
+        context.getBean(EntityManagerFactory.class).getCache().evictAll();
+        context.getBean(DependencyGraph.class).load();
+        context.getBean(TaskSearchIndex.class).load();
+        context.getBean(TaskCounters.class).reconcile();
+        context.getBean(ReportService.class).scheduleRebuild();
+        context.getBean(ReportService.class).refreshRollup();
+        context.getBean(TimeReportService.class).rebuild();
+
+        Path file = Path.of(environment.getProperty("taskmanager.loadtest.dataset-file",
+                "target/loadtest/dataset.properties"));
+        dataset.withBaseUrl("http://localhost:" + environment.getProperty("local.server.port")).write(file);
+        System.out.printf("Seeded and ready in %.1f s, dataset written to %s%n", (System.nanoTime() - started) / 1e9,
+                file.toAbsolutePath());
+    }
+}
@@ -0,0 +1,305 @@
+package com.badrelahlou.taskmanager.loadtest;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.badrelahlou.taskmanager.config.SequenceInitializer;
+import com.badrelahlou.taskmanager.model.Priority;
+import com.badrelahlou.taskmanager.model.Role;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+
+/**
+ * Seeds a production-shaped dataset into an empty database with batched JDBC inserts, bypassing
+ * JPA so millions of rows take minutes rather than hours. Tasks are grouped into projects of
+ * {@code project-size} tasks: each project is a subtask tree under its first task, and tasks
+ * depend on recent earlier tasks of the same project, so the dependency graph stays acyclic.
+ * Older tasks are mostly done and a few users own most of the work. Every choice comes from one
+ * {@code Random(seed)}, so the same settings always produce the same rows.
+ * <p>
+ * Settings are {@code taskmanager.loadtest.*} properties; see application-loadtest.properties.
+ * On PostgreSQL, add {@code reWriteBatchedInserts=true} to the JDBC URL so batches are sent as
+ * multi-row inserts.
+ */
+public class SyntheticDataGenerator {
+    public static final String PASSWORD = "loadtest";
+
+    private static final int BATCH = 5000;
+    private static final int DEPENDENCY_WINDOW = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final Random random;
+    private final int users;
+    private final int managers;
+    private final int tasks;
+    private final int projectSize;
+    private final int maxDependencies;
+    private final double commentsPerTask;
+    private final int notificationsPerUser;
+    private final int days;
+    private final int timeEntriesPerUserPerDay;
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    private long[] userIds;
+    private String[] usernames;
+    private long firstTaskId;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            PasswordEncoder passwordEncoder, Environment environment) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.random = new Random(environment.getProperty("taskmanager.loadtest.seed", Long.class, 42L));
+        this.users = environment.getProperty("taskmanager.loadtest.users", Integer.class, 1000);
+        this.managers = Math.max(1, users / 50);
+        this.tasks = environment.getProperty("taskmanager.loadtest.tasks", Integer.class, 1_000_000);
+        this.projectSize = environment.getProperty("taskmanager.loadtest.project-size", Integer.class, 200);
+        this.maxDependencies = environment.getProperty("taskmanager.loadtest.max-dependencies", Integer.class, 3);
+        this.commentsPerTask = environment.getProperty("taskmanager.loadtest.comments-per-task", Double.class, 0.5);
+        this.notificationsPerUser = environment.getProperty("taskmanager.loadtest.notifications-per-user",
+                Integer.class, 50);
+        this.days = environment.getProperty("taskmanager.loadtest.days", Integer.class, 90);
+        this.timeEntriesPerUserPerDay = environment.getProperty("taskmanager.loadtest.time-entries-per-user-per-day",
+                Integer.class, 2);
+        if (users < 2 || tasks < 1 || projectSize < 1) {
+            throw new IllegalArgumentException("taskmanager.loadtest needs at least 2 users, 1 task and a project "
+                    + "size of at least 1");
+        }
+    }
+
+    public Dataset generate() {
+        Long existing = jdbcTemplate.queryForObject(
+                "select (select count(*) from users) + (select count(*) from tasks)", Long.class);
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("The load test dataset must be seeded into an empty database");
+        }
+        timed("users", users, this::seedUsers);
+        timed("tasks", tasks, this::seedTasks);
+        timed("comments", (long) (tasks * commentsPerTask), this::seedComments);
+        timed("notifications", (long) users * notificationsPerUser, this::seedNotifications);
+        timed("time entries", (long) users * days * timeEntriesPerUserPerDay, this::seedTimeEntries);
+        restartSequence("tasks", "tasks_seq");
+        restartSequence("notification", "notification_seq");
+        restartSequence("time_entries", "time_entries_seq");
+        return new Dataset(null, firstTaskId, firstTaskId + tasks - 1, userIds[0], userIds[userIds.length - 1],
+                usernames[1], PASSWORD);
+    }
+
+    // The first user is an admin and the next ones project managers, who can read every report.
+    private void seedUsers() {
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        usernames = new String[users];
+        List<Object[]> rows = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            Role role = i == 0 ? Role.ADMIN : i <= managers ? Role.PROJECT_MANAGER : Role.TEAM_MEMBER;
+            usernames[i] = "loadtest-user-" + i;
+            rows.add(new Object[] { usernames[i], role.name(), passwordHash, usernames[i] + "@example.com", false });
+        }
+        insert("insert into users (username, role, password_hash, email, is_two_factor_enabled) values (?, ?, ?, ?, ?)",
+                new int[] { Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BOOLEAN }, rows);
+        // Ids are database-generated here; insertion order matches the username suffix.
+        userIds = jdbcTemplate.queryForList("select id from users order by id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private void seedTasks() {
+        firstTaskId = nextId("tasks");
+        long historySeconds = days * 86_400L;
+        List<Object[]> taskRows = new ArrayList<>(BATCH);
+        List<Object[]> dependencyRows = new ArrayList<>(BATCH * maxDependencies);
+        for (int i = 0; i < tasks; i++) {
+            long id = firstTaskId + i;
+            int indexInProject = i % projectSize;
+            long projectRoot = id - indexInProject;
+            double age = 1 - (double) i / tasks;
+            LocalDateTime createdAt = now.minusSeconds((long) (age * historySeconds) + random.nextInt(3600));
+            LocalDateTime startTime = createdAt.plusHours(random.nextInt(48));
+            LocalDateTime endTime = startTime.plusHours(4 + random.nextInt(14 * 24));
+            TaskStatus status = status(age);
+            LocalDateTime updatedAt = status == TaskStatus.DONE && endTime.isBefore(now) ? endTime
+                    : createdAt.plusSeconds((long) (random.nextDouble() * age * historySeconds));
+            Long assignee = random.nextInt(10) == 0 ? null : skewedUserId();
+            Long timeSpent = status == TaskStatus.TODO ? null : (15 + random.nextInt(40 * 60)) * 60_000L;
+            Long parent = indexInProject == 0 ? null : projectRoot + random.nextInt(indexInProject);
+            taskRows.add(new Object[] { id, "P" + (i / projectSize) + " " + words(3) + " #" + i, words(24),
+                    timestamp(startTime), timestamp(endTime), timeSpent, priority().name(), status.name(),
+                    assignee, timestamp(createdAt), timestamp(updatedAt), usernames[1 + random.nextInt(managers)],
+                    parent });
+            int dependencies = indexInProject == 0 ? 0 : random.nextInt(maxDependencies + 1);
+            long[] added = new long[dependencies];
+            for (int d = 0; d < dependencies; d++) {
+                added[d] = id - 1 - random.nextInt(Math.min(indexInProject, DEPENDENCY_WINDOW));
+                if (!contains(added, d, added[d])) {
+                    dependencyRows.add(new Object[] { id, added[d] });
+                }
+            }
+            if (taskRows.size() == BATCH || i == tasks - 1) {
+                // Parents and dependencies are earlier rows of this or a previous batch.
+                insert("insert into tasks (id, title, description, start_time, end_time, time_spent, priority, status, "
+                        + "assigned_user_id, created_at, updated_at, created_by, parent_task_id) "
+                        + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                        new int[] { Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP,
+                                Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.BIGINT, Types.TIMESTAMP,
+                                Types.TIMESTAMP, Types.VARCHAR, Types.BIGINT },
+                        taskRows);
+                insert("insert into task_dependencies (task_id, dependency_id) values (?, ?)",
+                        new int[] { Types.BIGINT, Types.BIGINT }, dependencyRows);
+                taskRows.clear();
+                dependencyRows.clear();
+            }
+        }
+    }
+
+    private void seedComments() {
+        List<Object[]> rows = new ArrayList<>(BATCH);
+        int whole = (int) commentsPerTask;
+        double fraction = commentsPerTask - whole;
+        for (int i = 0; i < tasks; i++) {
+            int comments = whole + (random.nextDouble() < fraction ? 1 : 0);
+            for (int c = 0; c < comments; c++) {
+                LocalDateTime createdAt = now.minusMinutes(random.nextInt(days * 24 * 60));
+                rows.add(new Object[] { firstTaskId + i, skewedUserId(), words(12), timestamp(createdAt) });
+            }
+            if (rows.size() >= BATCH || i == tasks - 1) {
+                insert("insert into task_comments (task_id, user_id, comment, created_at) values (?, ?, ?, ?)",
+                        new int[] { Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.TIMESTAMP }, rows);
+                rows.clear();
+            }
+        }
+    }
+
+    // Recent notifications are more often unread, as in an inbox that is read now and then.
+    private void seedNotifications() {
+        long id = nextId("notification");
+        List<Object[]> rows = new ArrayList<>(BATCH);
+        for (int u = 0; u < users; u++) {
+            for (int n = 0; n < notificationsPerUser; n++) {
+                int minutesAgo = random.nextInt(days * 24 * 60);
+                boolean read = random.nextDouble() < (minutesAgo > 2 * 24 * 60 ? 0.9 : 0.3);
+                long taskId = firstTaskId + random.nextInt(tasks);
+                rows.add(new Object[] { id++, userIds[u], "Task " + taskId + " was updated",
+                        timestamp(now.minusMinutes(minutesAgo)), read });
+                if (rows.size() == BATCH) {
+                    insertNotifications(rows);
+                }
+            }
+        }
+        insertNotifications(rows);
+    }
+
+    private void insertNotifications(List<Object[]> rows) {
+        insert("insert into notification (id, user_id, message, created_at, is_read) values (?, ?, ?, ?, ?)",
+                new int[] { Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.TIMESTAMP, Types.BOOLEAN }, rows);
+        rows.clear();
+    }
+
+    private void seedTimeEntries() {
+        long id = nextId("time_entries");
+        LocalDateTime today = now.toLocalDate().atStartOfDay();
+        List<Object[]> rows = new ArrayList<>(BATCH);
+        for (int u = 0; u < users; u++) {
+            for (int day = 0; day < days; day++) {
+                for (int e = 0; e < timeEntriesPerUserPerDay; e++) {
+                    LocalDateTime startedAt = today.minusDays(day).plusHours(8 + e).plusMinutes(random.nextInt(60));
+                    long durationMs = (5 + random.nextInt(55)) * 60_000L;
+                    rows.add(new Object[] { id++, userIds[u], firstTaskId + random.nextInt(tasks),
+                            timestamp(startedAt), timestamp(startedAt.plusNanos(durationMs * 1_000_000)), durationMs });
+                    if (rows.size() == BATCH) {
+                        insertTimeEntries(rows);
+                    }
+                }
+            }
+        }
+        insertTimeEntries(rows);
+    }
+
+    private void insertTimeEntries(List<Object[]> rows) {
+        insert("insert into time_entries (id, user_id, task_id, started_at, ended_at, duration_ms) "
+                + "values (?, ?, ?, ?, ?, ?)",
+                new int[] { Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.TIMESTAMP, Types.TIMESTAMP, Types.BIGINT },
+                rows);
+        rows.clear();
+    }
+
+    private void insert(String sql, int[] types, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows, types));
+        }
+    }
+
+    private long nextId(String table) {
+        return jdbcTemplate.queryForObject("select coalesce(max(id), 0) + 1 from " + table, Long.class);
+    }
+
+    // Moves the pooled sequence past the explicitly assigned ids, as SequenceInitializer does at startup.
+    private void restartSequence(String table, String sequence) {
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with "
+                + (nextId(table) + SequenceInitializer.ALLOCATION_SIZE));
+    }
+
+    private static boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private TaskStatus status(double age) {
+        double roll = random.nextDouble();
+        if (roll < 0.15 + 0.8 * age) {
+            return TaskStatus.DONE;
+        }
+        return random.nextInt(3) == 0 ? TaskStatus.IN_PROGRESS : TaskStatus.TODO;
+    }
+
+    private Priority priority() {
+        int roll = random.nextInt(10);
+        return roll < 2 ? Priority.HIGH : roll < 7 ? Priority.MEDIUM : Priority.LOW;
+    }
+
+    // Squaring a uniform draw gives a long tail: the first users own far more work than the last.
+    private long skewedUserId() {
+        double roll = random.nextDouble();
+        return userIds[(int) (roll * roll * users)];
+    }
+
+    private String words(int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return Timestamp.valueOf(value);
+    }
+
+    private static void timed(String what, long rows, Runnable seeding) {
+        long started = System.nanoTime();
+        seeding.run();
+        System.out.printf("Seeded %,d %s in %.1f s%n", rows, what, (System.nanoTime() - started) / 1e9);
+    }
+
+    private static final String[] WORDS = {
+        "billing", "deploy", "pipeline", "migration", "database", "customer", "onboarding", "security",
+        "audit", "report", "invoice", "cluster", "release", "review", "frontend", "backend", "cache",
+        "latency", "search", "index", "schema", "backup", "alerting", "dashboard", "export", "import",
+        "payment", "mobile", "api", "gateway", "session", "retry", "queue", "storage", "quota",
+    };
+}
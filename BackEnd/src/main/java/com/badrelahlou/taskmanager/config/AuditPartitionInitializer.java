@@ -0,0 +1,141 @@
+package com.badrelahlou.taskmanager.config;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Partitions audit_logs by month of its timestamp, so batched inserts only touch the current
+ * month's small indexes and expired months are dropped whole rather than deleted row by row.
+ * The table Hibernate creates is replaced while it is still empty, under an exclusive lock so that
+ * nodes starting together convert it once; one that already holds rows is left unpartitioned. Partitions are kept {@code partitions-ahead} months ahead, a default
+ * partition catches anything outside them, and with {@code retention-months} above zero older
+ * months are dropped. PostgreSQL only.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class AuditPartitionInitializer implements InitializingBean {
+    private static final Logger log = LoggerFactory.getLogger(AuditPartitionInitializer.class);
+    private static final Pattern PARTITION = Pattern.compile("audit_logs_y(\\d{4})m(\\d{2})");
+
+    private static final List<String> PARTITIONED_TABLE = List.of(
+            "drop table audit_logs",
+            "create sequence if not exists audit_logs_id_seq",
+            "create table audit_logs (id bigint not null default nextval('audit_logs_id_seq'), user_id bigint, "
+                    + "action varchar(255) not null, entity_id bigint, timestamp timestamp(6) not null, "
+                    + "primary key (id, timestamp)) partition by range (timestamp)",
+            "alter sequence audit_logs_id_seq owned by audit_logs.id",
+            "create index if not exists idx_audit_logs_user_timestamp on audit_logs (user_id, timestamp)",
+            "create table if not exists audit_logs_default partition of audit_logs default");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${taskmanager.audit.partitions-ahead:3}")
+    private int partitionsAhead;
+
+    @Value("${taskmanager.audit.retention-months:0}")
+    private int retentionMonths;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!isPostgres()) {
+            return;
+        }
+        if ("r".equals(tableKind())) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> partition());
+            } catch (DataAccessException e) {
+                log.warn("Partitioning audit_logs failed, it stays unpartitioned: {}", e.getMessage());
+                return;
+            }
+        }
+        maintainPartitions();
+    }
+
+    // The lock holds off inserts and other nodes until the swap commits. Whoever waited for it
+    // re-checks: the table may have been partitioned or written to in the meantime.
+    private void partition() {
+        jdbcTemplate.execute("lock table audit_logs in access exclusive mode");
+        if (!"r".equals(tableKind())) {
+            return;
+        }
+        Boolean empty = jdbcTemplate.queryForObject("select not exists (select 1 from audit_logs)", Boolean.class);
+        if (!Boolean.TRUE.equals(empty)) {
+            log.warn("audit_logs already holds rows and stays unpartitioned");
+            return;
+        }
+        PARTITIONED_TABLE.forEach(jdbcTemplate::execute);
+    }
+
+    @Scheduled(cron = "${taskmanager.audit.partition-cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        if (!isPostgres() || !"p".equals(tableKind())) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= partitionsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            LocalDate from = month.atDay(1);
+            execute("create table if not exists " + partitionName(month) + " partition of audit_logs "
+                    + "for values from ('" + from + "') to ('" + from.plusMonths(1) + "')");
+        }
+        if (retentionMonths <= 0) {
+            return;
+        }
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        List<String> partitions = jdbcTemplate.queryForList("select c.relname from pg_inherits i "
+                + "join pg_class c on c.oid = i.inhrelid where i.inhparent = 'audit_logs'::regclass", String.class);
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION.matcher(partition);
+            if (matcher.matches() && YearMonth.of(Integer.parseInt(matcher.group(1)),
+                    Integer.parseInt(matcher.group(2))).isBefore(oldestKept)) {
+                execute("drop table if exists " + partition);
+            }
+        }
+    }
+
+    // "r" for a plain table, "p" for a partitioned one, null when there is no audit_logs table.
+    private String tableKind() {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "select relkind::text from pg_class where oid = to_regclass('audit_logs')", String.class);
+        return kinds.isEmpty() ? null : kinds.get(0);
+    }
+
+    // Several nodes may run this at once; the loser of a race only logs.
+    private void execute(String ddl) {
+        try {
+            jdbcTemplate.execute(ddl);
+        } catch (DataAccessException e) {
+            log.warn("Maintaining audit_logs partitions failed: {}", e.getMessage());
+        }
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return String.format("audit_logs_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+}
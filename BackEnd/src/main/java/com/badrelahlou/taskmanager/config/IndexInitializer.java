@@ -0,0 +1,104 @@
+package com.badrelahlou.taskmanager.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the partial indexes that JPA @Index cannot express. They cover the open-task views
+ * (status <> 'DONE'), which are most of the reads but a shrinking fraction of the rows, and the
+ * read notifications that the retention job deletes by age. PostgreSQL only; CONCURRENTLY keeps
+ * writes flowing while a first build runs on a large table.
+ * <p>
+ * Builds run on the scheduler after startup, so a first build on a large table does not hold up
+ * the application, and are re-checked periodically. A failed concurrent build leaves an INVALID
+ * index that {@code if not exists} would skip forever; such an index is dropped and rebuilt. A
+ * session advisory lock lets one node at a time do this, the others skip the round.
+ */
+@Component
+public class IndexInitializer {
+    private static final Logger log = LoggerFactory.getLogger(IndexInitializer.class);
+    private static final long LOCK_KEY = 0x696478696e6974L;
+
+    private static final Map<String, String> PARTIAL_INDEXES = new LinkedHashMap<>();
+
+    static {
+        PARTIAL_INDEXES.put("idx_tasks_open_assignee_end_time",
+                "on tasks (assigned_user_id, end_time, id) where status <> 'DONE'");
+        PARTIAL_INDEXES.put("idx_tasks_open_priority", "on tasks (priority, id) where status <> 'DONE'");
+        PARTIAL_INDEXES.put("idx_tasks_open_updated_at", "on tasks (updated_at, id) where status <> 'DONE'");
+        PARTIAL_INDEXES.put("idx_tasks_unassigned", "on tasks (status, id) where assigned_user_id is null");
+        PARTIAL_INDEXES.put("idx_notification_read_created_at", "on notification (created_at) where is_read");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Scheduled(initialDelayString = "${taskmanager.indexes.initial-delay-ms:10000}",
+               fixedDelayString = "${taskmanager.indexes.check-ms:3600000}")
+    public void ensureIndexes() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return null;
+            }
+            try (Statement statement = connection.createStatement()) {
+                if (!tryLock(statement)) {
+                    return null;
+                }
+                try {
+                    PARTIAL_INDEXES.forEach((name, definition) -> ensureIndex(connection, statement, name, definition));
+                } finally {
+                    statement.execute("select pg_advisory_unlock(" + LOCK_KEY + ")");
+                }
+            }
+            return null;
+        });
+    }
+
+    private void ensureIndex(Connection connection, Statement statement, String name, String definition) {
+        try {
+            Boolean valid = isValid(connection, name);
+            if (Boolean.TRUE.equals(valid)) {
+                return;
+            }
+            if (valid != null) {
+                log.warn("Index {} is invalid after an interrupted build, rebuilding it", name);
+                statement.execute("drop index concurrently if exists " + name);
+            }
+            long started = System.nanoTime();
+            statement.execute("create index concurrently if not exists " + name + " " + definition);
+            log.info("Built index {} in {} ms", name, (System.nanoTime() - started) / 1_000_000);
+        } catch (SQLException e) {
+            log.warn("Creating index {} failed, queries will fall back to other indexes: {}", name, e.getMessage());
+        }
+    }
+
+    // null when the index does not exist.
+    private static Boolean isValid(Connection connection, String name) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement("select i.indisvalid from pg_index i "
+                + "join pg_class c on c.oid = i.indexrelid where c.relname = ?")) {
+            query.setString(1, name);
+            try (ResultSet rows = query.executeQuery()) {
+                return rows.next() ? rows.getBoolean(1) : null;
+            }
+        }
+    }
+
+    private static boolean tryLock(Statement statement) throws SQLException {
+        try (ResultSet rows = statement.executeQuery("select pg_try_advisory_lock(" + LOCK_KEY + ")")) {
+            return rows.next() && rows.getBoolean(1);
+        }
+    }
+}
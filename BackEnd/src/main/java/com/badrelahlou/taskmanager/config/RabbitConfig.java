@@ -0,0 +1,51 @@
+package com.badrelahlou.taskmanager.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.badrelahlou.taskmanager.service.RabbitNotificationPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Notifications are published to a fan-out exchange. The durable queue keeps its consumers; every
+ * node also binds its own exclusive, auto-deleted queue, which feeds its notification streams.
+ */
+@Configuration
+public class RabbitConfig {
+    @Bean
+    public FanoutExchange notificationExchange() {
+        return new FanoutExchange(RabbitNotificationPublisher.NOTIFICATION_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Queue notificationQueue() {
+        return new Queue(RabbitNotificationPublisher.NOTIFICATION_QUEUE, true);
+    }
+
+    @Bean
+    public Binding notificationQueueBinding(Queue notificationQueue, FanoutExchange notificationExchange) {
+        return BindingBuilder.bind(notificationQueue).to(notificationExchange);
+    }
+
+    @Bean
+    public Queue notificationStreamQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding notificationStreamBinding(Queue notificationStreamQueue, FanoutExchange notificationExchange) {
+        return BindingBuilder.bind(notificationStreamQueue).to(notificationExchange);
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+}
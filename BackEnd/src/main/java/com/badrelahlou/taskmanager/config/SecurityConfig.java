@@ -1,5 +1,6 @@
 package com.badrelahlou.taskmanager.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -9,7 +10,10 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.web.SecurityFilterChain; 
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import com.badrelahlou.taskmanager.service.JwtAuthenticationService;
 
 @Configuration
 @EnableWebSecurity
@@ -17,23 +21,29 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   JwtAuthenticationService jwtAuthenticationService) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
                 // Allow all requests to API endpoints for development
                 .requestMatchers("/api/**").permitAll()
+                // Served on the management port only, which is not exposed publicly
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) 
             .formLogin(form -> form.disable()) 
-            .httpBasic(Customizer.withDefaults()); 
+            .httpBasic(Customizer.withDefaults())
+            .addFilterBefore(new JwtAuthenticationFilter(jwtAuthenticationService),
+                    UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // Raising the strength upgrades existing hashes as their users log in.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${taskmanager.auth.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
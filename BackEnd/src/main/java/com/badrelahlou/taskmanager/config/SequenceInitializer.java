@@ -0,0 +1,41 @@
+package com.badrelahlou.taskmanager.config;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves each pooled id sequence past the ids already handed out by the table's former IDENTITY
+ * column, so the sequence generator cannot collide with existing rows on older databases.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SequenceInitializer implements InitializingBean {
+    public static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "tasks", "tasks_seq",
+            "notification", "notification_seq",
+            "notification_outbox", "notification_outbox_seq",
+            "time_entries", "time_entries_seq");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            return;
+        }
+        SEQUENCES.forEach((table, sequence) -> jdbcTemplate.queryForObject("select setval('" + sequence
+                + "', greatest((select coalesce(max(id), 0) from " + table + ") + " + ALLOCATION_SIZE
+                + ", (select last_value from " + sequence + ")))", Long.class));
+    }
+}
@@ -0,0 +1,32 @@
+package com.badrelahlou.taskmanager.config;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Session event listener (one instance per Hibernate session) that adds the time spent executing
+ * JDBC statements and batches to the current thread's {@link SqlStatementCounter}.
+ */
+public class SqlExecutionTimer extends BaseSessionEventListener {
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementCounter.addExecutionNanos(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementCounter.addExecutionNanos(System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,37 @@
+package com.badrelahlou.taskmanager.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts the SQL statements prepared on the current thread,
+ * which for a servlet request is the number of statements that request issued. The time spent
+ * executing them is added by {@link SqlExecutionTimer}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    // [0] statements prepared, [1] nanoseconds spent executing
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[2]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static long get() {
+        return COUNT.get()[0];
+    }
+
+    public static long getExecutionNanos() {
+        return COUNT.get()[1];
+    }
+
+    public static void reset() {
+        long[] count = COUNT.get();
+        count[0] = 0;
+        count[1] = 0;
+    }
+
+    static void addExecutionNanos(long nanos) {
+        COUNT.get()[1] += nanos;
+    }
+}
@@ -1,44 +1,82 @@
 package com.badrelahlou.taskmanager.controller;
 
-import java.util.HashMap;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.badrelahlou.taskmanager.model.Task; 
-import com.badrelahlou.taskmanager.model.TaskStatus;
-import com.badrelahlou.taskmanager.service.TaskService;
+import com.badrelahlou.taskmanager.dto.CacheRegionStats;
+import com.badrelahlou.taskmanager.dto.TimeReportRow;
+import com.badrelahlou.taskmanager.service.CacheStatisticsService;
+import com.badrelahlou.taskmanager.service.DashboardDTO;
+import com.badrelahlou.taskmanager.service.DashboardService;
+import com.badrelahlou.taskmanager.service.ReportService;
+import com.badrelahlou.taskmanager.service.TimeReportService;
 
 @RestController
 @RequestMapping("/api/reports")
 public class ReportController {
     @Autowired
-    private TaskService taskService;
+    private ReportService reportService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private TimeReportService timeReportService;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
 
     @PreAuthorize("hasAnyRole('ADMIN', 'PROJECT_MANAGER')") 
     @GetMapping("/task-completion")
-    public Map<String, Object> getTaskCompletionReport() {
-        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE); 
-        List<Task> tasks = taskService.getAllTasks(pageable).getContent();
-        long totalTasks = tasks.size();
-
-       
-        long completedTasks = tasks.stream().filter(t -> TaskStatus.DONE.equals(t.getStatus())).count();
-        long inProgressTasks = tasks.stream().filter(t -> TaskStatus.IN_PROGRESS.equals(t.getStatus())).count();
-        long todoTasks = tasks.stream().filter(t -> TaskStatus.TODO.equals(t.getStatus())).count();
-
-        Map<String, Object> report = new HashMap<>();
-        report.put("totalTasks", totalTasks);
-        report.put("completedTasks", completedTasks);
-        report.put("inProgressTasks", inProgressTasks);
-        report.put("todoTasks", todoTasks);
-        return report;
+    public Map<String, Object> getTaskCompletionReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedTo) {
+        return reportService.getTaskCompletionReport(createdFrom, createdTo, updatedFrom, updatedTo);
+    }
+
+    @GetMapping("/time")
+    public ResponseEntity<List<TimeReportRow>> getTimeReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String groupBy,
+            @RequestParam(required = false) Long userId) {
+        try {
+            return ResponseEntity.ok(timeReportService.getTimeReport(from, to, groupBy, userId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/time/rebuild")
+    public ResponseEntity<Void> rebuildTimeRollups() {
+        timeReportService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/dashboard")
+    public DashboardDTO getGlobalDashboard() {
+        return dashboardService.getGlobalDashboard();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/cache")
+    public List<CacheRegionStats> getCacheStats() {
+        return cacheStatisticsService.getRegionStats();
     }
 }
@@ -1,11 +1,17 @@
 package com.badrelahlou.taskmanager.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,9 +21,25 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.badrelahlou.taskmanager.dto.CursorPage;
+import com.badrelahlou.taskmanager.dto.TaskBatchOperation;
+import com.badrelahlou.taskmanager.dto.TaskBatchResult;
+import com.badrelahlou.taskmanager.dto.TaskCommentRequest;
+import com.badrelahlou.taskmanager.dto.TaskFilter;
 import com.badrelahlou.taskmanager.dto.TaskRequest;
+import com.badrelahlou.taskmanager.dto.TaskSearchHit;
+import com.badrelahlou.taskmanager.dto.TaskSummary;
+import com.badrelahlou.taskmanager.model.Priority;
 import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskComment;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.service.AuthenticatedUser;
+import com.badrelahlou.taskmanager.service.CriticalPathDTO;
+import com.badrelahlou.taskmanager.service.TaskBatchService;
+import com.badrelahlou.taskmanager.service.TaskExportService;
+import com.badrelahlou.taskmanager.service.TaskQueryService;
 import com.badrelahlou.taskmanager.service.TaskService;
 
 @RestController
@@ -26,6 +48,15 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private TaskQueryService taskQueryService;
+
     @PostMapping
     public ResponseEntity<Task> createTask(@RequestBody TaskRequest taskRequest) {
         try {
@@ -36,20 +67,31 @@ public class TaskController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskBatchResult>> executeBatch(@RequestBody List<TaskBatchOperation> operations) {
+        return ResponseEntity.ok(taskBatchService.execute(operations));
+    }
+
+    @Deprecated
+    @PreAuthorize("isAuthenticated()")
     @PutMapping("/{id}/start")
-    public ResponseEntity<Task> startTimer(@PathVariable Long id) {
+    public ResponseEntity<Task> startTimer(@PathVariable Long id,
+                                           @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            Task task = taskService.startTimer(id);
+            Task task = taskService.startTimer(id, principal.getId());
             return ResponseEntity.ok(task);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
         }
     }
 
+    @Deprecated
+    @PreAuthorize("isAuthenticated()")
     @PutMapping("/{id}/stop")
-    public ResponseEntity<Task> stopTimer(@PathVariable Long id) {
+    public ResponseEntity<Task> stopTimer(@PathVariable Long id,
+                                          @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            Task task = taskService.stopTimer(id);
+            Task task = taskService.stopTimer(id, principal.getId());
             return ResponseEntity.ok(task);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
@@ -57,17 +99,86 @@ public class TaskController {
     }
 
     @GetMapping
-public ResponseEntity<Page<Task>> getAllTasks(
+public ResponseEntity<?> getAllTasks(
         @RequestParam(defaultValue = "0") int page,
-        @RequestParam(defaultValue = "10") int size) {
+        @RequestParam(defaultValue = "10") int size,
+        @RequestParam(required = false) String after,
+        @RequestParam(required = false) Integer limit,
+        @RequestParam(defaultValue = "id") String sort,
+        @RequestParam(required = false) String order,
+        TaskFilter filter) {
     try {
+        TaskQueryService.requireSortKey(sort);
+        if (!filter.isEmpty() || order != null || "endTime".equals(sort)) {
+            return ResponseEntity.ok(taskQueryService.findTasks(filter, sort, order, after, limit != null ? limit : size));
+        }
+        // The offset page below is by id only, so another sort always takes the keyset listing.
+        if (after != null || limit != null || !"id".equals(sort)) {
+            CursorPage<TaskSummary> tasks = taskService.getTaskSummaries(after, limit != null ? limit : size, sort);
+            return ResponseEntity.ok(tasks);
+        }
         Page<Task> tasks = taskService.getAllTasks(PageRequest.of(page, size));
         return ResponseEntity.ok(tasks);
+    } catch (IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
     } catch (RuntimeException e) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
     }
 }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(defaultValue = TaskExportService.NDJSON) String format,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Priority priority,
+            @RequestParam(required = false) Long assignee) {
+        MediaType contentType;
+        if (TaskExportService.NDJSON.equals(format)) {
+            contentType = MediaType.APPLICATION_NDJSON;
+        } else if (TaskExportService.CSV.equals(format)) {
+            contentType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+        } else {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        StreamingResponseBody body = out -> taskExportService.export(format, status, priority, assignee, out);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + format + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskSearchHit>> searchTasks(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(taskService.searchTasks(q, limit));
+    }
+
+    @GetMapping("/blocked")
+    public ResponseEntity<List<Long>> getBlockedTasks() {
+        return ResponseEntity.ok(taskService.getBlockedTaskIds());
+    }
+
+    @GetMapping("/topological-order")
+    public ResponseEntity<List<Long>> getTopologicalOrder() {
+        return ResponseEntity.ok(taskService.getTopologicalOrder());
+    }
+
+    @GetMapping("/critical-path")
+    public ResponseEntity<CriticalPathDTO> getCriticalPath() {
+        return ResponseEntity.ok(taskService.getCriticalPath());
+    }
+
+    @PutMapping("/{id}/dependencies")
+    public ResponseEntity<?> updateDependencies(@PathVariable Long id, @RequestBody List<Long> dependencyIds) {
+        try {
+            Task task = taskService.updateDependencies(id, dependencyIds);
+            return ResponseEntity.ok(task);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
         try {
@@ -97,6 +208,21 @@ public ResponseEntity<Page<Task>> getAllTasks(
         }
     }
     
+    @GetMapping("/{id}/comments")
+    public ResponseEntity<List<TaskComment>> getComments(@PathVariable Long id) {
+        return ResponseEntity.ok(taskService.getComments(id));
+    }
+
+    @PostMapping("/{id}/comments")
+    public ResponseEntity<TaskComment> addComment(@PathVariable Long id, @RequestBody TaskCommentRequest request) {
+        try {
+            TaskComment comment = taskService.addComment(id, request.getUserId(), request.getComment());
+            return ResponseEntity.status(HttpStatus.CREATED).body(comment);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+    }
+
     @PutMapping("/{id}/assign")
     public ResponseEntity<Task> assignTaskToUser(@PathVariable Long id, @RequestBody Long userId) {
         try {
@@ -0,0 +1,96 @@
+package com.badrelahlou.taskmanager.controller;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.badrelahlou.taskmanager.dto.TimeTotal;
+import com.badrelahlou.taskmanager.model.TimeEntry;
+import com.badrelahlou.taskmanager.service.ActiveTimer;
+import com.badrelahlou.taskmanager.service.TimeTrackingService;
+
+// Users track, read and stop only their own timers.
+@RestController
+@PreAuthorize("isAuthenticated() and #userId == principal.id")
+@RequestMapping("/api/users/{userId}/timers")
+public class TimeEntryController {
+    @Autowired
+    private TimeTrackingService timeTrackingService;
+
+    @PostMapping("/{taskId}/start")
+    public ResponseEntity<ActiveTimer> start(@PathVariable Long userId, @PathVariable Long taskId) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(timeTrackingService.start(userId, taskId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+    }
+
+    @PostMapping("/{taskId}/pause")
+    public ResponseEntity<ActiveTimer> pause(@PathVariable Long userId, @PathVariable Long taskId) {
+        try {
+            return ResponseEntity.ok(timeTrackingService.pause(userId, taskId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+    }
+
+    @PostMapping("/{taskId}/resume")
+    public ResponseEntity<ActiveTimer> resume(@PathVariable Long userId, @PathVariable Long taskId) {
+        try {
+            return ResponseEntity.ok(timeTrackingService.resume(userId, taskId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+    }
+
+    @PostMapping("/{taskId}/heartbeat")
+    public ResponseEntity<ActiveTimer> heartbeat(@PathVariable Long userId, @PathVariable Long taskId) {
+        try {
+            return ResponseEntity.ok(timeTrackingService.heartbeat(userId, taskId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+    }
+
+    @PostMapping("/{taskId}/stop")
+    public ResponseEntity<ActiveTimer> stop(@PathVariable Long userId, @PathVariable Long taskId) {
+        try {
+            return ResponseEntity.ok(timeTrackingService.stop(userId, taskId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+    }
+
+    @GetMapping
+    public List<ActiveTimer> getActiveTimers(@PathVariable Long userId) {
+        return timeTrackingService.getActiveTimers(userId);
+    }
+
+    @GetMapping("/entries")
+    public List<TimeEntry> getEntries(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return timeTrackingService.getEntries(userId, from, to);
+    }
+
+    @GetMapping("/totals")
+    public List<TimeTotal> getTotals(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return timeTrackingService.getTotals(userId, from, to);
+    }
+}
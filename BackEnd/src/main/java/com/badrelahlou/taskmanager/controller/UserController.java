@@ -1,9 +1,17 @@
 package com.badrelahlou.taskmanager.controller;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,16 +20,28 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.badrelahlou.taskmanager.dto.CursorPage;
+import com.badrelahlou.taskmanager.exception.TooManyRequestsException;
+import com.badrelahlou.taskmanager.model.AuditLog;
 import com.badrelahlou.taskmanager.model.Notification;
 import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.service.DashboardDTO;
+import com.badrelahlou.taskmanager.service.DashboardService;
 import com.badrelahlou.taskmanager.service.JwtUtils;
+import com.badrelahlou.taskmanager.service.LoginStats;
 import com.badrelahlou.taskmanager.service.NotificationService;
+import com.badrelahlou.taskmanager.service.NotificationStreamService;
 import com.badrelahlou.taskmanager.service.UserRegistrationDTO;
 import com.badrelahlou.taskmanager.service.UserService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
@@ -30,6 +50,12 @@ public class UserController {
 
     @Autowired
     private NotificationService notificationService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private NotificationStreamService notificationStreamService;
    
     @Autowired
     private JwtUtils jwtUtils; 
@@ -69,20 +95,39 @@ public class UserController {
         }
     }
 
+    // Completes off the request thread once the hashing pool has checked the password.
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest loginRequest) {
+        CompletableFuture<User> authenticated;
         try {
-            User user = userService.authenticate(loginRequest.getUsername(), loginRequest.getPassword());
-
-            
-            String jwtToken = jwtUtils.generateToken(user.getUsername());
-
-            return ResponseEntity.ok(new JwtResponse(jwtToken, user.getId(), user.getUsername(), user.getRole()));
+            authenticated = userService.authenticate(loginRequest.getUsername(), loginRequest.getPassword());
         } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+            return CompletableFuture.completedFuture(loginFailure(e));
         }
+        return authenticated.handle((user, error) -> {
+            if (error != null) {
+                return loginFailure(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+            String jwtToken = jwtUtils.generateToken(user.getUsername());
+            return ResponseEntity.ok(new JwtResponse(jwtToken, user.getId(), user.getUsername(), user.getRole()));
+        });
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/login-stats")
+    public ResponseEntity<LoginStats> getLoginStats() {
+        return ResponseEntity.ok(userService.getLoginStats());
+    }
+
+    private static ResponseEntity<?> loginFailure(Throwable error) {
+        if (error instanceof TooManyRequestsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                    .body(e.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error.getMessage());
+    }
 
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{id}")
@@ -114,4 +159,55 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
         }
     }
+
+    @GetMapping("/{id}/notifications/inbox")
+    public ResponseEntity<?> getNotificationInbox(@PathVariable Long id,
+                                                  @RequestParam(defaultValue = "false") boolean unreadOnly,
+                                                  @RequestParam(required = false) String before,
+                                                  @RequestParam(defaultValue = "20") int limit) {
+        try {
+            CursorPage<Notification> inbox = notificationService.getInbox(id, unreadOnly, before, limit);
+            return ResponseEntity.ok(inbox);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/notifications/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@PathVariable Long id) {
+        return ResponseEntity.ok(Map.of("unread", notificationService.getUnreadCount(id)));
+    }
+
+    @PutMapping("/{id}/notifications/read")
+    public ResponseEntity<Map<String, Integer>> markNotificationsRead(@PathVariable Long id,
+                                                                      @RequestBody List<Long> notificationIds) {
+        return ResponseEntity.ok(Map.of("updated", notificationService.markRead(id, notificationIds)));
+    }
+
+    @PutMapping("/{id}/notifications/read-all")
+    public ResponseEntity<Map<String, Integer>> markAllNotificationsRead(@PathVariable Long id) {
+        return ResponseEntity.ok(Map.of("updated", notificationService.markAllRead(id)));
+    }
+
+    @PreAuthorize("isAuthenticated() and #id == principal.id")
+    @GetMapping(value = "/{id}/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void streamNotifications(@PathVariable Long id,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                    HttpServletRequest request, HttpServletResponse response) throws IOException {
+        notificationStreamService.subscribe(id, lastEventId, request, response);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/{id}/audit")
+    public List<AuditLog> getAuditLog(@PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "100") int limit) {
+        return userService.getAuditLog(id, from, to, limit);
+    }
+
+    @GetMapping("/{id}/dashboard")
+    public ResponseEntity<DashboardDTO> getUserDashboard(@PathVariable Long id) {
+        return ResponseEntity.ok(dashboardService.getUserDashboard(id));
+    }
 }
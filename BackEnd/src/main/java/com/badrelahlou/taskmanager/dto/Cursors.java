@@ -0,0 +1,77 @@
+package com.badrelahlou.taskmanager.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursors: a sort key plus id tiebreaker, base64url-encoded. A null sort key is
+ * encoded as empty, for listings that page through the rows without one after all the others.
+ * Malformed cursors are rejected with IllegalArgumentException, which the controllers answer with 400.
+ */
+public final class Cursors {
+    private Cursors() {
+    }
+
+    public static String encode(long id) {
+        return encode(Long.toString(id));
+    }
+
+    public static String encode(LocalDateTime timestamp, Long id) {
+        return encode((timestamp != null ? timestamp.toString() : "") + "|" + id);
+    }
+
+    public static long decodeId(String cursor) {
+        try {
+            return Long.parseLong(decode(cursor));
+        } catch (NumberFormatException e) {
+            throw invalid(cursor);
+        }
+    }
+
+    /** Null when the cursor points into the rows without a sort key. */
+    public static LocalDateTime decodeTimestamp(String cursor) {
+        String timestamp = timestampCursorParts(cursor)[0];
+        if (timestamp.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(timestamp);
+        } catch (DateTimeParseException e) {
+            throw invalid(cursor);
+        }
+    }
+
+    public static long decodeTimestampId(String cursor) {
+        try {
+            return Long.parseLong(timestampCursorParts(cursor)[1]);
+        } catch (NumberFormatException e) {
+            throw invalid(cursor);
+        }
+    }
+
+    private static String[] timestampCursorParts(String cursor) {
+        String[] parts = decode(cursor).split("\\|", -1);
+        if (parts.length != 2) {
+            throw invalid(cursor);
+        }
+        return parts;
+    }
+
+    private static IllegalArgumentException invalid(String cursor) {
+        return new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalid(cursor);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.badrelahlou.taskmanager.dto;
+
+import java.time.LocalDateTime;
+
+/** Payload published to the notification queue. */
+public class NotificationMessage {
+    private Long notificationId;
+    private Long userId;
+    private String message;
+    private LocalDateTime createdAt;
+
+    public NotificationMessage() {
+    }
+
+    public NotificationMessage(Long notificationId, Long userId, String message, LocalDateTime createdAt) {
+        this.notificationId = notificationId;
+        this.userId = userId;
+        this.message = message;
+        this.createdAt = createdAt;
+    }
+
+    public Long getNotificationId() { return notificationId; }
+    public void setNotificationId(Long notificationId) { this.notificationId = notificationId; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
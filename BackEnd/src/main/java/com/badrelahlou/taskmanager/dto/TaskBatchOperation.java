@@ -0,0 +1,30 @@
+package com.badrelahlou.taskmanager.dto;
+
+import java.util.List;
+
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+
+public class TaskBatchOperation {
+    public enum Type { CREATE, UPDATE, ASSIGN, STATUS, DELETE }
+
+    private Type type;
+    private Long taskId;
+    private Task task;
+    private List<Long> dependencyIds;
+    private Long userId;
+    private TaskStatus status;
+
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+    public Long getTaskId() { return taskId; }
+    public void setTaskId(Long taskId) { this.taskId = taskId; }
+    public Task getTask() { return task; }
+    public void setTask(Task task) { this.task = task; }
+    public List<Long> getDependencyIds() { return dependencyIds; }
+    public void setDependencyIds(List<Long> dependencyIds) { this.dependencyIds = dependencyIds; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public TaskStatus getStatus() { return status; }
+    public void setStatus(TaskStatus status) { this.status = status; }
+}
@@ -0,0 +1,28 @@
+package com.badrelahlou.taskmanager.dto;
+
+public class TaskBatchResult {
+    private final int index;
+    private final boolean success;
+    private final Long taskId;
+    private final String error;
+
+    private TaskBatchResult(int index, boolean success, Long taskId, String error) {
+        this.index = index;
+        this.success = success;
+        this.taskId = taskId;
+        this.error = error;
+    }
+
+    public static TaskBatchResult ok(int index, Long taskId) {
+        return new TaskBatchResult(index, true, taskId, null);
+    }
+
+    public static TaskBatchResult failed(int index, Long taskId, String error) {
+        return new TaskBatchResult(index, false, taskId, error);
+    }
+
+    public int getIndex() { return index; }
+    public boolean isSuccess() { return success; }
+    public Long getTaskId() { return taskId; }
+    public String getError() { return error; }
+}
@@ -0,0 +1,10 @@
+package com.badrelahlou.taskmanager.dto;
+
+public class TaskCommentRequest {
+    private Long userId;
+    private String comment;
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public String getComment() { return comment; }
+    public void setComment(String comment) { this.comment = comment; }
+}
@@ -0,0 +1,54 @@
+package com.badrelahlou.taskmanager.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.badrelahlou.taskmanager.model.Priority;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+
+/** Task list filters bound from query parameters; unset fields do not constrain the result. */
+public class TaskFilter {
+    private List<TaskStatus> status;
+    private List<Priority> priority;
+    private Long assignee;
+    private Boolean unassigned;
+    private Boolean open;
+    private Long parent;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedTo;
+
+    public boolean isEmpty() {
+        return (status == null || status.isEmpty()) && (priority == null || priority.isEmpty())
+                && assignee == null && unassigned == null && open == null && parent == null
+                && createdFrom == null && createdTo == null && updatedFrom == null && updatedTo == null;
+    }
+
+    public List<TaskStatus> getStatus() { return status; }
+    public void setStatus(List<TaskStatus> status) { this.status = status; }
+    public List<Priority> getPriority() { return priority; }
+    public void setPriority(List<Priority> priority) { this.priority = priority; }
+    public Long getAssignee() { return assignee; }
+    public void setAssignee(Long assignee) { this.assignee = assignee; }
+    public Boolean getUnassigned() { return unassigned; }
+    public void setUnassigned(Boolean unassigned) { this.unassigned = unassigned; }
+    public Boolean getOpen() { return open; }
+    public void setOpen(Boolean open) { this.open = open; }
+    public Long getParent() { return parent; }
+    public void setParent(Long parent) { this.parent = parent; }
+    public LocalDateTime getCreatedFrom() { return createdFrom; }
+    public void setCreatedFrom(LocalDateTime createdFrom) { this.createdFrom = createdFrom; }
+    public LocalDateTime getCreatedTo() { return createdTo; }
+    public void setCreatedTo(LocalDateTime createdTo) { this.createdTo = createdTo; }
+    public LocalDateTime getUpdatedFrom() { return updatedFrom; }
+    public void setUpdatedFrom(LocalDateTime updatedFrom) { this.updatedFrom = updatedFrom; }
+    public LocalDateTime getUpdatedTo() { return updatedTo; }
+    public void setUpdatedTo(LocalDateTime updatedTo) { this.updatedTo = updatedTo; }
+}
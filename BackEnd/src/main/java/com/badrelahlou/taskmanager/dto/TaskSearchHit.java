@@ -0,0 +1,14 @@
+package com.badrelahlou.taskmanager.dto;
+
+public class TaskSearchHit {
+    private final TaskSummary task;
+    private final float score;
+
+    public TaskSearchHit(TaskSummary task, float score) {
+        this.task = task;
+        this.score = score;
+    }
+
+    public TaskSummary getTask() { return task; }
+    public float getScore() { return score; }
+}
@@ -0,0 +1,42 @@
+package com.badrelahlou.taskmanager.dto;
+
+import java.time.LocalDateTime;
+
+import com.badrelahlou.taskmanager.model.Priority;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+
+/** Flat list-view projection of a Task: scalar columns and the assignee id, no associations. */
+public class TaskSummary {
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final TaskStatus status;
+    private final Priority priority;
+    private final Long assignedUserId;
+    private final Long timeSpent;
+    private final LocalDateTime endTime;
+    private final LocalDateTime updatedAt;
+
+    public TaskSummary(Long id, String title, String description, TaskStatus status, Priority priority,
+                       Long assignedUserId, Long timeSpent, LocalDateTime endTime, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.priority = priority;
+        this.assignedUserId = assignedUserId;
+        this.timeSpent = timeSpent;
+        this.endTime = endTime;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public TaskStatus getStatus() { return status; }
+    public Priority getPriority() { return priority; }
+    public Long getAssignedUserId() { return assignedUserId; }
+    public Long getTimeSpent() { return timeSpent; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
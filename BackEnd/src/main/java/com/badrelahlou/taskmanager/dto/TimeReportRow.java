@@ -0,0 +1,18 @@
+package com.badrelahlou.taskmanager.dto;
+
+/** One group of a time report; key is a user id, a task id, or an ISO date depending on groupBy. */
+public class TimeReportRow {
+    private final String key;
+    private final long durationMs;
+    private final long entries;
+
+    public TimeReportRow(String key, long durationMs, long entries) {
+        this.key = key;
+        this.durationMs = durationMs;
+        this.entries = entries;
+    }
+
+    public String getKey() { return key; }
+    public long getDurationMs() { return durationMs; }
+    public long getEntries() { return entries; }
+}
@@ -0,0 +1,20 @@
+package com.badrelahlou.taskmanager.dto;
+
+public class TimeTotal {
+    private final Long taskId;
+    private final long durationMs;
+    private final long entries;
+    private final boolean running;
+
+    public TimeTotal(Long taskId, long durationMs, long entries, boolean running) {
+        this.taskId = taskId;
+        this.durationMs = durationMs;
+        this.entries = entries;
+        this.running = running;
+    }
+
+    public Long getTaskId() { return taskId; }
+    public long getDurationMs() { return durationMs; }
+    public long getEntries() { return entries; }
+    public boolean isRunning() { return running; }
+}
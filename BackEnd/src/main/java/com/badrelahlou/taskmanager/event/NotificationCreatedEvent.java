@@ -0,0 +1,14 @@
+package com.badrelahlou.taskmanager.event;
+
+import com.badrelahlou.taskmanager.dto.NotificationMessage;
+
+/** Published by NotificationService for every stored notification; delivered after commit. */
+public class NotificationCreatedEvent {
+    private final NotificationMessage message;
+
+    public NotificationCreatedEvent(NotificationMessage message) {
+        this.message = message;
+    }
+
+    public NotificationMessage getMessage() { return message; }
+}
@@ -0,0 +1,17 @@
+package com.badrelahlou.taskmanager.event;
+
+import java.time.LocalDateTime;
+
+/** Published when a task's next occurrence is set, so the recurrence timer can wake up earlier. */
+public class RecurrenceScheduledEvent {
+    private final Long taskId;
+    private final LocalDateTime nextOccurrence;
+
+    public RecurrenceScheduledEvent(Long taskId, LocalDateTime nextOccurrence) {
+        this.taskId = taskId;
+        this.nextOccurrence = nextOccurrence;
+    }
+
+    public Long getTaskId() { return taskId; }
+    public LocalDateTime getNextOccurrence() { return nextOccurrence; }
+}
@@ -0,0 +1,30 @@
+package com.badrelahlou.taskmanager.event;
+
+import com.badrelahlou.taskmanager.model.TaskStatus;
+
+/**
+ * Published by TaskService after a task is created, changed or deleted. The previous fields are
+ * null for a newly created task and the current fields are null for a deleted one.
+ */
+public class TaskChangedEvent {
+    private final Long taskId;
+    private final Long previousUserId;
+    private final TaskStatus previousStatus;
+    private final Long userId;
+    private final TaskStatus status;
+
+    public TaskChangedEvent(Long taskId, Long previousUserId, TaskStatus previousStatus,
+                            Long userId, TaskStatus status) {
+        this.taskId = taskId;
+        this.previousUserId = previousUserId;
+        this.previousStatus = previousStatus;
+        this.userId = userId;
+        this.status = status;
+    }
+
+    public Long getTaskId() { return taskId; }
+    public Long getPreviousUserId() { return previousUserId; }
+    public TaskStatus getPreviousStatus() { return previousStatus; }
+    public Long getUserId() { return userId; }
+    public TaskStatus getStatus() { return status; }
+}
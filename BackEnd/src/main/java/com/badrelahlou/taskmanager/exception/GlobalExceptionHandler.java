@@ -2,6 +2,8 @@ package com.badrelahlou.taskmanager.exception;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -11,4 +13,10 @@ public class GlobalExceptionHandler {
     public ResponseEntity<String> handleRuntimeException(RuntimeException e) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
     }
-}
\ No newline at end of file
+
+    // Left to Spring Security, which answers 401 or 403 depending on whether the caller is authenticated.
+    @ExceptionHandler({ AccessDeniedException.class, AuthenticationException.class })
+    public void rethrowSecurityException(RuntimeException e) {
+        throw e;
+    }
+}
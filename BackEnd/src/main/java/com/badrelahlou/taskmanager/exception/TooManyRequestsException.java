@@ -0,0 +1,15 @@
+package com.badrelahlou.taskmanager.exception;
+
+/** The request was refused for now; clients should retry after {@link #getRetryAfterSeconds()}. */
+public class TooManyRequestsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,7 @@
+package com.badrelahlou.taskmanager.model;
+
+public enum AuditAction {
+    TASK_CREATED, TASK_UPDATED, TASK_STATUS_CHANGED, TASK_ASSIGNED, TASK_DEPENDENCIES_CHANGED,
+    TASK_RESOURCES_CHANGED, TASK_TIMER_STARTED, TASK_TIMER_STOPPED, TASK_COMMENTED, TASK_DELETED,
+    USER_CREATED, USER_UPDATED, USER_PERMISSIONS_CHANGED, USER_TWO_FACTOR_ENABLED, USER_DELETED
+}
@@ -5,8 +5,15 @@ import lombok.Data;
 
 import java.time.LocalDateTime;
 
+/**
+ * One audited mutation: who ({@code userId}, null for background jobs) did what to which task or
+ * user. Rows are written in batches by AuditLogWriter; on PostgreSQL the table is partitioned by
+ * month of {@code timestamp} (see AuditPartitionInitializer).
+ */
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+    @Index(name = "idx_audit_logs_user_timestamp", columnList = "user_id, timestamp")
+})
 @Data
 public class AuditLog {
     @Id
@@ -20,5 +27,8 @@ public class AuditLog {
     private String action;
 
     @Column
+    private Long entityId;
+
+    @Column(nullable = false)
     private LocalDateTime timestamp;
-}
\ No newline at end of file
+}
@@ -2,20 +2,33 @@ package com.badrelahlou.taskmanager.model;
 
 import java.time.LocalDateTime;
 
+import com.badrelahlou.taskmanager.config.SequenceInitializer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(name = "notification", indexes = {
+    @Index(name = "idx_notification_user_read_created", columnList = "user_id, is_read, created_at"),
+    @Index(name = "idx_notification_user_created", columnList = "user_id, created_at, id")
+})
 public class Notification {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq",
+                       allocationSize = SequenceInitializer.ALLOCATION_SIZE)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
@@ -26,8 +39,10 @@ public class Notification {
     
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
+    @JsonIgnore
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
+    public Long getUserId() { return user != null ? user.getId() : null; }
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
     public LocalDateTime getCreatedAt() { return createdAt; }
@@ -2,9 +2,12 @@ package com.badrelahlou.taskmanager.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "resources")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "resources")
 @Data
 public class Resource {
     @Id
@@ -1,9 +1,14 @@
 package com.badrelahlou.taskmanager.model;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.badrelahlou.taskmanager.config.SequenceInitializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -12,20 +17,51 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Data;
 
 @Entity
-@Table(name = "tasks")
+// A fetch graph leaves everything it does not name lazy, including the eager assignee of the
+// parent, which is serialized in full one level down.
+@NamedEntityGraph(name = "Task.list", attributeNodes = {
+    @NamedAttributeNode("assignedUser"),
+    @NamedAttributeNode(value = "parentTask", subgraph = "parent")
+}, subgraphs = @NamedSubgraph(name = "parent", attributeNodes = @NamedAttributeNode("assignedUser")))
+@NamedEntityGraph(name = "Task.detail", attributeNodes = {
+    @NamedAttributeNode("assignedUser"),
+    @NamedAttributeNode(value = "parentTask", subgraph = "parent"),
+    @NamedAttributeNode("resources")
+}, subgraphs = @NamedSubgraph(name = "parent", attributeNodes = @NamedAttributeNode("assignedUser")))
+@Table(name = "tasks", indexes = {
+    @Index(name = "idx_tasks_created_at", columnList = "created_at"),
+    @Index(name = "idx_tasks_updated_at", columnList = "updated_at, id"),
+    @Index(name = "idx_tasks_status_id", columnList = "status, id"),
+    @Index(name = "idx_tasks_next_occurrence", columnList = "next_occurrence, id"),
+    @Index(name = "idx_tasks_status_updated_at", columnList = "status, updated_at, id"),
+    @Index(name = "idx_tasks_status_priority", columnList = "status, priority, id"),
+    @Index(name = "idx_tasks_assignee_status", columnList = "assigned_user_id, status, id"),
+    @Index(name = "idx_tasks_assignee_updated_at", columnList = "assigned_user_id, updated_at, id"),
+    @Index(name = "idx_tasks_parent", columnList = "parent_task_id, id"),
+    @Index(name = "idx_tasks_end_time", columnList = "end_time, id")
+})
 @Data 
 public class Task {
+    // Pooled sequence ids let Hibernate batch inserts; IDENTITY forces one round-trip per row.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = SequenceInitializer.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -56,10 +92,12 @@ public class Task {
     private User assignedUser;
 
     @ManyToMany
+    @JsonSerialize(contentUsing = TaskReferenceSerializer.class)
     @JoinTable(
         name = "task_dependencies",
         joinColumns = @JoinColumn(name = "task_id"),
-        inverseJoinColumns = @JoinColumn(name = "dependency_id")
+        inverseJoinColumns = @JoinColumn(name = "dependency_id"),
+        indexes = @Index(name = "idx_task_dependencies_dependency_id", columnList = "dependency_id")
     )
     private List<Task> dependencies;
 
@@ -77,10 +115,22 @@ public class Task {
     @Column
     private String recurrenceRule; 
 
+    @Column
+    private LocalDateTime nextOccurrence;
+
+    // Position of nextOccurrence in its series, so COUNT rules continue from it instead of recounting.
+    @Column
+    private Integer occurrenceIndex;
+
+    @Column
+    private LocalDateTime lastReminderAt;
+
     @OneToMany(mappedBy = "parentTask", cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonSerialize(contentUsing = TaskReferenceSerializer.class)
     private List<Task> subtasks; 
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task_resources")
     @JoinTable(
         name = "task_resources",
         joinColumns = @JoinColumn(name = "task_id"),
@@ -89,16 +139,17 @@ public class Task {
     private List<Resource> resources; 
 
     @ManyToOne
+    @JsonSerialize(using = TaskReferenceSerializer.class)
     @JoinColumn(name = "parent_task_id")
     private Task parentTask; 
 
-   
-    public void calculateTimeSpent() {
-        if (startTime != null && endTime != null) {
-            Duration duration = Duration.between(startTime, endTime);
-            this.timeSpent = duration.toMinutes();
-        } else {
-            this.timeSpent = 0L;
-        }
+    @PrePersist
+    void onCreate() {
+        createdAt = updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = LocalDateTime.now();
     }
 }
@@ -1,5 +1,6 @@
 package com.badrelahlou.taskmanager.model;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.*;
 import lombok.Data;
 
@@ -15,6 +16,7 @@ public class TaskComment {
 
     @ManyToOne
     @JoinColumn(name = "task_id", nullable = false)
+    @JsonSerialize(using = TaskReferenceSerializer.class)
     private Task task;
 
     @ManyToOne
@@ -0,0 +1,44 @@
+package com.badrelahlou.taskmanager.model;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Serializes tasks reached through another task (dependencies, subtasks, parent) in full up to
+ * {@code taskmanager.serialization.task-depth} levels, and as an id/title stub below that, so a
+ * response never walks the whole task graph.
+ */
+public class TaskReferenceSerializer extends StdSerializer<Task> {
+    private static final String DEPTH_ATTRIBUTE = TaskReferenceSerializer.class.getName() + ".depth";
+
+    @Value("${taskmanager.serialization.task-depth:1}")
+    private int maxDepth = 1;
+
+    public TaskReferenceSerializer() {
+        super(Task.class);
+    }
+
+    @Override
+    public void serialize(Task task, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        Integer depth = (Integer) provider.getAttribute(DEPTH_ATTRIBUTE);
+        int current = depth != null ? depth : 0;
+        if (current >= maxDepth) {
+            gen.writeStartObject();
+            gen.writeObjectField("id", task.getId());
+            gen.writeStringField("title", task.getTitle());
+            gen.writeEndObject();
+            return;
+        }
+        provider.setAttribute(DEPTH_ATTRIBUTE, current + 1);
+        try {
+            provider.findValueSerializer(Task.class).serialize(task, gen, provider);
+        } finally {
+            provider.setAttribute(DEPTH_ATTRIBUTE, current);
+        }
+    }
+}
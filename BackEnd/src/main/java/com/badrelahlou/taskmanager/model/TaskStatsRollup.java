@@ -0,0 +1,32 @@
+package com.badrelahlou.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "task_stats_rollup", indexes = @Index(name = "idx_task_stats_rollup_user", columnList = "assigned_user_id"))
+@Data
+public class TaskStatsRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Priority priority;
+
+    @Column(name = "assigned_user_id")
+    private Long assignedUserId;
+
+    @Column(nullable = false)
+    private long taskCount;
+
+    @Column
+    private LocalDateTime refreshedAt;
+}
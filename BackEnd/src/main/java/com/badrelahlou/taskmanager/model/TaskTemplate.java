@@ -2,9 +2,12 @@ package com.badrelahlou.taskmanager.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "task_templates")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task_templates")
 @Data
 public class TaskTemplate {
     @Id
@@ -0,0 +1,39 @@
+package com.badrelahlou.taskmanager.model;
+
+import com.badrelahlou.taskmanager.config.SequenceInitializer;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/** One closed timing session. Rows are only ever inserted. */
+@Entity
+@Immutable
+@Table(name = "time_entries", indexes = {
+    @Index(name = "idx_time_entries_user_started", columnList = "user_id, started_at"),
+    @Index(name = "idx_time_entries_task_started", columnList = "task_id, started_at")
+})
+@Data
+public class TimeEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "time_entries_seq")
+    @SequenceGenerator(name = "time_entries_seq", sequenceName = "time_entries_seq",
+                       allocationSize = SequenceInitializer.ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long taskId;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime endedAt;
+
+    @Column(nullable = false)
+    private long durationMs;
+}
@@ -0,0 +1,39 @@
+package com.badrelahlou.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/** Tracked time per user and task for one day or one ISO week (bucketStart is the Monday). */
+@Entity
+@Table(name = "time_rollups", uniqueConstraints = @UniqueConstraint(name = "uk_time_rollups_bucket",
+        columnNames = { "granularity", "bucket_start", "user_id", "task_id" }),
+       indexes = @Index(name = "idx_time_rollups_user_bucket", columnList = "user_id, granularity, bucket_start"))
+@Data
+public class TimeRollup {
+    public static final String DAY = "DAY";
+    public static final String WEEK = "WEEK";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 4)
+    private String granularity;
+
+    @Column(nullable = false)
+    private LocalDate bucketStart;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long taskId;
+
+    @Column(nullable = false)
+    private long durationMs;
+
+    @Column(nullable = false)
+    private long entryCount;
+}
@@ -1,7 +1,15 @@
 package com.badrelahlou.taskmanager.repository;
 
 import com.badrelahlou.taskmanager.model.AuditLog;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
-}
\ No newline at end of file
+    // Served by idx_audit_logs_user_timestamp; on PostgreSQL the range also prunes partitions.
+    List<AuditLog> findByUserIdAndTimestampBetweenOrderByTimestampDesc(Long userId, LocalDateTime from,
+            LocalDateTime to, Pageable pageable);
+}
@@ -0,0 +1,22 @@
+package com.badrelahlou.taskmanager.repository;
+
+import com.badrelahlou.taskmanager.model.NotificationOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+    // Lock timeout -2 is SKIP LOCKED: concurrent relays on other nodes take disjoint batches.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select o from NotificationOutbox o where o.nextAttemptAt <= :now order by o.id")
+    List<NotificationOutbox> lockDue(@Param("now") LocalDateTime now, Pageable pageable);
+}
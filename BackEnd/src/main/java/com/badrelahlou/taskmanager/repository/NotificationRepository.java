@@ -1,10 +1,69 @@
 package com.badrelahlou.taskmanager.repository;
 
 import com.badrelahlou.taskmanager.model.Notification;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    List<Notification> findByUserId(Long userId);
-}
\ No newline at end of file
+    List<Notification> findByUser_Id(Long userId);
+
+    // Stream replay keyset pages, oldest first.
+    @Query("select n from Notification n where n.user.id = :userId " +
+           "and (n.createdAt > :createdAt or (n.createdAt = :createdAt and n.id > :id)) " +
+           "order by n.createdAt, n.id")
+    List<Notification> findStreamPage(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id, Pageable pageable);
+
+    long countByUser_IdAndIsReadFalse(Long userId);
+
+    // Users without unread notifications have no row.
+    @Query("select n.user.id, count(n) from Notification n where n.user.id in :userIds and n.isRead = false " +
+           "group by n.user.id")
+    List<Object[]> countUnreadByUsers(@Param("userIds") Collection<Long> userIds);
+
+    // Inbox keyset pages, newest first.
+    @Query("select n from Notification n where n.user.id = :userId order by n.createdAt desc, n.id desc")
+    List<Notification> findInbox(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("select n from Notification n where n.user.id = :userId " +
+           "and (n.createdAt < :createdAt or (n.createdAt = :createdAt and n.id < :id)) " +
+           "order by n.createdAt desc, n.id desc")
+    List<Notification> findInboxBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id, Pageable pageable);
+
+    @Query("select n from Notification n where n.user.id = :userId and n.isRead = false " +
+           "order by n.createdAt desc, n.id desc")
+    List<Notification> findUnreadInbox(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("select n from Notification n where n.user.id = :userId and n.isRead = false " +
+           "and (n.createdAt < :createdAt or (n.createdAt = :createdAt and n.id < :id)) " +
+           "order by n.createdAt desc, n.id desc")
+    List<Notification> findUnreadInboxBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id, Pageable pageable);
+
+    @Modifying
+    @Query("update Notification n set n.isRead = true where n.user.id = :userId and n.id in :ids and n.isRead = false")
+    int markRead(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Notification n set n.isRead = true where n.user.id = :userId and n.isRead = false")
+    int markAllRead(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification"))
+    @Query(value = "delete from notification where id in (select id from notification " +
+                   "where is_read = true and created_at < :cutoff limit :chunkSize)", nativeQuery = true)
+    int deleteReadBefore(@Param("cutoff") LocalDateTime cutoff, @Param("chunkSize") int chunkSize);
+}
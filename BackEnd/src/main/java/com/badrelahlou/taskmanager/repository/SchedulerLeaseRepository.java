@@ -0,0 +1,30 @@
+package com.badrelahlou.taskmanager.repository;
+
+import com.badrelahlou.taskmanager.model.SchedulerLease;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "scheduler_leases"))
+    @Query(value = "insert into scheduler_leases (name, owner, expires_at) values (:name, null, :expiresAt) " +
+                   "on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Conditional update: only one node's statement matches an expired lease.
+    @Modifying
+    @Query("update SchedulerLease l set l.owner = :owner, l.expiresAt = :expiresAt " +
+           "where l.name = :name and (l.expiresAt <= :now or l.owner = :owner)")
+    int claim(@Param("name") String name, @Param("owner") String owner,
+              @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Query(value = "select name from scheduler_leases where name = :name for update", nativeQuery = true)
+    String lockRow(@Param("name") String name);
+}
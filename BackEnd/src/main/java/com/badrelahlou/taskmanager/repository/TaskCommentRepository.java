@@ -1,10 +1,16 @@
 package com.badrelahlou.taskmanager.repository;
 
 import com.badrelahlou.taskmanager.model.TaskComment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface TaskCommentRepository extends JpaRepository<TaskComment, Long> {
     List<TaskComment> findByTaskId(Long taskId);
-}
\ No newline at end of file
+
+    @Query("select c.id, c.task.id, c.comment from TaskComment c where c.id > :afterId order by c.id")
+    List<Object[]> findSearchText(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -1,10 +1,127 @@
 package com.badrelahlou.taskmanager.repository;
 
+import com.badrelahlou.taskmanager.dto.TaskSummary;
 import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByAssignedUserId(Long userId);
-}
\ No newline at end of file
+
+    @Override
+    @EntityGraph("Task.list")
+    Page<Task> findAll(Pageable pageable);
+
+    @EntityGraph("Task.detail")
+    Optional<Task> findDetailById(Long id);
+
+    // Reverse lookup over task_dependencies.dependency_id: tasks that depend on the given one. The
+    // dependents are picked in a subquery: joined alongside the outer fetch join, the planner may
+    // start from tasks and scan the whole table instead of using that index.
+    @Query("select t from Task t left join fetch t.assignedUser where t.id in " +
+           "(select dependent.id from Task dependent join dependent.dependencies d where d.id = :dependencyId) " +
+           "and t.status <> :excludedStatus")
+    List<Task> findDependents(@Param("dependencyId") Long dependencyId,
+                              @Param("excludedStatus") TaskStatus excludedStatus);
+
+    @Query("select t.id from Task t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select t.id, t.status, t.timeSpent from Task t")
+    List<Object[]> findGraphNodes();
+
+    // Tasks whose legacy timeSpent minutes have no ledger entry yet, walked by id.
+    @Query("select t.id, t.assignedUser.id, t.startTime, t.timeSpent from Task t " +
+           "where t.id > :afterId and t.timeSpent > 0 and t.assignedUser is not null " +
+           "and not exists (select e.id from TimeEntry e where e.taskId = t.id) order by t.id")
+    List<Object[]> findUnledgeredTime(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select u.id, t.status, count(t) from Task t left join t.assignedUser u group by u.id, t.status")
+    List<Object[]> countByAssignedUserAndStatus();
+
+    @Query(value = "select task_id, dependency_id from task_dependencies", nativeQuery = true)
+    List<Object[]> findDependencyEdges();
+
+    @Query("select max(t.id) from Task t")
+    Long findMaxId();
+
+    // Reminder candidates inside one id partition, walked by keyset over (status, id).
+    @Query("select t.id, t.title, t.assignedUser.id from Task t " +
+           "where t.status = :status and t.assignedUser is not null " +
+           "and t.id > :afterId and t.id < :toId " +
+           "and (t.lastReminderAt is null or t.lastReminderAt < :remindedBefore) order by t.id")
+    List<Object[]> findReminderCandidates(@Param("status") TaskStatus status, @Param("afterId") Long afterId,
+                                          @Param("toId") Long toId,
+                                          @Param("remindedBefore") LocalDateTime remindedBefore,
+                                          Pageable pageable);
+
+    @Modifying
+    @Query("update Task t set t.lastReminderAt = :remindedAt where t.id in :ids")
+    int markReminded(@Param("ids") List<Long> ids, @Param("remindedAt") LocalDateTime remindedAt);
+
+    @Query("select min(t.nextOccurrence) from Task t")
+    LocalDateTime findEarliestOccurrence();
+
+    // Lock timeout -2 is SKIP LOCKED: recurrence timers on other nodes take disjoint batches.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select t from Task t where t.nextOccurrence <= :now order by t.nextOccurrence, t.id")
+    List<Task> lockDueOccurrences(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("select t.id, t.recurrenceRule, t.startTime from Task t where t.recurrenceRule is not null " +
+           "and t.nextOccurrence is null and t.id > :afterId order by t.id")
+    List<Object[]> findUnscheduledRecurring(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("update Task t set t.nextOccurrence = :nextOccurrence, t.occurrenceIndex = :occurrenceIndex where t.id = :id")
+    int updateNextOccurrence(@Param("id") Long id, @Param("nextOccurrence") LocalDateTime nextOccurrence,
+                             @Param("occurrenceIndex") Integer occurrenceIndex);
+
+    @Query("select t.id, t.title, t.description from Task t where t.id > :afterId order by t.id")
+    List<Object[]> findSearchText(@Param("afterId") Long afterId, Pageable pageable);
+
+    String SUMMARY_SELECT = "select new com.badrelahlou.taskmanager.dto.TaskSummary(t.id, t.title, t.description, " +
+            "t.status, t.priority, t.assignedUser.id, t.timeSpent, t.endTime, t.updatedAt) from Task t ";
+
+    @Query(SUMMARY_SELECT + "where t.id in :ids")
+    List<TaskSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    // Keyset pages: callers pass PageRequest.of(0, n) so no OFFSET or count query is issued.
+    @Query(SUMMARY_SELECT + "order by t.id")
+    List<TaskSummary> findSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where t.id > :afterId order by t.id")
+    List<TaskSummary> findSummariesAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where t.updatedAt is not null order by t.updatedAt desc, t.id desc")
+    List<TaskSummary> findSummariesByRecency(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where t.updatedAt < :updatedAt or (t.updatedAt = :updatedAt and t.id < :id) " +
+           "order by t.updatedAt desc, t.id desc")
+    List<TaskSummary> findSummariesByRecencyAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                                  @Param("id") Long id, Pageable pageable);
+
+    // Rows never stamped with updatedAt follow the others, newest id first.
+    @Query(SUMMARY_SELECT + "where t.updatedAt is null order by t.id desc")
+    List<TaskSummary> findSummariesWithoutUpdatedAt(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where t.updatedAt is null and t.id < :id order by t.id desc")
+    List<TaskSummary> findSummariesWithoutUpdatedAtBefore(@Param("id") Long id, Pageable pageable);
+}
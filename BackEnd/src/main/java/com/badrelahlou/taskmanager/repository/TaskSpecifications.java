@@ -0,0 +1,88 @@
+package com.badrelahlou.taskmanager.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.badrelahlou.taskmanager.dto.TaskFilter;
+import com.badrelahlou.taskmanager.model.Priority;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+
+import jakarta.persistence.criteria.Path;
+
+/**
+ * Task filters as Specifications. Associations are compared by foreign key (assignedUser.id,
+ * parentTask.id), which Hibernate resolves on the tasks table without a join.
+ */
+public final class TaskSpecifications {
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> matching(TaskFilter filter) {
+        return Specification.allOf(
+                hasStatus(filter.getStatus()),
+                hasPriority(filter.getPriority()),
+                assignedTo(filter.getAssignee()),
+                Boolean.TRUE.equals(filter.getUnassigned()) ? unassigned() : null,
+                filter.getOpen() != null ? open(filter.getOpen()) : null,
+                childOf(filter.getParent()),
+                between("createdAt", filter.getCreatedFrom(), filter.getCreatedTo()),
+                between("updatedAt", filter.getUpdatedFrom(), filter.getUpdatedTo()));
+    }
+
+    public static Specification<Task> hasStatus(List<TaskStatus> statuses) {
+        if (statuses == null || statuses.isEmpty()) {
+            return null;
+        }
+        return (t, query, cb) -> statuses.size() == 1
+                ? cb.equal(t.get("status"), statuses.get(0))
+                : t.get("status").in(statuses);
+    }
+
+    public static Specification<Task> hasPriority(List<Priority> priorities) {
+        if (priorities == null || priorities.isEmpty()) {
+            return null;
+        }
+        return (t, query, cb) -> priorities.size() == 1
+                ? cb.equal(t.get("priority"), priorities.get(0))
+                : t.get("priority").in(priorities);
+    }
+
+    public static Specification<Task> assignedTo(Long userId) {
+        return userId == null ? null : (t, query, cb) -> cb.equal(t.get("assignedUser").get("id"), userId);
+    }
+
+    public static Specification<Task> unassigned() {
+        return (t, query, cb) -> cb.isNull(t.get("assignedUser"));
+    }
+
+    // Written as status <> DONE so it matches the predicate of the partial "open" indexes.
+    public static Specification<Task> open(boolean open) {
+        return (t, query, cb) -> open
+                ? cb.notEqual(t.get("status"), TaskStatus.DONE)
+                : cb.equal(t.get("status"), TaskStatus.DONE);
+    }
+
+    public static Specification<Task> childOf(Long parentId) {
+        return parentId == null ? null : (t, query, cb) -> cb.equal(t.get("parentTask").get("id"), parentId);
+    }
+
+    /** Half-open range [from, to) on a timestamp attribute; either bound may be null. */
+    public static Specification<Task> between(String attribute, LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (t, query, cb) -> {
+            Path<LocalDateTime> path = t.get(attribute);
+            if (from == null) {
+                return cb.lessThan(path, to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(path, from);
+            }
+            return cb.and(cb.greaterThanOrEqualTo(path, from), cb.lessThan(path, to));
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.badrelahlou.taskmanager.repository;
+
+import com.badrelahlou.taskmanager.model.TaskStatsRollup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface TaskStatsRollupRepository extends JpaRepository<TaskStatsRollup, Long> {
+    // Naming the table stops Hibernate from evicting every second-level cache region after native DML.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_stats_rollup"))
+    @Query(value = "delete from task_stats_rollup", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_stats_rollup"))
+    @Query(value = "insert into task_stats_rollup (status, priority, assigned_user_id, task_count, refreshed_at) " +
+                   "select status, priority, assigned_user_id, count(*), now() from tasks " +
+                   "group by status, priority, assigned_user_id", nativeQuery = true)
+    void insertAllRows();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_stats_rollup"))
+    @Query(value = "delete from task_stats_rollup where assigned_user_id = :userId", nativeQuery = true)
+    void deleteRowsForUser(@Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_stats_rollup"))
+    @Query(value = "insert into task_stats_rollup (status, priority, assigned_user_id, task_count, refreshed_at) " +
+                   "select status, priority, assigned_user_id, count(*), now() from tasks " +
+                   "where assigned_user_id = :userId group by status, priority, assigned_user_id", nativeQuery = true)
+    void insertRowsForUser(@Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_stats_rollup"))
+    @Query(value = "delete from task_stats_rollup where assigned_user_id is null", nativeQuery = true)
+    void deleteUnassignedRows();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_stats_rollup"))
+    @Query(value = "insert into task_stats_rollup (status, priority, assigned_user_id, task_count, refreshed_at) " +
+                   "select status, priority, null, count(*), now() from tasks " +
+                   "where assigned_user_id is null group by status, priority", nativeQuery = true)
+    void insertUnassignedRows();
+}
@@ -0,0 +1,22 @@
+package com.badrelahlou.taskmanager.repository;
+
+import com.badrelahlou.taskmanager.model.TimeEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TimeEntryRepository extends JpaRepository<TimeEntry, Long> {
+    @Query("select e from TimeEntry e where e.userId = :userId and e.startedAt >= :from and e.startedAt < :to " +
+           "order by e.startedAt desc")
+    List<TimeEntry> findByUser(@Param("userId") Long userId, @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to, Pageable pageable);
+
+    @Query("select e.taskId, sum(e.durationMs), count(e) from TimeEntry e " +
+           "where e.userId = :userId and e.startedAt >= :from and e.startedAt < :to group by e.taskId")
+    List<Object[]> sumByTask(@Param("userId") Long userId, @Param("from") LocalDateTime from,
+                             @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,66 @@
+package com.badrelahlou.taskmanager.repository;
+
+import com.badrelahlou.taskmanager.model.TimeRollup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TimeRollupRepository extends JpaRepository<TimeRollup, Long> {
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "time_rollups"))
+    @Query(value = "delete from time_rollups where user_id = :userId and granularity = :granularity " +
+                   "and bucket_start = :bucketStart", nativeQuery = true)
+    void deleteBucket(@Param("userId") Long userId, @Param("granularity") String granularity,
+                      @Param("bucketStart") LocalDate bucketStart);
+
+    // A day bucket is rebuilt from the ledger through idx_time_entries_user_started.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "time_rollups"))
+    @Query(value = "insert into time_rollups (granularity, bucket_start, user_id, task_id, duration_ms, entry_count) " +
+                   "select 'DAY', :day, user_id, task_id, sum(duration_ms), count(*) from time_entries " +
+                   "where user_id = :userId and started_at >= :from and started_at < :to " +
+                   "group by user_id, task_id", nativeQuery = true)
+    void insertDay(@Param("userId") Long userId, @Param("day") LocalDate day,
+                   @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // A week bucket is the sum of its (at most seven) day buckets.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "time_rollups"))
+    @Query(value = "insert into time_rollups (granularity, bucket_start, user_id, task_id, duration_ms, entry_count) " +
+                   "select 'WEEK', :week, user_id, task_id, sum(duration_ms), sum(entry_count) from time_rollups " +
+                   "where user_id = :userId and granularity = 'DAY' and bucket_start >= :week " +
+                   "and bucket_start < :nextWeek group by user_id, task_id", nativeQuery = true)
+    void insertWeek(@Param("userId") Long userId, @Param("week") LocalDate week,
+                    @Param("nextWeek") LocalDate nextWeek);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "time_rollups"))
+    @Query(value = "delete from time_rollups", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "time_rollups"))
+    @Query(value = "insert into time_rollups (granularity, bucket_start, user_id, task_id, duration_ms, entry_count) " +
+                   "select 'DAY', cast(started_at as date), user_id, task_id, sum(duration_ms), count(*) " +
+                   "from time_entries group by cast(started_at as date), user_id, task_id", nativeQuery = true)
+    void insertAllDays();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "time_rollups"))
+    @Query(value = "insert into time_rollups (granularity, bucket_start, user_id, task_id, duration_ms, entry_count) " +
+                   "select 'WEEK', :week, user_id, task_id, sum(duration_ms), sum(entry_count) from time_rollups " +
+                   "where granularity = 'DAY' and bucket_start >= :week and bucket_start < :nextWeek " +
+                   "group by user_id, task_id", nativeQuery = true)
+    void insertAllWeek(@Param("week") LocalDate week, @Param("nextWeek") LocalDate nextWeek);
+
+    @Query("select min(r.bucketStart), max(r.bucketStart) from TimeRollup r where r.granularity = 'DAY'")
+    List<Object[]> findDayRange();
+}
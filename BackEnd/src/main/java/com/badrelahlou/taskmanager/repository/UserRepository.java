@@ -2,11 +2,32 @@ package com.badrelahlou.taskmanager.repository;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.badrelahlou.taskmanager.model.User;
 
+import jakarta.persistence.QueryHint;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Cached query results are dropped whenever the users table changes.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
+
+    @EntityGraph(attributePaths = "permissions")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<User> findWithPermissionsByUsername(String username);
+
     Optional<User> findByEmail(String email);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.passwordHash = :passwordHash where u.id = :id")
+    int updatePasswordHash(@Param("id") Long id, @Param("passwordHash") String passwordHash);
 }
\ No newline at end of file
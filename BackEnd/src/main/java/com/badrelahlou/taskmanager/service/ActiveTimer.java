@@ -0,0 +1,59 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of a running or paused timer. Immutable: every transition returns a new instance,
+ * which the registry swaps in atomically.
+ */
+public final class ActiveTimer {
+    private final Long userId;
+    private final Long taskId;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime segmentStartedAt;
+    private final long accumulatedMs;
+    private final LocalDateTime lastHeartbeatAt;
+
+    ActiveTimer(Long userId, Long taskId, LocalDateTime startedAt, LocalDateTime segmentStartedAt,
+                long accumulatedMs, LocalDateTime lastHeartbeatAt) {
+        this.userId = userId;
+        this.taskId = taskId;
+        this.startedAt = startedAt;
+        this.segmentStartedAt = segmentStartedAt;
+        this.accumulatedMs = accumulatedMs;
+        this.lastHeartbeatAt = lastHeartbeatAt;
+    }
+
+    static ActiveTimer started(Long userId, Long taskId, LocalDateTime now) {
+        return new ActiveTimer(userId, taskId, now, now, 0, now);
+    }
+
+    ActiveTimer paused(LocalDateTime now) {
+        return new ActiveTimer(userId, taskId, startedAt, null, accumulatedMs + segmentMs(now), now);
+    }
+
+    ActiveTimer resumed(LocalDateTime now) {
+        return new ActiveTimer(userId, taskId, startedAt, now, accumulatedMs, now);
+    }
+
+    ActiveTimer heartbeat(LocalDateTime now) {
+        return new ActiveTimer(userId, taskId, startedAt, segmentStartedAt, accumulatedMs, now);
+    }
+
+    long segmentMs(LocalDateTime now) {
+        return segmentStartedAt == null ? 0 : Math.max(0, Duration.between(segmentStartedAt, now).toMillis());
+    }
+
+    public Long getUserId() { return userId; }
+    public Long getTaskId() { return taskId; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getSegmentStartedAt() { return segmentStartedAt; }
+    public LocalDateTime getLastHeartbeatAt() { return lastHeartbeatAt; }
+    public boolean isPaused() { return segmentStartedAt == null; }
+
+    /** Time tracked so far across all segments of this timer. */
+    public long getElapsedMs() {
+        return accumulatedMs + segmentMs(LocalDateTime.now());
+    }
+}
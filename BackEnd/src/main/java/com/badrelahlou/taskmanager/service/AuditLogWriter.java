@@ -0,0 +1,204 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.badrelahlou.taskmanager.model.AuditAction;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Audit trail of task and user mutations that stays off the request path: {@link #record} puts the
+ * mutation into a lock-free ring buffer (a CAS and four field writes), and a scheduled flush drains
+ * it into audit_logs with batched inserts. Inside a transaction the record is only buffered once
+ * the transaction commits, so rolled-back changes are not audited.
+ * <p>
+ * When the buffer is full, {@code taskmanager.audit.overflow} decides: {@code caller-runs} (the
+ * default) inserts the record on the calling thread, slowing it down but losing nothing;
+ * {@code drop} discards it. Both are counted in {@code taskmanager.audit.overflow}. Whatever is
+ * buffered at shutdown is flushed before the connection pool closes.
+ */
+@Service
+public class AuditLogWriter {
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+    private static final String INSERT =
+            "insert into audit_logs (user_id, action, entity_id, timestamp) values (?, ?, ?, ?)";
+    private static final int WRITE_ATTEMPTS = 3;
+    private static final long RETRY_PAUSE_MS = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${taskmanager.audit.buffer-size:65536}")
+    private int bufferSize;
+
+    @Value("${taskmanager.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${taskmanager.audit.overflow:caller-runs}")
+    private String overflow;
+
+    private AuditRingBuffer buffer;
+    private AuditRingBuffer.Slot[] batch;
+    private boolean callerRuns;
+    private volatile boolean closed;
+    private Counter written;
+    private Counter overflowed;
+    private Counter dropped;
+
+    @PostConstruct
+    void init() {
+        if (!"caller-runs".equals(overflow) && !"drop".equals(overflow)) {
+            throw new IllegalArgumentException("taskmanager.audit.overflow must be caller-runs or drop: " + overflow);
+        }
+        callerRuns = "caller-runs".equals(overflow);
+        buffer = new AuditRingBuffer(bufferSize);
+        batch = new AuditRingBuffer.Slot[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            batch[i] = new AuditRingBuffer.Slot();
+        }
+        written = meterRegistry.counter("taskmanager.audit.written");
+        overflowed = meterRegistry.counter("taskmanager.audit.overflow", "policy", overflow);
+        dropped = meterRegistry.counter("taskmanager.audit.dropped");
+        meterRegistry.gauge("taskmanager.audit.pending", buffer, AuditRingBuffer::size);
+    }
+
+    /** Audits a mutation of the task or user {@code entityId} by the authenticated user, if any. */
+    public void record(AuditAction action, Long entityId) {
+        long entity = entityId != null ? entityId : 0;
+        long userId = currentUserId();
+        long timestamp = System.currentTimeMillis();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(action, entity, userId, timestamp);
+                }
+            });
+        } else {
+            publish(action, entity, userId, timestamp);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.audit.flush-ms:200}")
+    public synchronized void flush() {
+        int size;
+        do {
+            size = 0;
+            while (size < batch.length && buffer.poll(batch[size])) {
+                size++;
+            }
+            if (size > 0) {
+                write(batch, size, WRITE_ATTEMPTS);
+            }
+        } while (size == batch.length);
+    }
+
+    // Runs after the web server has stopped taking requests and before the pool is closed.
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        flush();
+    }
+
+    int pendingRecords() {
+        return buffer.size();
+    }
+
+    private void publish(AuditAction action, long entityId, long userId, long timestamp) {
+        if (!closed && buffer.offer(action, entityId, userId, timestamp)) {
+            return;
+        }
+        overflowed.increment();
+        if (callerRuns || closed) {
+            AuditRingBuffer.Slot record = new AuditRingBuffer.Slot();
+            record.action = action;
+            record.entityId = entityId;
+            record.userId = userId;
+            record.timestampMillis = timestamp;
+            write(new AuditRingBuffer.Slot[] { record }, 1, 1);
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private void write(AuditRingBuffer.Slot[] records, int size, int attempts) {
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        AuditRingBuffer.Slot record = records[i];
+                        if (record.userId != 0) {
+                            ps.setLong(1, record.userId);
+                        } else {
+                            ps.setNull(1, Types.BIGINT);
+                        }
+                        ps.setString(2, record.action.name());
+                        if (record.entityId != 0) {
+                            ps.setLong(3, record.entityId);
+                        } else {
+                            ps.setNull(3, Types.BIGINT);
+                        }
+                        ps.setTimestamp(4, new Timestamp(record.timestampMillis));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return size;
+                    }
+                });
+                written.increment(size);
+                return;
+            } catch (DataAccessException e) {
+                log.warn("Writing {} audit records failed (attempt {} of {}): {}", size, attempt, attempts,
+                        e.getMessage());
+                if (attempt < attempts && !pause(RETRY_PAUSE_MS * attempt)) {
+                    break;
+                }
+            }
+        }
+        dropped.increment(size);
+    }
+
+    private static boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                && user.getId() != null) {
+            return user.getId();
+        }
+        return 0;
+    }
+}
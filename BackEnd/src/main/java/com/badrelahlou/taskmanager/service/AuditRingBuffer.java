@@ -0,0 +1,90 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.badrelahlou.taskmanager.model.AuditAction;
+
+/**
+ * Bounded lock-free ring buffer of audit records for many producers and one consumer. Slots are
+ * preallocated and reused, so offering allocates nothing: a producer claims a position with one
+ * CAS, fills the slot and publishes it with an ordered write. Each slot's sequence tells whether
+ * it is free for the producer at a position or filled for the consumer (Vyukov's bounded queue).
+ */
+final class AuditRingBuffer {
+    private final Slot[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    AuditRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        slots = new Slot[capacity];
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+            sequences.set(i, i);
+        }
+        mask = capacity - 1;
+    }
+
+    /** Returns false without waiting when the buffer is full. */
+    boolean offer(AuditAction action, long entityId, long userId, long timestampMillis) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    Slot slot = slots[index];
+                    slot.action = action;
+                    slot.entityId = entityId;
+                    slot.userId = userId;
+                    slot.timestampMillis = timestampMillis;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (sequence < position) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /** Moves the oldest record into {@code target}; the caller must be the only consumer. */
+    boolean poll(Slot target) {
+        long position = head.get();
+        int index = (int) position & mask;
+        if (sequences.get(index) != position + 1) {
+            return false;
+        }
+        Slot slot = slots[index];
+        target.action = slot.action;
+        target.entityId = slot.entityId;
+        target.userId = slot.userId;
+        target.timestampMillis = slot.timestampMillis;
+        slot.action = null;
+        head.lazySet(position + 1);
+        sequences.lazySet(index, position + slots.length);
+        return true;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /** A buffered record; ids are 0 when absent so that nothing is boxed. */
+    static final class Slot {
+        AuditAction action;
+        long entityId;
+        long userId;
+        long timestampMillis;
+    }
+}
@@ -0,0 +1,31 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+
+/** Principal of a verified token, with its authorities resolved once when the token is first seen. */
+public final class AuthenticatedUser {
+    private final Long id;
+    private final String username;
+    private final List<GrantedAuthority> authorities;
+    private final Instant expiresAt;
+
+    public AuthenticatedUser(Long id, String username, List<GrantedAuthority> authorities, Instant expiresAt) {
+        this.id = id;
+        this.username = username;
+        this.authorities = List.copyOf(authorities);
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() { return id; }
+    public String getUsername() { return username; }
+    public List<GrantedAuthority> getAuthorities() { return authorities; }
+    public Instant getExpiresAt() { return expiresAt; }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -0,0 +1,16 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class CriticalPathDTO {
+    private List<Long> taskIds;
+    private long totalTimeSpent;
+
+    public CriticalPathDTO(List<Long> taskIds, long totalTimeSpent) {
+        this.taskIds = taskIds;
+        this.totalTimeSpent = totalTimeSpent;
+    }
+}
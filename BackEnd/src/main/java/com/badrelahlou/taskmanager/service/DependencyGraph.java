@@ -0,0 +1,497 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+
+/**
+ * In-memory copy of the task_dependencies graph. Task ids are mapped to dense int slots and
+ * edges are kept in primitive adjacency arrays in both directions, so graph queries never touch
+ * the entity graph. An edge {@code task -> dependency} means "task waits for dependency".
+ * <p>
+ * Each node only applies its own commits, so the copy is rebuilt from the database periodically to
+ * pick up other nodes' changes. The rebuild runs off-lock into a fresh graph; local changes made
+ * meanwhile are journaled and replayed onto it before it is swapped in. Until the next rebuild a
+ * cycle closed by updates on two different nodes can get past {@link #validateDependencies}; such
+ * cycles are logged on load and reported by the order and critical path queries.
+ */
+@Service
+public class DependencyGraph {
+    private static final Logger log = LoggerFactory.getLogger(DependencyGraph.class);
+    private static final int[] NO_EDGES = new int[0];
+    private static final int MAX_REPORTED_CYCLE_TASKS = 20;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, Integer> slots = new HashMap<>();
+    private long[] ids = new long[1024];
+    private boolean[] alive = new boolean[1024];
+    private boolean[] done = new boolean[1024];
+    private long[] weights = new long[1024];
+    private int[][] dependencies = new int[1024][];
+    private int[] dependencyCounts = new int[1024];
+    private int[][] dependents = new int[1024][];
+    private int[] dependentCounts = new int[1024];
+    private int size;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    // Local changes made while a rebuild runs, replayed onto the rebuilt graph; null otherwise.
+    private List<Consumer<DependencyGraph>> journal;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${taskmanager.graph.reload-ms:300000}",
+               fixedDelayString = "${taskmanager.graph.reload-ms:300000}")
+    public synchronized void load() {
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        DependencyGraph fresh = new DependencyGraph();
+        try {
+            for (Object[] row : taskRepository.findGraphNodes()) {
+                fresh.putNode((Long) row[0], (TaskStatus) row[1], (Long) row[2]);
+            }
+            for (Object[] row : taskRepository.findDependencyEdges()) {
+                Integer from = fresh.slots.get(((Number) row[0]).longValue());
+                Integer to = fresh.slots.get(((Number) row[1]).longValue());
+                if (from != null && to != null) {
+                    fresh.addEdge(from, to);
+                }
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                journal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            journal.forEach(change -> change.accept(fresh));
+            journal = null;
+            adopt(fresh);
+            List<Long> cyclic = tasksOffTheOrder(topologicalSlots());
+            if (!cyclic.isEmpty()) {
+                log.warn("{} tasks are on or wait for a dependency cycle: {}", cyclic.size(), abbreviate(cyclic));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putTask(Long taskId, TaskStatus status, Long timeSpent) {
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.add(graph -> graph.putTask(taskId, status, timeSpent));
+            }
+            putNode(taskId, status, timeSpent);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeTask(Long taskId) {
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.add(graph -> graph.removeTask(taskId));
+            }
+            Integer slot = slots.remove(taskId);
+            if (slot == null) {
+                return;
+            }
+            clearDependencies(slot);
+            for (int i = 0; i < dependentCounts[slot]; i++) {
+                removeFrom(dependencies, dependencyCounts, dependents[slot][i], slot);
+            }
+            dependentCounts[slot] = 0;
+            alive[slot] = false;
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = slot;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean containsTask(Long taskId) {
+        lock.readLock().lock();
+        try {
+            return slots.containsKey(taskId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Throws if making {@code taskId} depend on {@code dependencyIds} would close a cycle.
+     * A null task id stands for a task that is not persisted yet and so cannot be depended on.
+     */
+    public void validateDependencies(Long taskId, Collection<Long> dependencyIds) {
+        if (taskId == null || dependencyIds == null || dependencyIds.isEmpty()) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            Integer target = slots.get(taskId);
+            if (target == null) {
+                return;
+            }
+            boolean[] visited = new boolean[size];
+            int[] stack = new int[Math.max(16, size)];
+            for (Long dependencyId : dependencyIds) {
+                if (taskId.equals(dependencyId)) {
+                    throw new RuntimeException("Task " + taskId + " cannot depend on itself");
+                }
+                Integer start = slots.get(dependencyId);
+                if (start != null && reaches(start, target, visited, stack)) {
+                    throw new RuntimeException("Dependency on task " + dependencyId
+                            + " would create a cycle for task " + taskId);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks for a cycle and replaces the dependencies of {@code taskId} under one write lock, so
+     * two concurrent updates cannot each pass the check and close a cycle together. The new edges
+     * are visible to later checks at once and are put back if the surrounding transaction rolls back.
+     */
+    public void replaceDependencies(Long taskId, Collection<Long> dependencyIds) {
+        List<Long> previous;
+        Set<Long> applied;
+        lock.writeLock().lock();
+        try {
+            validateDependencies(taskId, dependencyIds);
+            Integer slot = slots.get(taskId);
+            if (slot == null) {
+                return;
+            }
+            previous = dependencyIdsOf(slot);
+            setDependencies(taskId, dependencyIds);
+            applied = new HashSet<>(dependencyIdsOf(slot));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        AfterCommit.onRollback(() -> {
+            lock.writeLock().lock();
+            try {
+                Integer slot = slots.get(taskId);
+                // Unless a later update has replaced them already.
+                if (slot != null && applied.equals(new HashSet<>(dependencyIdsOf(slot)))) {
+                    setDependencies(taskId, previous);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void setDependencies(Long taskId, Collection<Long> dependencyIds) {
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                List<Long> copy = dependencyIds != null ? new ArrayList<>(dependencyIds) : null;
+                journal.add(graph -> graph.setDependencies(taskId, copy));
+            }
+            Integer slot = slots.get(taskId);
+            if (slot == null) {
+                return;
+            }
+            clearDependencies(slot);
+            if (dependencyIds != null) {
+                for (Long dependencyId : dependencyIds) {
+                    Integer to = slots.get(dependencyId);
+                    if (to != null) {
+                        addEdge(slot, to);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Open tasks that still wait for at least one open dependency. */
+    public List<Long> getBlockedTaskIds() {
+        lock.readLock().lock();
+        try {
+            List<Long> blocked = new ArrayList<>();
+            for (int v = 0; v < size; v++) {
+                if (!alive[v] || done[v]) {
+                    continue;
+                }
+                for (int i = 0; i < dependencyCounts[v]; i++) {
+                    if (!done[dependencies[v][i]]) {
+                        blocked.add(ids[v]);
+                        break;
+                    }
+                }
+            }
+            return blocked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * All tasks ordered so that every task comes after the tasks it depends on. Throws, naming the
+     * tasks involved, when the graph holds a cycle and so has no such order.
+     */
+    public List<Long> getTopologicalOrder() {
+        lock.readLock().lock();
+        try {
+            int[] order = acyclicOrder();
+            List<Long> result = new ArrayList<>(order.length);
+            for (int v : order) {
+                result.add(ids[v]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Longest dependency chain, weighted by each task's timeSpent. Throws on a cycle like the order does. */
+    public CriticalPathDTO getCriticalPath() {
+        lock.readLock().lock();
+        try {
+            int[] order = acyclicOrder();
+            long[] distance = new long[size];
+            int[] previous = new int[size];
+            int end = -1;
+            for (int v : order) {
+                long best = 0;
+                int bestPrevious = -1;
+                for (int i = 0; i < dependencyCounts[v]; i++) {
+                    int d = dependencies[v][i];
+                    if (distance[d] > best || bestPrevious == -1) {
+                        best = distance[d];
+                        bestPrevious = d;
+                    }
+                }
+                distance[v] = best + weights[v];
+                previous[v] = bestPrevious;
+                if (end == -1 || distance[v] > distance[end]) {
+                    end = v;
+                }
+            }
+            if (end == -1) {
+                return new CriticalPathDTO(Collections.emptyList(), 0);
+            }
+            List<Long> path = new ArrayList<>();
+            for (int v = end; v != -1; v = previous[v]) {
+                path.add(ids[v]);
+            }
+            Collections.reverse(path);
+            return new CriticalPathDTO(path, distance[end]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> dependencyIdsOf(int slot) {
+        List<Long> result = new ArrayList<>(dependencyCounts[slot]);
+        for (int i = 0; i < dependencyCounts[slot]; i++) {
+            result.add(ids[dependencies[slot][i]]);
+        }
+        return result;
+    }
+
+    private int[] acyclicOrder() {
+        int[] order = topologicalSlots();
+        List<Long> cyclic = tasksOffTheOrder(order);
+        if (!cyclic.isEmpty()) {
+            throw new RuntimeException("Tasks " + abbreviate(cyclic) + " are on or wait for a dependency cycle");
+        }
+        return order;
+    }
+
+    // Tasks the topological sort could not place: those on a cycle and those waiting for one.
+    private List<Long> tasksOffTheOrder(int[] order) {
+        if (order.length == slots.size()) {
+            return List.of();
+        }
+        boolean[] placed = new boolean[size];
+        for (int v : order) {
+            placed[v] = true;
+        }
+        List<Long> result = new ArrayList<>();
+        for (int v = 0; v < size; v++) {
+            if (alive[v] && !placed[v]) {
+                result.add(ids[v]);
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private static String abbreviate(List<Long> taskIds) {
+        if (taskIds.size() <= MAX_REPORTED_CYCLE_TASKS) {
+            return taskIds.toString();
+        }
+        return taskIds.subList(0, MAX_REPORTED_CYCLE_TASKS) + " and "
+                + (taskIds.size() - MAX_REPORTED_CYCLE_TASKS) + " more";
+    }
+
+    private int[] topologicalSlots() {
+        int[] remaining = new int[size];
+        int[] queue = new int[slots.size()];
+        int tail = 0;
+        for (int v = 0; v < size; v++) {
+            if (alive[v]) {
+                remaining[v] = dependencyCounts[v];
+                if (remaining[v] == 0) {
+                    queue[tail++] = v;
+                }
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int v = queue[head];
+            for (int i = 0; i < dependentCounts[v]; i++) {
+                int w = dependents[v][i];
+                if (--remaining[w] == 0) {
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return tail == queue.length ? queue : Arrays.copyOf(queue, tail);
+    }
+
+    private boolean reaches(int start, int target, boolean[] visited, int[] stack) {
+        Arrays.fill(visited, false);
+        int top = 0;
+        stack[top++] = start;
+        visited[start] = true;
+        while (top > 0) {
+            int v = stack[--top];
+            if (v == target) {
+                return true;
+            }
+            for (int i = 0; i < dependencyCounts[v]; i++) {
+                int d = dependencies[v][i];
+                if (!visited[d]) {
+                    visited[d] = true;
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = d;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void putNode(Long taskId, TaskStatus status, Long timeSpent) {
+        Integer slot = slots.get(taskId);
+        if (slot == null) {
+            if (freeCount > 0) {
+                slot = freeSlots[--freeCount];
+            } else {
+                ensureCapacity(size + 1);
+                slot = size++;
+            }
+            slots.put(taskId, slot);
+            ids[slot] = taskId;
+            alive[slot] = true;
+            dependencies[slot] = NO_EDGES;
+            dependencyCounts[slot] = 0;
+            dependents[slot] = NO_EDGES;
+            dependentCounts[slot] = 0;
+        }
+        done[slot] = status == TaskStatus.DONE;
+        weights[slot] = timeSpent != null ? timeSpent : 0L;
+    }
+
+    private void clearDependencies(int slot) {
+        for (int i = 0; i < dependencyCounts[slot]; i++) {
+            removeFrom(dependents, dependentCounts, dependencies[slot][i], slot);
+        }
+        dependencyCounts[slot] = 0;
+    }
+
+    private void addEdge(int from, int to) {
+        append(dependencies, dependencyCounts, from, to);
+        append(dependents, dependentCounts, to, from);
+    }
+
+    private static void append(int[][] lists, int[] counts, int owner, int value) {
+        int[] list = lists[owner];
+        if (counts[owner] == list.length) {
+            list = Arrays.copyOf(list, Math.max(4, list.length * 2));
+            lists[owner] = list;
+        }
+        list[counts[owner]++] = value;
+    }
+
+    private static void removeFrom(int[][] lists, int[] counts, int owner, int value) {
+        int[] list = lists[owner];
+        for (int i = 0; i < counts[owner]; i++) {
+            if (list[i] == value) {
+                list[i] = list[--counts[owner]];
+                return;
+            }
+        }
+    }
+
+    private void adopt(DependencyGraph fresh) {
+        slots = fresh.slots;
+        ids = fresh.ids;
+        alive = fresh.alive;
+        done = fresh.done;
+        weights = fresh.weights;
+        dependencies = fresh.dependencies;
+        dependencyCounts = fresh.dependencyCounts;
+        dependents = fresh.dependents;
+        dependentCounts = fresh.dependentCounts;
+        size = fresh.size;
+        freeSlots = fresh.freeSlots;
+        freeCount = fresh.freeCount;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newLength);
+        alive = Arrays.copyOf(alive, newLength);
+        done = Arrays.copyOf(done, newLength);
+        weights = Arrays.copyOf(weights, newLength);
+        dependencies = Arrays.copyOf(dependencies, newLength);
+        dependencyCounts = Arrays.copyOf(dependencyCounts, newLength);
+        dependents = Arrays.copyOf(dependents, newLength);
+        dependentCounts = Arrays.copyOf(dependentCounts, newLength);
+    }
+}
@@ -0,0 +1,122 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Resolves bearer tokens to principals. A token is verified and its user loaded once; after that
+ * it is a cache lookup until the token expires or the user's account changes. Changes go through
+ * {@link #invalidateUser}, and a generation counter keeps a lookup that raced with one from
+ * caching what it read before the change. That only reaches this node's cache, so entries also
+ * expire after {@code cache-ttl-seconds}: a change made on another node applies here within it.
+ */
+@Service
+public class JwtAuthenticationService {
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${taskmanager.jwt.cache-size:100000}")
+    private long cacheSize;
+
+    @Value("${taskmanager.jwt.cache-ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
+    private Cache<String, AuthenticatedUser> principals;
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<String, AuthenticatedUser>() {
+                    @Override
+                    public long expireAfterCreate(String token, AuthenticatedUser user, long currentTime) {
+                        long untilExpiry = Duration.between(Instant.now(), user.getExpiresAt()).toNanos();
+                        return Math.max(0, Math.min(untilExpiry, Duration.ofSeconds(cacheTtlSeconds).toNanos()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, AuthenticatedUser user, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(token, user, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, AuthenticatedUser user, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /** The token's principal, or null when the token is invalid, expired or its user is gone. */
+    public AuthenticatedUser authenticate(String token) {
+        AuthenticatedUser cached = principals.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+        long observed = generation.get();
+        Claims claims;
+        try {
+            claims = jwtUtils.parseToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        if (claims.getExpiration() == null) {
+            return null;
+        }
+        User user = userRepository.findWithPermissionsByUsername(claims.getSubject()).orElse(null);
+        if (user == null) {
+            return null;
+        }
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getUsername(), authoritiesOf(user),
+                claims.getExpiration().toInstant());
+        principals.put(token, principal);
+        if (generation.get() != observed) {
+            principals.invalidate(token);
+        }
+        return principal;
+    }
+
+    /** Drops every cached token of the user; their next request re-reads the account. */
+    public void invalidateUser(Long userId) {
+        generation.incrementAndGet();
+        principals.asMap().values().removeIf(principal -> principal.getId().equals(userId));
+    }
+
+    private static List<GrantedAuthority> authoritiesOf(User user) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (user.getRole() != null) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
+        }
+        if (user.getPermissions() != null) {
+            for (String permission : user.getPermissions()) {
+                authorities.add(new SimpleGrantedAuthority(permission));
+            }
+        }
+        return authorities;
+    }
+}
@@ -1,23 +1,59 @@
 package com.badrelahlou.taskmanager.service;
 
 
+import java.security.Key;
 import java.util.Date;
 
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class JwtUtils {
-    private final String SECRET_KEY = "your-secret-key";
+    // HS256 needs a key at least as long as its 256-bit output.
+    private static final int MIN_KEY_BYTES = 32;
+
+    // Base64; there is no default, so a deployment cannot run on a key anyone can look up.
+    @Value("${taskmanager.jwt.secret:}")
+    private String secret;
+
+    @Value("${taskmanager.jwt.expiration-ms:36000000}")
+    private long expirationMs;
+
+    private Key signingKey;
+
+    // Decoded the way signWith(alg, String) decodes it, so tokens issued before stay valid.
+    @PostConstruct
+    void init() {
+        byte[] key = secret.isBlank() ? new byte[0] : TextCodec.BASE64.decode(secret);
+        if (key.length < MIN_KEY_BYTES) {
+            throw new IllegalStateException("taskmanager.jwt.secret must be set to a base64 key of at least "
+                    + MIN_KEY_BYTES * 8 + " bits");
+        }
+        signingKey = new SecretKeySpec(key, SignatureAlgorithm.HS256.getJcaName());
+    }
 
     public String generateToken(String username) {
         return Jwts.builder()
                 .setSubject(username)
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // 10 hours
-                .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
+                .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
+                .signWith(SignatureAlgorithm.HS256, signingKey)
                 .compact();
     }
+
+    /** Verifies signature and expiry; throws JwtException or IllegalArgumentException otherwise. */
+    public Claims parseToken(String token) {
+        return Jwts.parser()
+                .setSigningKey(signingKey)
+                .parseClaimsJws(token)
+                .getBody();
+    }
 }
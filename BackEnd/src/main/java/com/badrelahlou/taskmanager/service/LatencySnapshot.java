@@ -0,0 +1,28 @@
+package com.badrelahlou.taskmanager.service;
+
+/** Point-in-time latency summary, all values in microseconds. */
+public final class LatencySnapshot {
+    private final long count;
+    private final long meanMicros;
+    private final long p50Micros;
+    private final long p95Micros;
+    private final long p99Micros;
+    private final long maxMicros;
+
+    public LatencySnapshot(long count, long meanMicros, long p50Micros, long p95Micros, long p99Micros,
+            long maxMicros) {
+        this.count = count;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p95Micros = p95Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    public long getCount() { return count; }
+    public long getMeanMicros() { return meanMicros; }
+    public long getP50Micros() { return p50Micros; }
+    public long getP95Micros() { return p95Micros; }
+    public long getP99Micros() { return p99Micros; }
+    public long getMaxMicros() { return maxMicros; }
+}
@@ -0,0 +1,76 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory failed-login counters per username. After {@code max-failures} consecutive failures
+ * the username is locked for {@code lockout-minutes}. Counters expire on their own, and the map is
+ * bounded, so guessing random usernames cannot grow it without limit. Counters are per node.
+ */
+@Service
+public class LoginAttempts {
+    @Value("${taskmanager.auth.max-failures:5}")
+    private int maxFailures;
+
+    @Value("${taskmanager.auth.lockout-minutes:15}")
+    private long lockoutMinutes;
+
+    private Cache<String, Failures> failures;
+    private final LongAdder lockouts = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        failures = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofMinutes(lockoutMinutes))
+                .build();
+    }
+
+    /** When the username is locked, the instant the lock ends; otherwise null. */
+    public Instant lockedUntil(String username) {
+        Failures current = failures.getIfPresent(username);
+        if (current == null || current.lockedUntil == null || !current.lockedUntil.isAfter(Instant.now())) {
+            return null;
+        }
+        return current.lockedUntil;
+    }
+
+    public void recordFailure(String username) {
+        failures.asMap().compute(username, (key, current) -> {
+            int count = current == null || current.lockedUntil != null ? 1 : current.count + 1;
+            if (count < maxFailures) {
+                return new Failures(count, null);
+            }
+            lockouts.increment();
+            return new Failures(count, Instant.now().plus(Duration.ofMinutes(lockoutMinutes)));
+        });
+    }
+
+    public void recordSuccess(String username) {
+        failures.invalidate(username);
+    }
+
+    public long getLockouts() {
+        return lockouts.sum();
+    }
+
+    private static final class Failures {
+        private final int count;
+        private final Instant lockedUntil;
+
+        Failures(int count, Instant lockedUntil) {
+            this.count = count;
+            this.lockedUntil = lockedUntil;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.badrelahlou.taskmanager.service;
+
+/** Login pipeline instrumentation: time queued for and spent in password hashing, and refusals. */
+public final class LoginStats {
+    private final LatencySnapshot queueWait;
+    private final LatencySnapshot hashing;
+    private final int queueDepth;
+    private final long rejected;
+    private final long lockouts;
+
+    public LoginStats(LatencySnapshot queueWait, LatencySnapshot hashing, int queueDepth, long rejected,
+                      long lockouts) {
+        this.queueWait = queueWait;
+        this.hashing = hashing;
+        this.queueDepth = queueDepth;
+        this.rejected = rejected;
+        this.lockouts = lockouts;
+    }
+
+    public LatencySnapshot getQueueWait() { return queueWait; }
+    public LatencySnapshot getHashing() { return hashing; }
+    public int getQueueDepth() { return queueDepth; }
+    public long getRejected() { return rejected; }
+    public long getLockouts() { return lockouts; }
+}
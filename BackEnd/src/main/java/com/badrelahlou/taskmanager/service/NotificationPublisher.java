@@ -0,0 +1,13 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.util.List;
+
+import com.badrelahlou.taskmanager.dto.NotificationMessage;
+
+/**
+ * Sends a batch of notifications to the broker. Returning normally means every message in the
+ * batch was confirmed; any exception means none of them may be considered delivered.
+ */
+public interface NotificationPublisher {
+    void publish(List<NotificationMessage> messages);
+}
@@ -0,0 +1,92 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.badrelahlou.taskmanager.dto.NotificationMessage;
+import com.badrelahlou.taskmanager.model.NotificationOutbox;
+import com.badrelahlou.taskmanager.repository.NotificationOutboxRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Drains notification_outbox to the broker in batches. A batch is deleted only after the broker
+ * confirms it; on failure every row in it is rescheduled with exponential backoff.
+ */
+@Service
+public class NotificationRelay {
+    private static final Logger log = LoggerFactory.getLogger(NotificationRelay.class);
+
+    private static final long BASE_BACKOFF_MS = 1000;
+    private static final long MAX_BACKOFF_MS = 300000;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private NotificationPublisher publisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${taskmanager.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${taskmanager.outbox.poll-ms:1000}",
+               initialDelayString = "${taskmanager.outbox.poll-ms:1000}")
+    public void drain() {
+        Integer published;
+        do {
+            published = transactionTemplate.execute(status -> drainBatch());
+        } while (published != null && published == batchSize);
+    }
+
+    private int drainBatch() {
+        List<NotificationOutbox> batch = outboxRepository.lockDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<NotificationMessage> messages = new ArrayList<>(batch.size());
+        for (NotificationOutbox row : batch) {
+            messages.add(new NotificationMessage(row.getNotificationId(), row.getUserId(),
+                    row.getMessage(), row.getCreatedAt()));
+        }
+        long started = System.nanoTime();
+        try {
+            publisher.publish(messages);
+            meterRegistry.timer("taskmanager.notifications.publish", "outcome", "success")
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            meterRegistry.counter("taskmanager.notifications.published").increment(messages.size());
+        } catch (RuntimeException e) {
+            meterRegistry.timer("taskmanager.notifications.publish", "outcome", "failure")
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            log.warn("Publishing {} notifications failed, will retry: {}", batch.size(), e.getMessage());
+            LocalDateTime now = LocalDateTime.now();
+            for (NotificationOutbox row : batch) {
+                row.setAttempts(row.getAttempts() + 1);
+                row.setNextAttemptAt(now.plusNanos(backoffMillis(row.getAttempts()) * 1_000_000));
+            }
+            return 0;
+        }
+        outboxRepository.deleteAllInBatch(batch);
+        return batch.size();
+    }
+
+    static long backoffMillis(int attempts) {
+        return Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << Math.min(attempts - 1, 20));
+    }
+}
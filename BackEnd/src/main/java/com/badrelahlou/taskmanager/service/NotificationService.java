@@ -1,26 +1,52 @@
 package com.badrelahlou.taskmanager.service;
 
+import com.badrelahlou.taskmanager.dto.CursorPage;
+import com.badrelahlou.taskmanager.dto.Cursors;
+import com.badrelahlou.taskmanager.dto.NotificationMessage;
+import com.badrelahlou.taskmanager.event.NotificationCreatedEvent;
 import com.badrelahlou.taskmanager.model.Notification;
+import com.badrelahlou.taskmanager.model.NotificationOutbox;
 import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.repository.NotificationOutboxRepository;
 import com.badrelahlou.taskmanager.repository.NotificationRepository;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
 public class NotificationService {
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int RETENTION_CHUNK_SIZE = 5000;
+
     @Autowired
     private NotificationRepository notificationRepository;
 
     @Autowired
-    private RabbitTemplate rabbitTemplate;
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UnreadNotificationCounters unreadCounters;
 
-    private static final String NOTIFICATION_QUEUE = "notificationQueue";
+    @Value("${taskmanager.notifications.retention-days:90}")
+    private int retentionDays;
 
+    // The outbox row commits with the notification; NotificationRelay publishes it to the broker.
+    @Transactional
     public void createNotification(User user, String message) {
+        if (user == null) {
+            return;
+        }
         Notification notification = new Notification();
         notification.setUser(user);
         notification.setMessage(message);
@@ -28,11 +54,75 @@ public class NotificationService {
         notification.setRead(false);
         notificationRepository.save(notification);
 
-        
-        rabbitTemplate.convertAndSend(NOTIFICATION_QUEUE, notification);
+        NotificationOutbox outbox = new NotificationOutbox();
+        outbox.setNotificationId(notification.getId());
+        outbox.setUserId(user.getId());
+        outbox.setMessage(message);
+        outbox.setCreatedAt(notification.getCreatedAt());
+        outbox.setNextAttemptAt(notification.getCreatedAt());
+        outboxRepository.save(outbox);
+
+        eventPublisher.publishEvent(new NotificationCreatedEvent(new NotificationMessage(
+                notification.getId(), user.getId(), message, notification.getCreatedAt())));
     }
 
     public List<Notification> getUserNotifications(Long userId) {
-        return notificationRepository.findByUserId(userId);
+        return notificationRepository.findByUser_Id(userId);
+    }
+
+    public CursorPage<Notification> getInbox(Long userId, boolean unreadOnly, String before, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Pageable window = PageRequest.of(0, size + 1);
+        List<Notification> rows;
+        if (before == null) {
+            rows = unreadOnly
+                    ? notificationRepository.findUnreadInbox(userId, window)
+                    : notificationRepository.findInbox(userId, window);
+        } else {
+            LocalDateTime createdAt = Cursors.decodeTimestamp(before);
+            long id = Cursors.decodeTimestampId(before);
+            rows = unreadOnly
+                    ? notificationRepository.findUnreadInboxBefore(userId, createdAt, id, window)
+                    : notificationRepository.findInboxBefore(userId, createdAt, id, window);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Notification last = rows.get(size - 1);
+            nextCursor = Cursors.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    public long getUnreadCount(Long userId) {
+        return unreadCounters.get(userId);
+    }
+
+    @Transactional
+    public int markRead(Long userId, List<Long> notificationIds) {
+        if (notificationIds == null || notificationIds.isEmpty()) {
+            return 0;
+        }
+        int updated = notificationRepository.markRead(userId, notificationIds);
+        // A rolled-back update must not leave the cached count lowered.
+        AfterCommit.run(() -> unreadCounters.subtract(userId, updated));
+        return updated;
+    }
+
+    @Transactional
+    public int markAllRead(Long userId) {
+        int updated = notificationRepository.markAllRead(userId);
+        AfterCommit.run(() -> unreadCounters.subtract(userId, updated));
+        return updated;
+    }
+
+    // Read notifications past retention are deleted in small chunks, each in its own transaction.
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeReadNotifications() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        while (notificationRepository.deleteReadBefore(cutoff, RETENTION_CHUNK_SIZE) > 0) {
+            // keep deleting until no eligible rows remain
+        }
     }
 }
@@ -0,0 +1,409 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.badrelahlou.taskmanager.dto.Cursors;
+import com.badrelahlou.taskmanager.dto.NotificationMessage;
+import com.badrelahlou.taskmanager.model.Notification;
+import com.badrelahlou.taskmanager.repository.NotificationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Server-Sent Events delivery of notifications. Every node consumes the broker's notification
+ * fan-out on its own queue, so a client gets notifications created on any node. Idle connections
+ * are parked servlet async requests; a small shared pool writes them through the servlet's
+ * non-blocking output, only while the socket accepts data, and the container wakes the pool when a
+ * stalled connection drains again. A slow client therefore holds no thread, only its own bounded
+ * buffer; a client that falls further behind than that is disconnected and catches up by
+ * reconnecting with Last-Event-ID.
+ *
+ * <p>Notification ids come from a pooled sequence and do not follow commit order, so they are not
+ * the stream position. The event id is the notification's (createdAt, id) cursor, and a reconnect
+ * replays the user's notifications from the replay window before that createdAt, which covers
+ * transactions that were still open and clock skew between nodes. Notifications inside the window
+ * may be sent again; clients drop repeats by notificationId. Replay pages are read on a separate
+ * bounded pool so the database never holds up the writers; a reconnect that finds its queue full is
+ * closed and retries like any dropped stream.
+ */
+@Service
+public class NotificationStreamService {
+    private static final int BUFFER_CAPACITY = 256;
+    private static final int REPLAY_PAGE_SIZE = 256;
+    private static final int RECENT_IDS = 1024;
+    private static final int DISPATCH_THREADS = 4;
+    private static final byte[] KEEPALIVE = ":keepalive\n\n".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${taskmanager.notifications.replay-window-seconds:120}")
+    private long replayWindowSeconds;
+
+    @Value("${taskmanager.notifications.replay-threads:4}")
+    private int replayThreads;
+
+    @Value("${taskmanager.notifications.replay-queue-capacity:1000}")
+    private int replayQueueCapacity;
+
+    @Value("${spring.mvc.async.request-timeout:1800000}")
+    private long connectionTimeoutMs;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher = Executors.newFixedThreadPool(DISPATCH_THREADS,
+            new StreamThreadFactory("notification-stream-"));
+    private ThreadPoolExecutor replayer;
+
+    @PostConstruct
+    void init() {
+        replayer = new ThreadPoolExecutor(replayThreads, replayThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(replayQueueCapacity), new StreamThreadFactory("notification-replay-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Starts the stream on {@code request}; a malformed Last-Event-ID is rejected before that. */
+    public void subscribe(Long userId, String lastEventId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Subscriber subscriber;
+        if (lastEventId != null) {
+            LocalDateTime lastCreatedAt = Cursors.decodeTimestamp(lastEventId);
+            if (lastCreatedAt == null) {
+                throw new IllegalArgumentException("Invalid Last-Event-ID: " + lastEventId);
+            }
+            subscriber = new Subscriber(userId, lastCreatedAt.minusSeconds(replayWindowSeconds),
+                    Cursors.decodeTimestampId(lastEventId));
+        } else {
+            subscriber = new Subscriber(userId, null, null);
+        }
+
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Cache-Control", "no-cache");
+        response.flushBuffer();
+        subscriber.async = request.startAsync(request, response);
+        subscriber.async.setTimeout(connectionTimeoutMs);
+        subscriber.async.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                close(subscriber);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                close(subscriber);
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                close(subscriber);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+        subscriber.out = response.getOutputStream();
+
+        // Published with its replay position already set: live events buffer behind the replay,
+        // which runs as the first drain, and are skipped if the replay already sent them.
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        try {
+            subscriber.out.setWriteListener(new WriteListener() {
+                @Override
+                public void onWritePossible() {
+                    subscriber.writable = true;
+                    schedule(subscriber);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    close(subscriber);
+                }
+            });
+        } catch (UnsupportedOperationException e) {
+            // Streams without non-blocking support (the mock servlet API) are written directly.
+            subscriber.nonBlocking = false;
+            schedule(subscriber);
+        }
+    }
+
+    /** Fed by this node's queue on the notification fan-out, so it sees every node's notifications. */
+    @RabbitListener(queues = "#{notificationStreamQueue.name}",
+                    autoStartup = "${taskmanager.notifications.stream-listener.auto-startup:true}")
+    public void deliver(NotificationMessage message) {
+        Set<Subscriber> userSubscribers = subscribers.get(message.getUserId());
+        if (userSubscribers != null) {
+            for (Subscriber subscriber : userSubscribers) {
+                offer(subscriber, message);
+            }
+        }
+    }
+
+    // Only flags the connections; the writes happen on the dispatcher, not the shared scheduler.
+    @Scheduled(fixedRate = 30000)
+    public void sendHeartbeats() {
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : userSubscribers) {
+                subscriber.heartbeatDue = true;
+                schedule(subscriber);
+            }
+        }
+    }
+
+    public int getConnectionCount() {
+        int count = 0;
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            count += userSubscribers.size();
+        }
+        return count;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        replayer.shutdownNow();
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : userSubscribers) {
+                close(subscriber);
+            }
+        }
+    }
+
+    // Ids are not compared here: a lower id may have committed after a higher one was sent.
+    private void offer(Subscriber subscriber, NotificationMessage message) {
+        if (subscriber.buffered.incrementAndGet() > BUFFER_CAPACITY) {
+            close(subscriber);
+            return;
+        }
+        subscriber.pending.add(message);
+        schedule(subscriber);
+    }
+
+    // At most one drain per subscriber runs at a time; a request made meanwhile makes it go round again.
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.work.getAndIncrement() == 0) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        int requested = subscriber.work.get();
+        try {
+            while (true) {
+                writeWhileReady(subscriber);
+                requested = subscriber.work.addAndGet(-requested);
+                if (requested == 0) {
+                    return;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            close(subscriber);
+        }
+    }
+
+    // Returns when there is nothing left to send or the socket is full; in the latter case the
+    // container calls onWritePossible once it has drained.
+    private void writeWhileReady(Subscriber subscriber) throws IOException {
+        while (!subscriber.closed.get()) {
+            if (!subscriber.ready()) {
+                return;
+            }
+            if (subscriber.heartbeatDue) {
+                subscriber.heartbeatDue = false;
+                subscriber.out.write(KEEPALIVE);
+                continue;
+            }
+            NotificationMessage next = nextMessage(subscriber);
+            if (next == null) {
+                subscriber.out.flush();
+                return;
+            }
+            send(subscriber, next);
+        }
+    }
+
+    private NotificationMessage nextMessage(Subscriber subscriber) {
+        while (subscriber.replaying) {
+            if (subscriber.replayLoading) {
+                // Live events wait behind the replay; the loader schedules a drain when the page is in.
+                return null;
+            }
+            NotificationMessage replayed = subscriber.replayPage.poll();
+            if (replayed == null) {
+                requestReplayPage(subscriber);
+            } else if (!subscriber.sent(replayed.getNotificationId())) {
+                return replayed;
+            }
+        }
+        NotificationMessage live;
+        while ((live = subscriber.pending.poll()) != null) {
+            subscriber.buffered.decrementAndGet();
+            if (!subscriber.sent(live.getNotificationId())) {
+                return live;
+            }
+        }
+        return null;
+    }
+
+    private void requestReplayPage(Subscriber subscriber) {
+        if (subscriber.replayExhausted) {
+            subscriber.replaying = false;
+            return;
+        }
+        subscriber.replayLoading = true;
+        try {
+            replayer.execute(() -> {
+                try {
+                    loadReplayPage(subscriber);
+                } catch (RuntimeException e) {
+                    close(subscriber);
+                    return;
+                }
+                subscriber.replayLoading = false;
+                schedule(subscriber);
+            });
+        } catch (RejectedExecutionException e) {
+            close(subscriber);
+        }
+    }
+
+    // Runs on the replay pool while the drain stays away from the replay fields; clearing
+    // replayLoading afterwards publishes them to the next drain.
+    private void loadReplayPage(Subscriber subscriber) {
+        List<Notification> page = notificationRepository.findStreamPage(subscriber.userId,
+                subscriber.replayAfter, subscriber.replayAfterId, PageRequest.of(0, REPLAY_PAGE_SIZE));
+        for (Notification n : page) {
+            subscriber.replayPage.add(new NotificationMessage(n.getId(), subscriber.userId, n.getMessage(), n.getCreatedAt()));
+        }
+        if (!page.isEmpty()) {
+            Notification last = page.get(page.size() - 1);
+            subscriber.replayAfter = last.getCreatedAt();
+            subscriber.replayAfterId = last.getId();
+        }
+        subscriber.replayExhausted = page.size() < REPLAY_PAGE_SIZE;
+    }
+
+    private void send(Subscriber subscriber, NotificationMessage message) throws IOException {
+        String frame = "id:" + Cursors.encode(message.getCreatedAt(), message.getNotificationId()) + "\n"
+                + "event:notification\n"
+                + "data:" + objectMapper.writeValueAsString(message) + "\n\n";
+        subscriber.out.write(frame.getBytes(StandardCharsets.UTF_8));
+        subscriber.recentIds.put(message.getNotificationId(), Boolean.TRUE);
+    }
+
+    private void close(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.computeIfPresent(subscriber.userId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        subscriber.pending.clear();
+        try {
+            subscriber.async.complete();
+        } catch (IllegalStateException e) {
+            // already completed by the container
+        }
+    }
+
+    private static final class Subscriber {
+        private final Long userId;
+        private final Queue<NotificationMessage> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger buffered = new AtomicInteger();
+        private final AtomicInteger work = new AtomicInteger();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile AsyncContext async;
+        private volatile ServletOutputStream out;
+        private volatile boolean nonBlocking = true;
+        private volatile boolean writable;
+        private volatile boolean heartbeatDue;
+        private volatile boolean replayLoading;
+
+        // Only touched by the drain, which never runs twice at once, and by a replay load it waits for.
+        private final Queue<NotificationMessage> replayPage = new ArrayDeque<>();
+        private final Map<Long, Boolean> recentIds = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > RECENT_IDS;
+            }
+        };
+        private boolean replaying;
+        private boolean replayExhausted;
+        private LocalDateTime replayAfter;
+        private long replayAfterId;
+
+        private Subscriber(Long userId, LocalDateTime replayFrom, Long lastEventId) {
+            this.userId = userId;
+            if (replayFrom != null) {
+                replaying = true;
+                replayAfter = replayFrom;
+                recentIds.put(lastEventId, Boolean.TRUE);
+            }
+        }
+
+        // isReady may only be asked once the container has called onWritePossible.
+        private boolean ready() {
+            return !nonBlocking || (writable && out.isReady());
+        }
+
+        private boolean sent(Long notificationId) {
+            return recentIds.containsKey(notificationId);
+        }
+    }
+
+    private static final class StreamThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private StreamThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
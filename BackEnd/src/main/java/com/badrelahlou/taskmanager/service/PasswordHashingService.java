@@ -0,0 +1,86 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs password hashing on its own small pool so BCrypt never occupies request threads. The queue
+ * is bounded: when it is full, work is refused straight away instead of piling up, and the
+ * caller turns that into a 429.
+ */
+@Service
+public class PasswordHashingService {
+    @Value("${taskmanager.auth.hash-threads:2}")
+    private int threads;
+
+    @Value("${taskmanager.auth.hash-queue-capacity:64}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+    private final LatencyRecorder queueWait = new LatencyRecorder();
+    private final LatencyRecorder hashing = new LatencyRecorder();
+    private final LongAdder rejected = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Runs {@code work} on the hashing pool; throws RejectedExecutionException when the queue is full. */
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                queueWait.record(startedAt - queuedAt);
+                try {
+                    return work.get();
+                } finally {
+                    hashing.record(System.nanoTime() - startedAt);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    public LatencySnapshot getQueueWait() {
+        return queueWait.snapshot();
+    }
+
+    public LatencySnapshot getHashing() {
+        return hashing.snapshot();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,32 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.util.List;
+
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.badrelahlou.taskmanager.dto.NotificationMessage;
+
+@Service
+public class RabbitNotificationPublisher implements NotificationPublisher {
+    public static final String NOTIFICATION_EXCHANGE = "notificationExchange";
+    public static final String NOTIFICATION_QUEUE = "notificationQueue";
+
+    private static final long CONFIRM_TIMEOUT_MS = 5000;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Override
+    public void publish(List<NotificationMessage> messages) {
+        // One channel for the whole batch, then a single wait for all publisher confirms.
+        rabbitTemplate.invoke(operations -> {
+            for (NotificationMessage message : messages) {
+                operations.convertAndSend(NOTIFICATION_EXCHANGE, "", message);
+            }
+            operations.waitForConfirmsOrDie(CONFIRM_TIMEOUT_MS);
+            return null;
+        });
+    }
+}
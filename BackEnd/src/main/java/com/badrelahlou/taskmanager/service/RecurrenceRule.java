@@ -0,0 +1,422 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A compiled RFC 5545 RRULE. Instances are immutable and thread-safe; obtain them through
+ * {@link RecurrenceRules}, which caches one instance per distinct rule string.
+ *
+ * Supported parts: FREQ (DAILY, WEEKLY, MONTHLY, YEARLY), INTERVAL, COUNT, UNTIL, BYMONTH,
+ * BYMONTHDAY, BYDAY and WKST. Ordinal BYDAY values ("1MO", "-1FR") are accepted for MONTHLY
+ * rules and for YEARLY rules with BYMONTH. The time of day always comes from DTSTART.
+ */
+public final class RecurrenceRule {
+    public enum Frequency { DAILY, WEEKLY, MONTHLY, YEARLY }
+
+    // Gives up on rules that can never match, such as BYMONTH=2;BYMONTHDAY=30.
+    private static final int MAX_EMPTY_PERIODS = 4000;
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final String text;
+    private final Frequency frequency;
+    private final int interval;
+    private final int count;
+    private final LocalDateTime until;
+    private final int byMonthMask;
+    private final int[] byMonthDay;
+    private final int byDayMask;
+    private final int[] byDayOrdinals;
+    private final DayOfWeek[] byDayOrdinalDays;
+    private final DayOfWeek weekStart;
+
+    private RecurrenceRule(String text, Frequency frequency, int interval, int count, LocalDateTime until,
+                           int byMonthMask, int[] byMonthDay, int byDayMask, int[] byDayOrdinals,
+                           DayOfWeek[] byDayOrdinalDays, DayOfWeek weekStart) {
+        this.text = text;
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+        this.until = until;
+        this.byMonthMask = byMonthMask;
+        this.byMonthDay = byMonthDay;
+        this.byDayMask = byDayMask;
+        this.byDayOrdinals = byDayOrdinals;
+        this.byDayOrdinalDays = byDayOrdinalDays;
+        this.weekStart = weekStart;
+    }
+
+    /** Parses an RRULE value, with or without the "RRULE:" prefix. */
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Recurrence rule is empty");
+        }
+        String text = rule.trim().toUpperCase(Locale.ROOT);
+        if (text.startsWith("RRULE:")) {
+            text = text.substring("RRULE:".length());
+        }
+
+        Frequency frequency = null;
+        int interval = 1;
+        int count = 0;
+        LocalDateTime until = null;
+        int byMonthMask = 0;
+        int[] byMonthDay = new int[0];
+        int byDayMask = 0;
+        List<Integer> ordinals = new ArrayList<>();
+        List<DayOfWeek> ordinalDays = new ArrayList<>();
+        DayOfWeek weekStart = DayOfWeek.MONDAY;
+
+        for (String part : text.split(";")) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            int eq = part.indexOf('=');
+            if (eq <= 0 || eq == part.length() - 1) {
+                throw new IllegalArgumentException("Malformed RRULE part: " + part);
+            }
+            String name = part.substring(0, eq);
+            String value = part.substring(eq + 1);
+            switch (name) {
+                case "FREQ" -> {
+                    try {
+                        frequency = Frequency.valueOf(value);
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Unsupported RRULE frequency: " + value);
+                    }
+                }
+                case "INTERVAL" -> interval = positive(name, value);
+                case "COUNT" -> count = positive(name, value);
+                case "UNTIL" -> until = parseUntil(value);
+                case "BYMONTH" -> {
+                    for (String month : value.split(",")) {
+                        int m = integer(name, month);
+                        if (m < 1 || m > 12) {
+                            throw new IllegalArgumentException("Invalid BYMONTH value: " + month);
+                        }
+                        byMonthMask |= 1 << m;
+                    }
+                }
+                case "BYMONTHDAY" -> {
+                    String[] days = value.split(",");
+                    byMonthDay = new int[days.length];
+                    for (int i = 0; i < days.length; i++) {
+                        int d = integer(name, days[i]);
+                        if (d == 0 || d < -31 || d > 31) {
+                            throw new IllegalArgumentException("Invalid BYMONTHDAY value: " + days[i]);
+                        }
+                        byMonthDay[i] = d;
+                    }
+                }
+                case "BYDAY" -> {
+                    for (String day : value.split(",")) {
+                        if (day.length() < 2) {
+                            throw new IllegalArgumentException("Invalid BYDAY value: " + day);
+                        }
+                        DayOfWeek dow = weekday(day.substring(day.length() - 2));
+                        String ordinal = day.substring(0, day.length() - 2);
+                        if (ordinal.isEmpty()) {
+                            byDayMask |= bit(dow);
+                        } else {
+                            int n = integer(name, ordinal.startsWith("+") ? ordinal.substring(1) : ordinal);
+                            if (n == 0 || n < -5 || n > 5) {
+                                throw new IllegalArgumentException("Invalid BYDAY value: " + day);
+                            }
+                            ordinals.add(n);
+                            ordinalDays.add(dow);
+                        }
+                    }
+                }
+                case "WKST" -> weekStart = weekday(value);
+                default -> throw new IllegalArgumentException("Unsupported RRULE part: " + name);
+            }
+        }
+
+        if (frequency == null) {
+            throw new IllegalArgumentException("RRULE requires FREQ");
+        }
+        if (count > 0 && until != null) {
+            throw new IllegalArgumentException("RRULE cannot combine COUNT and UNTIL");
+        }
+        if (frequency == Frequency.WEEKLY && byMonthDay.length > 0) {
+            throw new IllegalArgumentException("BYMONTHDAY is not allowed with FREQ=WEEKLY");
+        }
+        if (!ordinals.isEmpty() && (frequency == Frequency.DAILY || frequency == Frequency.WEEKLY
+                || (frequency == Frequency.YEARLY && byMonthMask == 0))) {
+            throw new IllegalArgumentException("Ordinal BYDAY values are not supported with FREQ=" + frequency
+                    + (frequency == Frequency.YEARLY ? " without BYMONTH" : ""));
+        }
+
+        int[] ordinalArray = ordinals.stream().mapToInt(Integer::intValue).toArray();
+        return new RecurrenceRule(text, frequency, interval, count, until, byMonthMask, byMonthDay, byDayMask,
+                ordinalArray, ordinalDays.toArray(new DayOfWeek[0]), weekStart);
+    }
+
+    /** An occurrence together with its 0-based position in the series. */
+    public static final class Occurrence {
+        private final LocalDateTime at;
+        private final int index;
+
+        public Occurrence(LocalDateTime at, int index) {
+            this.at = at;
+            this.index = index;
+        }
+
+        public LocalDateTime getAt() {
+            return at;
+        }
+
+        /** Only counted for COUNT rules; -1 for the others, which do not need it. */
+        public int getIndex() {
+            return index;
+        }
+    }
+
+    /**
+     * The first occurrence strictly after {@code after} of the series that starts at {@code start}
+     * (DTSTART), or null when the series has ended.
+     */
+    public LocalDateTime next(LocalDateTime start, LocalDateTime after) {
+        Occurrence occurrence = nextOccurrence(start, after);
+        return occurrence != null ? occurrence.getAt() : null;
+    }
+
+    /**
+     * Like {@link #next}, with the position of the occurrence. For COUNT rules this walks the
+     * series from DTSTART; keep the result and continue with {@link #following} instead.
+     */
+    public Occurrence nextOccurrence(LocalDateTime start, LocalDateTime after) {
+        long period = 0;
+        if (count == 0 && after.isAfter(start)) {
+            period = unitsBetween(start, after) / interval;
+        }
+        return scan(start, after, period, 0);
+    }
+
+    /** The occurrence after {@code previous}; only expands the periods from previous's onwards. */
+    public Occurrence following(LocalDateTime start, Occurrence previous) {
+        if (count == 0) {
+            return nextOccurrence(start, previous.getAt());
+        }
+        long period = previous.getAt().isAfter(start) ? unitsBetween(start, previous.getAt()) / interval : 0;
+        // previous's index counts the occurrences before it, including those earlier in its period.
+        List<LocalDateTime> candidates = new ArrayList<>();
+        expand(start, period, candidates);
+        int earlierInPeriod = 0;
+        for (LocalDateTime candidate : candidates) {
+            if (!candidate.isBefore(start) && candidate.isBefore(previous.getAt())) {
+                earlierInPeriod++;
+            }
+        }
+        return scan(start, previous.getAt(), period, previous.getIndex() - earlierInPeriod);
+    }
+
+    // seen is the number of occurrences before the first period scanned.
+    private Occurrence scan(LocalDateTime start, LocalDateTime after, long period, int seen) {
+        List<LocalDateTime> candidates = new ArrayList<>();
+        int empty = 0;
+        for (;; period++) {
+            candidates.clear();
+            expand(start, period, candidates);
+            if (candidates.isEmpty()) {
+                if (++empty > MAX_EMPTY_PERIODS) {
+                    return null;
+                }
+                continue;
+            }
+            empty = 0;
+            for (LocalDateTime candidate : candidates) {
+                if (candidate.isBefore(start)) {
+                    continue;
+                }
+                if (until != null && candidate.isAfter(until)) {
+                    return null;
+                }
+                if (count > 0 && seen >= count) {
+                    return null;
+                }
+                if (candidate.isAfter(after)) {
+                    return new Occurrence(candidate, count > 0 ? seen : -1);
+                }
+                seen++;
+            }
+        }
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private long unitsBetween(LocalDateTime start, LocalDateTime after) {
+        return switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS.between(start.toLocalDate(), after.toLocalDate());
+            case WEEKLY -> ChronoUnit.WEEKS.between(weekOf(start.toLocalDate()), weekOf(after.toLocalDate()));
+            case MONTHLY -> ChronoUnit.MONTHS.between(YearMonth.from(start), YearMonth.from(after));
+            case YEARLY -> after.getYear() - start.getYear();
+        };
+    }
+
+    /** Appends the occurrences of the given period in ascending order. */
+    private void expand(LocalDateTime start, long period, List<LocalDateTime> out) {
+        LocalTime time = start.toLocalTime();
+        long step = period * interval;
+        switch (frequency) {
+            case DAILY -> {
+                LocalDate day = start.toLocalDate().plusDays(step);
+                if (monthMatches(day.getMonthValue())
+                        && (byMonthDay.length == 0 || monthDayMatches(day.getDayOfMonth(), day.lengthOfMonth()))
+                        && (byDayMask == 0 || (byDayMask & bit(day.getDayOfWeek())) != 0)) {
+                    out.add(day.atTime(time));
+                }
+            }
+            case WEEKLY -> {
+                LocalDate first = weekOf(start.toLocalDate()).plusWeeks(step);
+                int days = byDayMask != 0 ? byDayMask : bit(start.getDayOfWeek());
+                for (int i = 0; i < 7; i++) {
+                    LocalDate day = first.plusDays(i);
+                    if ((days & bit(day.getDayOfWeek())) != 0 && monthMatches(day.getMonthValue())) {
+                        out.add(day.atTime(time));
+                    }
+                }
+            }
+            case MONTHLY -> {
+                YearMonth month = YearMonth.from(start).plusMonths(step);
+                if (monthMatches(month.getMonthValue())) {
+                    expandMonth(month, start, out);
+                }
+            }
+            case YEARLY -> {
+                int year = Math.toIntExact(start.getYear() + step);
+                boolean everyMonth = byMonthDay.length > 0 || byDayMask != 0;
+                for (int m = 1; m <= 12; m++) {
+                    boolean selected = byMonthMask != 0 ? (byMonthMask & (1 << m)) != 0
+                            : everyMonth || m == start.getMonthValue();
+                    if (selected) {
+                        expandMonth(YearMonth.of(year, m), start, out);
+                    }
+                }
+            }
+        }
+    }
+
+    private void expandMonth(YearMonth month, LocalDateTime start, List<LocalDateTime> out) {
+        LocalTime time = start.toLocalTime();
+        int length = month.lengthOfMonth();
+        if (byMonthDay.length == 0 && byDayMask == 0 && byDayOrdinals.length == 0) {
+            // Months without DTSTART's day (e.g. the 31st) are skipped, as RFC 5545 requires.
+            if (start.getDayOfMonth() <= length) {
+                out.add(month.atDay(start.getDayOfMonth()).atTime(time));
+            }
+            return;
+        }
+        boolean byWeekday = byDayMask != 0 || byDayOrdinals.length > 0;
+        for (int d = 1; d <= length; d++) {
+            LocalDate day = month.atDay(d);
+            if (byMonthDay.length > 0 && !monthDayMatches(d, length)) {
+                continue;
+            }
+            if (byWeekday && !weekdayMatches(day, length)) {
+                continue;
+            }
+            out.add(day.atTime(time));
+        }
+    }
+
+    private boolean monthMatches(int month) {
+        return byMonthMask == 0 || (byMonthMask & (1 << month)) != 0;
+    }
+
+    private boolean monthDayMatches(int day, int length) {
+        for (int d : byMonthDay) {
+            if (d == day || (d < 0 && length + d + 1 == day)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean weekdayMatches(LocalDate day, int length) {
+        if ((byDayMask & bit(day.getDayOfWeek())) != 0) {
+            return true;
+        }
+        int fromStart = (day.getDayOfMonth() - 1) / 7 + 1;
+        int fromEnd = -((length - day.getDayOfMonth()) / 7 + 1);
+        for (int i = 0; i < byDayOrdinals.length; i++) {
+            if (byDayOrdinalDays[i] == day.getDayOfWeek()
+                    && (byDayOrdinals[i] == fromStart || byDayOrdinals[i] == fromEnd)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private LocalDate weekOf(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(weekStart));
+    }
+
+    private static int bit(DayOfWeek day) {
+        return 1 << day.getValue();
+    }
+
+    private static DayOfWeek weekday(String code) {
+        return switch (code) {
+            case "MO" -> DayOfWeek.MONDAY;
+            case "TU" -> DayOfWeek.TUESDAY;
+            case "WE" -> DayOfWeek.WEDNESDAY;
+            case "TH" -> DayOfWeek.THURSDAY;
+            case "FR" -> DayOfWeek.FRIDAY;
+            case "SA" -> DayOfWeek.SATURDAY;
+            case "SU" -> DayOfWeek.SUNDAY;
+            default -> throw new IllegalArgumentException("Invalid weekday: " + code);
+        };
+    }
+
+    private static LocalDateTime parseUntil(String value) {
+        try {
+            if (value.length() == 8) {
+                return LocalDate.parse(value, DATE).atTime(LocalTime.MAX);
+            }
+            if (value.endsWith("Z")) {
+                return LocalDateTime.parse(value.substring(0, value.length() - 1), DATE_TIME)
+                        .atOffset(ZoneOffset.UTC).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            }
+            return LocalDateTime.parse(value, DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid UNTIL value: " + value);
+        }
+    }
+
+    private static int positive(String name, String value) {
+        int n = integer(name, value);
+        if (n <= 0) {
+            throw new IllegalArgumentException("Invalid " + name + " value: " + value);
+        }
+        return n;
+    }
+
+    private static int integer(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + " value: " + value);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Service;
+
+import com.badrelahlou.taskmanager.model.Task;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/** Compiles recurrence rule strings once and shares the immutable result. */
+@Service
+public class RecurrenceRules {
+    private final Cache<String, RecurrenceRule> compiled = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+
+    /** Throws IllegalArgumentException for rules that are malformed or unsupported. */
+    public RecurrenceRule compile(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Recurrence rule is empty");
+        }
+        return compiled.get(rule.trim(), RecurrenceRule::parse);
+    }
+
+    /**
+     * Sets the task's next occurrence after {@code after} and its position in the series; both are
+     * null when it does not recur (any more).
+     */
+    public void schedule(Task task, LocalDateTime after) {
+        RecurrenceRule.Occurrence next = null;
+        if (task.getRecurrenceRule() != null && !task.getRecurrenceRule().isBlank() && task.getStartTime() != null) {
+            next = compile(task.getRecurrenceRule()).nextOccurrence(task.getStartTime(), after);
+        }
+        task.setNextOccurrence(next != null ? next.getAt() : null);
+        task.setOccurrenceIndex(next != null ? next.getIndex() : null);
+    }
+}
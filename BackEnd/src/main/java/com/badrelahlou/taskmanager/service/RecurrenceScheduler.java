@@ -0,0 +1,227 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.badrelahlou.taskmanager.event.RecurrenceScheduledEvent;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Generates instances of recurring tasks. tasks.next_occurrence is the queue: a single timer is
+ * armed for the earliest due time and, when it fires, only the due rows are read (in locked
+ * batches, SKIP LOCKED across nodes) and advanced to their following occurrence. The new
+ * instances are inserted under those locks; indexing, events and audit entries follow the commit.
+ */
+@Service
+public class RecurrenceScheduler {
+    private static final Logger log = LoggerFactory.getLogger(RecurrenceScheduler.class);
+    private static final int MAX_CATCH_UP = 100;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private RecurrenceRules recurrenceRules;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${taskmanager.recurrence.batch-size:200}")
+    private int batchSize;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "recurrence-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ReentrantLock lock = new ReentrantLock();
+    private ScheduledFuture<?> wakeUp;
+    private LocalDateTime wakeUpAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduleUnscheduled();
+        rearm();
+    }
+
+    // Recurring tasks created on other nodes are only seen through the table.
+    @Scheduled(fixedRate = 600000, initialDelay = 600000)
+    public void rearm() {
+        wakeAt(taskRepository.findEarliestOccurrence());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecurrenceScheduled(RecurrenceScheduledEvent event) {
+        wakeAt(event.getNextOccurrence());
+    }
+
+    /** Moves the timer earlier if {@code due} comes before the currently armed wake-up. */
+    public void wakeAt(LocalDateTime due) {
+        if (due == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (wakeUp != null && !due.isBefore(wakeUpAt)) {
+                return;
+            }
+            if (wakeUp != null) {
+                wakeUp.cancel(false);
+            }
+            long delay = Math.max(0, Duration.between(LocalDateTime.now(), due).toMillis());
+            wakeUpAt = due;
+            wakeUp = timer.schedule(this::fire, delay, TimeUnit.MILLISECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Generates every instance due at {@code now}; returns how many were created. */
+    public int generateDue(LocalDateTime now) {
+        int generated = 0;
+        int locked;
+        do {
+            List<Task> instances = new ArrayList<>();
+            locked = transactionTemplate.execute(status -> generateChunk(now, instances));
+            taskService.publishInstances(instances);
+            generated += instances.size();
+        } while (locked == batchSize);
+        return generated;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private void fire() {
+        lock.lock();
+        try {
+            wakeUp = null;
+            wakeUpAt = null;
+        } finally {
+            lock.unlock();
+        }
+        long started = System.nanoTime();
+        try {
+            generateDue(LocalDateTime.now());
+            meterRegistry.timer("taskmanager.recurrence.generate").record(System.nanoTime() - started,
+                    TimeUnit.NANOSECONDS);
+            rearm();
+        } catch (RuntimeException e) {
+            log.warn("Generating recurring task instances failed, will retry: {}", e.getMessage());
+            wakeAt(LocalDateTime.now().plusMinutes(1));
+        }
+    }
+
+    // Only inserts the instances and advances the sources; returns how many sources were locked.
+    private int generateChunk(LocalDateTime now, List<Task> instances) {
+        List<Task> due = taskRepository.lockDueOccurrences(now, PageRequest.of(0, batchSize));
+        List<Task> pending = new ArrayList<>();
+        for (Task task : due) {
+            RecurrenceRule rule;
+            try {
+                rule = recurrenceRules.compile(task.getRecurrenceRule());
+            } catch (IllegalArgumentException e) {
+                log.warn("Task {} has an invalid recurrence rule, unscheduling: {}", task.getId(), e.getMessage());
+                task.setNextOccurrence(null);
+                task.setOccurrenceIndex(null);
+                continue;
+            }
+            RecurrenceRule.Occurrence occurrence = current(task, rule);
+            int caughtUp = 0;
+            while (occurrence != null && !occurrence.getAt().isAfter(now) && caughtUp < MAX_CATCH_UP) {
+                pending.add(newInstance(task, occurrence.getAt()));
+                caughtUp++;
+                occurrence = rule.following(task.getStartTime(), occurrence);
+            }
+            if (occurrence != null && !occurrence.getAt().isAfter(now)) {
+                occurrence = rule.nextOccurrence(task.getStartTime(), now);
+            }
+            task.setNextOccurrence(occurrence != null ? occurrence.getAt() : null);
+            task.setOccurrenceIndex(occurrence != null ? occurrence.getIndex() : null);
+        }
+        instances.addAll(taskService.saveInstances(pending));
+        return due.size();
+    }
+
+    // Rows scheduled before occurrence_index existed are counted once and then carry it.
+    private static RecurrenceRule.Occurrence current(Task task, RecurrenceRule rule) {
+        if (task.getOccurrenceIndex() != null) {
+            return new RecurrenceRule.Occurrence(task.getNextOccurrence(), task.getOccurrenceIndex());
+        }
+        return rule.nextOccurrence(task.getStartTime(), task.getNextOccurrence().minusNanos(1));
+    }
+
+    private static Task newInstance(Task source, LocalDateTime occurrence) {
+        Task instance = new Task();
+        instance.setTitle(source.getTitle());
+        instance.setDescription(source.getDescription());
+        instance.setPriority(source.getPriority());
+        instance.setAssignedUser(source.getAssignedUser());
+        instance.setParentTask(source.getParentTask());
+        instance.setCreatedBy(source.getCreatedBy());
+        instance.setStartTime(occurrence);
+        instance.setEndTime(source.getEndTime() != null && source.getStartTime() != null
+                ? occurrence.plus(Duration.between(source.getStartTime(), source.getEndTime()))
+                : occurrence);
+        return instance;
+    }
+
+    // Recurring tasks stored before next_occurrence existed.
+    private void scheduleUnscheduled() {
+        LocalDateTime now = LocalDateTime.now();
+        Long afterId = 0L;
+        List<Object[]> rows;
+        do {
+            Long cursor = afterId;
+            rows = transactionTemplate.execute(status -> {
+                List<Object[]> chunk = taskRepository.findUnscheduledRecurring(cursor, PageRequest.of(0, batchSize));
+                for (Object[] row : chunk) {
+                    try {
+                        RecurrenceRule.Occurrence next = recurrenceRules.compile((String) row[1])
+                                .nextOccurrence((LocalDateTime) row[2], now);
+                        if (next != null) {
+                            taskRepository.updateNextOccurrence((Long) row[0], next.getAt(), next.getIndex());
+                        }
+                    } catch (IllegalArgumentException e) {
+                        log.warn("Task {} has an invalid recurrence rule: {}", row[0], e.getMessage());
+                    }
+                }
+                return chunk;
+            });
+            if (!rows.isEmpty()) {
+                afterId = (Long) rows.get(rows.size() - 1)[0];
+            }
+        } while (rows.size() == batchSize);
+    }
+}
@@ -0,0 +1,179 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.badrelahlou.taskmanager.event.TaskChangedEvent;
+import com.badrelahlou.taskmanager.model.Priority;
+import com.badrelahlou.taskmanager.model.TaskStatsRollup;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.repository.TaskStatsRollupRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+@Service
+public class ReportService {
+    // Stands in for "unassigned" in the dirty set, which cannot hold null.
+    private static final Long UNASSIGNED = -1L;
+    // Lease row whose lock serializes rollup writes across nodes.
+    private static final String ROLLUP_LOCK = "task-stats-rollup";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskStatsRollupRepository rollupRepository;
+
+    @Autowired
+    private SchedulerLeaseService leaseService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Set<Long> dirtyUsers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuildNeeded = new AtomicBoolean(true);
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        markDirty(event.getPreviousUserId());
+        markDirty(event.getUserId());
+    }
+
+    /**
+     * Completion report grouped by status, priority and assignee. Without date filters it is read
+     * from the rollup table, which trails committed changes by at most one refresh interval; with
+     * filters it is aggregated by the database over the tasks table.
+     */
+    public Map<String, Object> getTaskCompletionReport(LocalDateTime createdFrom, LocalDateTime createdTo,
+                                                       LocalDateTime updatedFrom, LocalDateTime updatedTo) {
+        List<Object[]> rows;
+        if (createdFrom == null && createdTo == null && updatedFrom == null && updatedTo == null) {
+            rows = new ArrayList<>();
+            for (TaskStatsRollup rollup : rollupRepository.findAll()) {
+                rows.add(new Object[] { rollup.getStatus(), rollup.getPriority(),
+                        rollup.getAssignedUserId(), rollup.getTaskCount() });
+            }
+        } else {
+            rows = aggregate(createdFrom, createdTo, updatedFrom, updatedTo);
+        }
+
+        long completedTasks = 0;
+        long inProgressTasks = 0;
+        long todoTasks = 0;
+        List<Map<String, Object>> breakdown = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            TaskStatus status = (TaskStatus) row[0];
+            long count = ((Number) row[3]).longValue();
+            switch (status) {
+                case DONE -> completedTasks += count;
+                case IN_PROGRESS -> inProgressTasks += count;
+                case TODO -> todoTasks += count;
+            }
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("status", status);
+            entry.put("priority", (Priority) row[1]);
+            entry.put("assignedUserId", row[2]);
+            entry.put("count", count);
+            breakdown.add(entry);
+        }
+
+        Map<String, Object> report = new HashMap<>();
+        report.put("totalTasks", completedTasks + inProgressTasks + todoTasks);
+        report.put("completedTasks", completedTasks);
+        report.put("inProgressTasks", inProgressTasks);
+        report.put("todoTasks", todoTasks);
+        report.put("breakdown", breakdown);
+        return report;
+    }
+
+    /**
+     * Rewrites the rollup rows of users whose tasks changed, or all rows after scheduleRebuild.
+     * Each node refreshes the users it saw change, holding the rollup lease row's lock so that two
+     * nodes never delete and re-insert the same rows at once; a failed refresh is retried whole.
+     */
+    @Scheduled(fixedDelayString = "${taskmanager.reports.rollup-refresh-ms:5000}")
+    public void refreshRollup() {
+        if (rebuildNeeded.getAndSet(false)) {
+            dirtyUsers.clear();
+            try {
+                rebuildRollup();
+            } catch (RuntimeException e) {
+                rebuildNeeded.set(true);
+                throw e;
+            }
+            return;
+        }
+        List<Long> userIds = List.copyOf(dirtyUsers);
+        if (userIds.isEmpty()) {
+            return;
+        }
+        dirtyUsers.removeAll(userIds);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                leaseService.lock(ROLLUP_LOCK);
+                for (Long userId : userIds) {
+                    if (UNASSIGNED.equals(userId)) {
+                        rollupRepository.deleteUnassignedRows();
+                        rollupRepository.insertUnassignedRows();
+                    } else {
+                        rollupRepository.deleteRowsForUser(userId);
+                        rollupRepository.insertRowsForUser(userId);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            dirtyUsers.addAll(userIds);
+            throw e;
+        }
+    }
+
+    void rebuildRollup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            leaseService.lock(ROLLUP_LOCK);
+            rollupRepository.deleteAllRows();
+            rollupRepository.insertAllRows();
+        });
+    }
+
+    // Catches changes that bypass TaskService, such as tasks cloned by the scheduler.
+    @Scheduled(cron = "0 0 * * * *")
+    public void scheduleRebuild() {
+        rebuildNeeded.set(true);
+    }
+
+    private List<Object[]> aggregate(LocalDateTime createdFrom, LocalDateTime createdTo,
+                                     LocalDateTime updatedFrom, LocalDateTime updatedTo) {
+        StringBuilder jpql = new StringBuilder(
+                "select t.status, t.priority, u.id, count(t) from Task t left join t.assignedUser u where 1 = 1");
+        if (createdFrom != null) jpql.append(" and t.createdAt >= :createdFrom");
+        if (createdTo != null) jpql.append(" and t.createdAt < :createdTo");
+        if (updatedFrom != null) jpql.append(" and t.updatedAt >= :updatedFrom");
+        if (updatedTo != null) jpql.append(" and t.updatedAt < :updatedTo");
+        jpql.append(" group by t.status, t.priority, u.id");
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        if (createdFrom != null) query.setParameter("createdFrom", createdFrom);
+        if (createdTo != null) query.setParameter("createdTo", createdTo);
+        if (updatedFrom != null) query.setParameter("updatedFrom", updatedFrom);
+        if (updatedTo != null) query.setParameter("updatedTo", updatedTo);
+        return query.getResultList();
+    }
+
+    private void markDirty(Long userId) {
+        dirtyUsers.add(userId != null ? userId : UNASSIGNED);
+    }
+}
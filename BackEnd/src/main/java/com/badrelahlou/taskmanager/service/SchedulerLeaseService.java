@@ -0,0 +1,58 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.badrelahlou.taskmanager.repository.SchedulerLeaseRepository;
+
+/**
+ * Named, time-limited leases stored in scheduler_leases so that scheduled jobs running on several
+ * instances can split their work without a coordinator. A lease is never released explicitly; it
+ * simply expires and the next claimant takes it over.
+ */
+@Service
+public class SchedulerLeaseService {
+    // New lease rows start out expired; "now" itself could be rounded past the claim's own now.
+    private static final LocalDateTime EXPIRED = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    private final String owner = hostName() + "-" + UUID.randomUUID();
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean tryAcquire(String name, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        leaseRepository.insertIfAbsent(name, EXPIRED);
+        return leaseRepository.claim(name, owner, now, now.plus(duration)) == 1;
+    }
+
+    /**
+     * Locks the lease row of {@code name} until the caller's transaction ends, waiting while another
+     * node holds it. For work that must not overlap but that every node takes its turn at.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock(String name) {
+        leaseRepository.insertIfAbsent(name, EXPIRED);
+        leaseRepository.lockRow(name);
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.badrelahlou.taskmanager.dto.TaskBatchOperation;
+import com.badrelahlou.taskmanager.dto.TaskBatchResult;
+import com.badrelahlou.taskmanager.model.Task;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Applies task operations in chunks, one transaction per chunk. Writes inside a chunk are flushed
+ * together so Hibernate can send them as JDBC batches, and the persistence context is cleared
+ * between chunks to keep memory flat for large imports.
+ *
+ * <p>A failing operation rolls back its whole chunk, which is then replayed one operation per
+ * transaction so the valid operations still commit and only the failing ones are reported. No
+ * partial writes of a failed operation survive, and the in-memory indexes, counters and events
+ * of the task service only follow committed transactions.
+ */
+@Service
+public class TaskBatchService {
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${taskmanager.batch.chunk-size:500}")
+    private int chunkSize;
+
+    public List<TaskBatchResult> execute(List<TaskBatchOperation> operations) {
+        TaskBatchResult[] results = new TaskBatchResult[operations.size()];
+        for (int start = 0; start < operations.size(); start += chunkSize) {
+            int from = start;
+            int to = Math.min(start + chunkSize, operations.size());
+            Map<Task, Long> submittedIds = new IdentityHashMap<>();
+            for (int i = from; i < to; i++) {
+                collectIds(operations.get(i).getTask(), submittedIds);
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (int i = from; i < to; i++) {
+                        results[i] = apply(i, operations.get(i));
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+            } catch (RuntimeException e) {
+                // Persisting assigned ids to the submitted tasks; the replay must see them as sent.
+                submittedIds.forEach(Task::setId);
+                for (int i = from; i < to; i++) {
+                    results[i] = applyAlone(i, operations.get(i));
+                }
+            }
+        }
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+    private TaskBatchResult applyAlone(int index, TaskBatchOperation operation) {
+        try {
+            return transactionTemplate.execute(status -> apply(index, operation));
+        } catch (RuntimeException e) {
+            return TaskBatchResult.failed(index, operation.getTaskId(), e.getMessage());
+        }
+    }
+
+    private static void collectIds(Task task, Map<Task, Long> ids) {
+        if (task == null || ids.containsKey(task)) {
+            return;
+        }
+        ids.put(task, task.getId());
+        if (task.getSubtasks() != null) {
+            for (Task subtask : task.getSubtasks()) {
+                collectIds(subtask, ids);
+            }
+        }
+    }
+
+    private TaskBatchResult apply(int index, TaskBatchOperation operation) {
+        if (operation.getType() == null) {
+            throw new RuntimeException("Operation type is required");
+        }
+        Task task = switch (operation.getType()) {
+            case CREATE -> taskService.createTask(operation.getTask(), operation.getDependencyIds());
+            case UPDATE -> taskService.updateTask(operation.getTaskId(), operation.getTask());
+            case ASSIGN -> taskService.assignTaskToUser(operation.getTaskId(), operation.getUserId());
+            case STATUS -> taskService.updateStatus(operation.getTaskId(), operation.getStatus());
+            case DELETE -> {
+                taskService.deleteTask(operation.getTaskId());
+                yield null;
+            }
+        };
+        return TaskBatchResult.ok(index, task != null ? task.getId() : operation.getTaskId());
+    }
+}
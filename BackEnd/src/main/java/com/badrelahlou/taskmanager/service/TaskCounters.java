@@ -0,0 +1,215 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.badrelahlou.taskmanager.event.TaskChangedEvent;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+
+/**
+ * Per-user and global task counts by status, maintained from TaskChangedEvents once their
+ * transaction commits and periodically reconciled against the database so that any drift is
+ * bounded by the reconcile interval. Reconciling only corrects users with no change in flight or
+ * applied since it started: for those, the query saw exactly what the counters hold. Users that
+ * changed meanwhile keep their counts until the next run. The first read runs a reconcile if none
+ * has yet, so counts never start from zero.
+ */
+@Service
+public class TaskCounters {
+    private static final int STATUS_COUNT = TaskStatus.values().length;
+    // Activity key for unassigned tasks; ConcurrentHashMap takes no null keys.
+    private static final Long UNASSIGNED = -1L;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final Counts counts = new Counts();
+    private final AtomicLong reconcileEpoch = new AtomicLong();
+    // Only users with a change since the last reconcile; the others are quiet by definition.
+    private final Map<Long, Activity> activity = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        List<Activity> touched = new ArrayList<>(2);
+        touched.add(begin(event.getPreviousUserId()));
+        touched.add(begin(event.getUserId()));
+        Runnable apply = () -> {
+            if (event.getPreviousStatus() != null) {
+                counts.add(event.getPreviousUserId(), event.getPreviousStatus(), -1);
+            }
+            if (event.getStatus() != null) {
+                counts.add(event.getUserId(), event.getStatus(), 1);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            touched.forEach(Activity::end);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+
+            // Runs after afterCommit, so a reconcile that sees no change in flight sees it applied.
+            @Override
+            public void afterCompletion(int status) {
+                touched.forEach(Activity::end);
+            }
+        });
+    }
+
+    @Scheduled(fixedRate = 300000)
+    public synchronized void reconcile() {
+        long epoch = reconcileEpoch.incrementAndGet();
+        Map<Long, long[]> fresh = new HashMap<>();
+        for (Object[] row : taskRepository.countByAssignedUserAndStatus()) {
+            fresh.computeIfAbsent((Long) row[0], id -> new long[STATUS_COUNT])[((TaskStatus) row[1]).ordinal()]
+                    += (Long) row[2];
+        }
+        // Read the counters before checking activity: anything applied after the read is caught.
+        Map<Long, long[]> counted = counts.snapshot();
+        Set<Long> userIds = new HashSet<>(counted.keySet());
+        userIds.addAll(fresh.keySet());
+        long[] none = new long[STATUS_COUNT];
+        for (Long userId : userIds) {
+            Activity recent = activity.get(key(userId));
+            if (recent != null && !recent.quietSince(epoch)) {
+                continue;
+            }
+            long[] current = counted.getOrDefault(userId, none);
+            long[] stored = fresh.getOrDefault(userId, none);
+            for (TaskStatus status : TaskStatus.values()) {
+                long delta = stored[status.ordinal()] - current[status.ordinal()];
+                if (delta != 0) {
+                    counts.add(userId, status, delta);
+                }
+            }
+        }
+        // Removal goes through the map like begin() does, so it cannot drop a change just starting.
+        for (Long key : activity.keySet()) {
+            activity.computeIfPresent(key, (id, recent) -> recent.quietSince(epoch) ? null : recent);
+        }
+        loaded = true;
+    }
+
+    public DashboardDTO getUserCounts(Long userId) {
+        loadIfNeeded();
+        return toDashboard(counts.perUser.get(userId));
+    }
+
+    public DashboardDTO getGlobalCounts() {
+        loadIfNeeded();
+        return toDashboard(counts.global);
+    }
+
+    private void loadIfNeeded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reconcile();
+                }
+            }
+        }
+    }
+
+    private static DashboardDTO toDashboard(LongAdder[] adders) {
+        if (adders == null) {
+            return new DashboardDTO(0, 0, 0, 0);
+        }
+        long todo = adders[TaskStatus.TODO.ordinal()].sum();
+        long inProgress = adders[TaskStatus.IN_PROGRESS.ordinal()].sum();
+        long done = adders[TaskStatus.DONE.ordinal()].sum();
+        return new DashboardDTO(todo, inProgress, done, todo + inProgress + done);
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[STATUS_COUNT];
+        for (int i = 0; i < STATUS_COUNT; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static long[] sums(LongAdder[] adders) {
+        long[] sums = new long[STATUS_COUNT];
+        for (int i = 0; i < STATUS_COUNT; i++) {
+            sums[i] = adders[i].sum();
+        }
+        return sums;
+    }
+
+    private Activity begin(Long userId) {
+        return activity.compute(key(userId), (id, recent) -> {
+            Activity started = recent != null ? recent : new Activity();
+            started.begin();
+            return started;
+        });
+    }
+
+    private static Long key(Long userId) {
+        return userId != null ? userId : UNASSIGNED;
+    }
+
+    /** Changes of one assignee's counts that reconcile must not race with. */
+    private final class Activity {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile long lastEpoch;
+
+        private void begin() {
+            inFlight.incrementAndGet();
+            lastEpoch = reconcileEpoch.get();
+        }
+
+        private void end() {
+            lastEpoch = reconcileEpoch.get();
+            inFlight.decrementAndGet();
+        }
+
+        // True when nothing is in flight and nothing began or ended since run epoch started.
+        private boolean quietSince(long epoch) {
+            return inFlight.get() == 0 && lastEpoch < epoch;
+        }
+    }
+
+    private static final class Counts {
+        private final LongAdder[] global = newAdders();
+        private final LongAdder[] unassigned = newAdders();
+        private final Map<Long, LongAdder[]> perUser = new ConcurrentHashMap<>();
+
+        private void add(Long userId, TaskStatus status, long delta) {
+            global[status.ordinal()].add(delta);
+            if (userId != null) {
+                perUser.computeIfAbsent(userId, id -> newAdders())[status.ordinal()].add(delta);
+            } else {
+                unassigned[status.ordinal()].add(delta);
+            }
+        }
+
+        // Keyed like the GROUP BY rows: by assignee, with null for unassigned tasks.
+        private Map<Long, long[]> snapshot() {
+            Map<Long, long[]> snapshot = new HashMap<>();
+            perUser.forEach((userId, adders) -> snapshot.put(userId, sums(adders)));
+            snapshot.put(null, sums(unassigned));
+            return snapshot;
+        }
+    }
+}
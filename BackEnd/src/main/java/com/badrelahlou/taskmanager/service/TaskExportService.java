@@ -0,0 +1,126 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.badrelahlou.taskmanager.dto.TaskSummary;
+import com.badrelahlou.taskmanager.model.Priority;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Streams tasks as NDJSON or CSV from a forward-only cursor. Rows are read as TaskSummary
+ * projections, so nothing accumulates in the persistence context and memory stays flat however
+ * many rows are exported.
+ */
+@Service
+public class TaskExportService {
+    public static final String NDJSON = "ndjson";
+    public static final String CSV = "csv";
+
+    private static final int FETCH_SIZE = 500;
+    private static final String CSV_HEADER =
+            "id,title,description,status,priority,assignedUserId,timeSpent,endTime,updatedAt";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void export(String format, TaskStatus status, Priority priority, Long assigneeId, OutputStream out) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        // PostgreSQL only honours the fetch size (server-side cursor) inside a transaction.
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(tx -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            try (ScrollableResults<TaskSummary> rows = createQuery(status, priority, assigneeId)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                if (CSV.equals(format)) {
+                    writer.write(CSV_HEADER);
+                    writer.write('\n');
+                }
+                while (rows.next()) {
+                    writeRow(format, rows.get(), writer);
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private Query<TaskSummary> createQuery(TaskStatus status, Priority priority, Long assigneeId) {
+        StringBuilder jpql = new StringBuilder(TaskRepository.SUMMARY_SELECT).append("where 1 = 1");
+        if (status != null) jpql.append(" and t.status = :status");
+        if (priority != null) jpql.append(" and t.priority = :priority");
+        if (assigneeId != null) jpql.append(" and t.assignedUser.id = :assigneeId");
+        jpql.append(" order by t.id");
+
+        Query<TaskSummary> query = entityManager.unwrap(Session.class)
+                .createQuery(jpql.toString(), TaskSummary.class)
+                .setFetchSize(FETCH_SIZE)
+                .setReadOnly(true);
+        if (status != null) query.setParameter("status", status);
+        if (priority != null) query.setParameter("priority", priority);
+        if (assigneeId != null) query.setParameter("assigneeId", assigneeId);
+        return query;
+    }
+
+    private void writeRow(String format, TaskSummary task, Writer writer) throws IOException {
+        if (NDJSON.equals(format)) {
+            writer.write(objectMapper.writeValueAsString(task));
+        } else {
+            writer.write(String.valueOf(task.getId()));
+            writer.write(',');
+            writer.write(csv(task.getTitle()));
+            writer.write(',');
+            writer.write(csv(task.getDescription()));
+            writer.write(',');
+            writer.write(csv(task.getStatus()));
+            writer.write(',');
+            writer.write(csv(task.getPriority()));
+            writer.write(',');
+            writer.write(csv(task.getAssignedUserId()));
+            writer.write(',');
+            writer.write(csv(task.getTimeSpent()));
+            writer.write(',');
+            writer.write(csv(task.getEndTime()));
+            writer.write(',');
+            writer.write(csv(task.getUpdatedAt()));
+        }
+        writer.write('\n');
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
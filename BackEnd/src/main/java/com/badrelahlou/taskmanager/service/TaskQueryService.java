@@ -0,0 +1,134 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+
+import com.badrelahlou.taskmanager.dto.CursorPage;
+import com.badrelahlou.taskmanager.dto.Cursors;
+import com.badrelahlou.taskmanager.dto.TaskFilter;
+import com.badrelahlou.taskmanager.dto.TaskSummary;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.repository.TaskSpecifications;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Filtered, sorted task listing. Filters are Specifications evaluated in the database; pages are
+ * keyset pages over (sort key, id) with no OFFSET or count query, so each page is one index range
+ * scan when the filter and sort line up with one of the tasks indexes.
+ */
+@Service
+public class TaskQueryService {
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final Set<String> SORT_KEYS = Set.of("id", "updatedAt", "endTime");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** Rejects sort keys that no task listing supports, whichever path serves the request. */
+    public static void requireSortKey(String sort) {
+        if (!SORT_KEYS.contains(sort)) {
+            throw new IllegalArgumentException("Unsupported sort key: " + sort);
+        }
+    }
+
+    /**
+     * Sort keys are "id" (creation order), "updatedAt" and "endTime"; {@code order} is "asc" or
+     * "desc" and defaults to descending for updatedAt and ascending otherwise. Tasks without a value
+     * for the sort key are listed after all the others in either order.
+     */
+    public CursorPage<TaskSummary> findTasks(TaskFilter filter, String sort, String order, String after, int limit) {
+        String key = sort != null ? sort : "id";
+        requireSortKey(key);
+        boolean descending;
+        if (order == null) {
+            descending = key.equals("updatedAt");
+        } else if (order.equals("asc") || order.equals("desc")) {
+            descending = order.equals("desc");
+        } else {
+            throw new IllegalArgumentException("Unsupported sort order: " + order);
+        }
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        List<TaskSummary> rows;
+        if (key.equals("id")) {
+            rows = page(filter, key, true, descending, null, after != null ? Cursors.decodeId(after) : null, size + 1);
+        } else {
+            // Rows with the sort key come first; those without one follow in id order, so a page
+            // boundary can fall in either part and the cursor's empty key marks the second.
+            LocalDateTime afterValue = after != null ? Cursors.decodeTimestamp(after) : null;
+            Long afterId = after != null ? Cursors.decodeTimestampId(after) : null;
+            rows = new ArrayList<>();
+            if (after == null || afterValue != null) {
+                rows.addAll(page(filter, key, true, descending, afterValue, afterId, size + 1));
+            }
+            if (rows.size() <= size) {
+                rows.addAll(page(filter, key, false, descending, null, afterValue == null ? afterId : null,
+                        size + 1 - rows.size()));
+            }
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            TaskSummary last = rows.get(size - 1);
+            nextCursor = switch (key) {
+                case "updatedAt" -> Cursors.encode(last.getUpdatedAt(), last.getId());
+                case "endTime" -> Cursors.encode(last.getEndTime(), last.getId());
+                default -> Cursors.encode(last.getId());
+            };
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    // One keyset range: the rows with a value for {@code key} (keyed) or those without, after the
+    // given position. For "id" every row is keyed and afterId alone is the position.
+    private List<TaskSummary> page(TaskFilter filter, String key, boolean keyed, boolean descending,
+                                   LocalDateTime afterValue, Long afterId, int maxResults) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskSummary> query = cb.createQuery(TaskSummary.class);
+        Root<Task> t = query.from(Task.class);
+        query.select(cb.construct(TaskSummary.class, t.get("id"), t.get("title"), t.get("description"),
+                t.get("status"), t.get("priority"), t.get("assignedUser").get("id"), t.get("timeSpent"),
+                t.get("endTime"), t.get("updatedAt")));
+
+        List<Predicate> where = new ArrayList<>();
+        Predicate filtered = TaskSpecifications.matching(filter).toPredicate(t, query, cb);
+        if (filtered != null) {
+            where.add(filtered);
+        }
+        Path<Long> id = t.get("id");
+        if (key.equals("id") || !keyed) {
+            if (!keyed) {
+                where.add(cb.isNull(t.get(key)));
+            }
+            if (afterId != null) {
+                where.add(descending ? cb.lessThan(id, afterId) : cb.greaterThan(id, afterId));
+            }
+            query.orderBy(descending ? cb.desc(id) : cb.asc(id));
+        } else {
+            Path<LocalDateTime> value = t.get(key);
+            where.add(cb.isNotNull(value));
+            if (afterValue != null) {
+                where.add(descending
+                        ? cb.or(cb.lessThan(value, afterValue),
+                                cb.and(cb.equal(value, afterValue), cb.lessThan(id, afterId)))
+                        : cb.or(cb.greaterThan(value, afterValue),
+                                cb.and(cb.equal(value, afterValue), cb.greaterThan(id, afterId))));
+            }
+            query.orderBy(descending ? cb.desc(value) : cb.asc(value), descending ? cb.desc(id) : cb.asc(id));
+        }
+        query.where(where.toArray(new Predicate[0]));
+        return entityManager.createQuery(query).setMaxResults(maxResults).getResultList();
+    }
+}
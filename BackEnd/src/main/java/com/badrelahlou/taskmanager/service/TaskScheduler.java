@@ -1,42 +1,90 @@
 package com.badrelahlou.taskmanager.service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.badrelahlou.taskmanager.model.Task;
 import com.badrelahlou.taskmanager.model.TaskStatus;
 import com.badrelahlou.taskmanager.repository.TaskRepository;
+import com.badrelahlou.taskmanager.repository.UserRepository;
 
 
-@Service
+@Service("recurringTaskScheduler")
 public class TaskScheduler {
+    static final long REMINDER_PARTITION_SIZE = 100_000;
+    private static final Duration REMINDER_LEASE = Duration.ofMinutes(55);
+
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
     @Autowired
     private NotificationService notificationService;
 
-    @Scheduled(fixedRate = 86400000) 
-    public void createRecurringTasks() {
-        taskRepository.findAll().stream()
-                .filter(task -> task.getRecurrenceRule() != null && !task.getRecurrenceRule().isEmpty())
-                .forEach(task -> {
-                    
-                    Task newTask = new Task();
-                    newTask.setTitle(task.getTitle());
-                    newTask.setDescription(task.getDescription());
-                    newTask.setPriority(task.getPriority());
-                    task.setStatus(TaskStatus.TODO);
-                    taskRepository.save(newTask);
-                });
-    }
+    @Autowired
+    private SchedulerLeaseService leaseService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${taskmanager.reminders.interval-hours:24}")
+    private long reminderIntervalHours;
 
-    @Scheduled(fixedRate = 3600000) 
+    @Value("${taskmanager.reminders.chunk-size:500}")
+    private int reminderChunkSize;
+
+    /**
+     * Reminds assignees of TODO tasks at most once per reminder interval. Tasks are split into
+     * fixed id ranges; each range is a lease, so several instances share the work and no range is
+     * processed twice in one run. Candidates are read in keyset chunks and every chunk's
+     * notifications and reminder stamps are written in one transaction.
+     */
+    @Scheduled(fixedRate = 3600000, initialDelayString = "${taskmanager.reminders.initial-delay-ms:60000}")
     public void sendReminders() {
-        taskRepository.findAll().stream()
-        .filter(task -> task.getStatus() == TaskStatus.TODO && task.getAssignedUser() != null)
-                .forEach(task -> notificationService.createNotification(task.getAssignedUser(),
-                        "Reminder: Task '" + task.getTitle() + "' is pending."));
+        Long maxId = taskRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+        LocalDateTime remindedBefore = LocalDateTime.now().minusHours(reminderIntervalHours);
+        for (long partition = 0; partition <= maxId / REMINDER_PARTITION_SIZE; partition++) {
+            if (leaseService.tryAcquire("reminders:" + partition, REMINDER_LEASE)) {
+                sendReminders(partition * REMINDER_PARTITION_SIZE, (partition + 1) * REMINDER_PARTITION_SIZE,
+                        remindedBefore);
+            }
+        }
+    }
+
+    private void sendReminders(long fromId, long toId, LocalDateTime remindedBefore) {
+        Long afterId = fromId - 1;
+        while (afterId != null) {
+            Long cursor = afterId;
+            afterId = transactionTemplate.execute(status -> remindChunk(cursor, toId, remindedBefore));
+        }
+    }
+
+    private Long remindChunk(Long afterId, long toId, LocalDateTime remindedBefore) {
+        List<Object[]> chunk = taskRepository.findReminderCandidates(TaskStatus.TODO, afterId, toId,
+                remindedBefore, PageRequest.of(0, reminderChunkSize));
+        if (chunk.isEmpty()) {
+            return null;
+        }
+        List<Long> ids = new ArrayList<>(chunk.size());
+        for (Object[] row : chunk) {
+            ids.add((Long) row[0]);
+            notificationService.createNotification(userRepository.getReferenceById((Long) row[2]),
+                    "Reminder: Task '" + row[1] + "' is pending.");
+        }
+        taskRepository.markReminded(ids, LocalDateTime.now());
+        return chunk.size() < reminderChunkSize ? null : ids.get(ids.size() - 1);
     }
 }
@@ -0,0 +1,564 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.badrelahlou.taskmanager.repository.TaskCommentRepository;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+
+/**
+ * In-memory inverted index over task titles, descriptions and comments. Every task has a stable
+ * ordinal; its title/description and each of its comments are separate documents that score
+ * towards that ordinal. Postings are append-only: re-indexing a task retires its old document and
+ * adds a new one, and retired documents are dropped by a periodic compaction.
+ *
+ * Query terms match exactly, by prefix, or (when the term is not in the dictionary) by edit
+ * distance using a trigram index over the dictionary. Scores are BM25-style idf times saturated
+ * term weight, scaled by the fraction of query terms a task matched.
+ *
+ * Each node indexes its own commits only; the index is rebuilt from the database periodically to
+ * pick up other nodes' changes. A rebuild reads into a fresh index without holding the lock (so it
+ * briefly needs memory for two copies), then replays the local changes journaled meanwhile and
+ * swaps the fresh index in.
+ */
+@Service
+public class TaskSearchIndex {
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float BODY_WEIGHT = 1f;
+    private static final float PREFIX_BOOST = 0.7f;
+    private static final float FUZZY_BOOST = 0.5f;
+    private static final int MAX_PREFIX_TERMS = 64;
+    private static final int MAX_FUZZY_TERMS = 16;
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final int LOAD_CHUNK = 5000;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCommentRepository taskCommentRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private TreeMap<String, Postings> terms = new TreeMap<>();
+    private Map<String, List<String>> trigrams = new HashMap<>();
+
+    private Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] taskIds = new long[1024];
+    private int[] taskDocs = new int[1024];
+    private boolean[] liveTasks = new boolean[1024];
+    private int ordinalCount;
+
+    private int[] docOrdinals = new int[1024];
+    private boolean[] liveDocs = new boolean[1024];
+    private int docCount;
+    private int liveDocCount;
+
+    // Local changes made while a rebuild runs, replayed onto the rebuilt index; null otherwise.
+    private List<Consumer<TaskSearchIndex>> journal;
+    // Ascending ids of the comments a rebuild read, so a journaled comment it also read is not added twice.
+    private long[] loadedComments = new long[0];
+    private int loadedCommentCount;
+
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    /** A ranked hit: task id and score. */
+    public static final class Hit {
+        private final long taskId;
+        private final float score;
+
+        Hit(long taskId, float score) {
+            this.taskId = taskId;
+            this.score = score;
+        }
+
+        public long getTaskId() { return taskId; }
+        public float getScore() { return score; }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${taskmanager.search.reload-ms:900000}",
+               fixedDelayString = "${taskmanager.search.reload-ms:900000}")
+    public synchronized void load() {
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        TaskSearchIndex fresh = new TaskSearchIndex();
+        try {
+            Long afterId = 0L;
+            List<Object[]> rows;
+            do {
+                rows = taskRepository.findSearchText(afterId, PageRequest.of(0, LOAD_CHUNK));
+                for (Object[] row : rows) {
+                    fresh.putTaskDocument((Long) row[0], (String) row[1], (String) row[2]);
+                }
+                if (!rows.isEmpty()) {
+                    afterId = (Long) rows.get(rows.size() - 1)[0];
+                }
+            } while (rows.size() == LOAD_CHUNK);
+
+            afterId = 0L;
+            do {
+                rows = taskCommentRepository.findSearchText(afterId, PageRequest.of(0, LOAD_CHUNK));
+                for (Object[] row : rows) {
+                    fresh.putCommentDocument((Long) row[1], (String) row[2]);
+                    fresh.recordLoadedComment((Long) row[0]);
+                }
+                if (!rows.isEmpty()) {
+                    afterId = (Long) rows.get(rows.size() - 1)[0];
+                }
+            } while (rows.size() == LOAD_CHUNK);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                journal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            journal.forEach(change -> change.accept(fresh));
+            journal = null;
+            adopt(fresh);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexTask(Long taskId, String title, String description) {
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.add(index -> index.putTaskDocument(taskId, title, description));
+            }
+            putTaskDocument(taskId, title, description);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexComment(Long taskId, Long commentId, String comment) {
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.add(index -> {
+                    if (!index.loadedComment(commentId)) {
+                        index.putCommentDocument(taskId, comment);
+                    }
+                });
+            }
+            putCommentDocument(taskId, comment);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeTask(Long taskId) {
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.add(index -> index.retireTask(taskId));
+            }
+            retireTask(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Hit> search(String query, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Scratch s = scratch.get();
+            s.ensureCapacity(ordinalCount);
+            float docTotal = Math.max(1, liveDocCount);
+            for (int q = 0; q < queryTerms.size(); q++) {
+                String term = queryTerms.get(q);
+                Postings exact = terms.get(term);
+                if (exact != null) {
+                    accumulate(s, exact, 1f, docTotal, q);
+                }
+                int expanded = 0;
+                for (Map.Entry<String, Postings> entry : terms.tailMap(term, false).entrySet()) {
+                    if (!entry.getKey().startsWith(term) || ++expanded > MAX_PREFIX_TERMS) {
+                        break;
+                    }
+                    accumulate(s, entry.getValue(), PREFIX_BOOST, docTotal, q);
+                }
+                if (exact == null) {
+                    for (String candidate : fuzzyTerms(term)) {
+                        accumulate(s, terms.get(candidate), FUZZY_BOOST, docTotal, q);
+                    }
+                }
+            }
+            return topHits(s, queryTerms.size(), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Drops retired documents once they make up a quarter of the index. */
+    @Scheduled(fixedRate = 600000)
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            if (docCount - liveDocCount <= docCount / 4) {
+                return;
+            }
+            int[] remap = new int[docCount];
+            int next = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                boolean keep = liveDocs[doc] && liveTasks[docOrdinals[doc]];
+                remap[doc] = keep ? next : -1;
+                if (keep) {
+                    docOrdinals[next] = docOrdinals[doc];
+                    liveDocs[next] = true;
+                    next++;
+                }
+            }
+            Arrays.fill(liveDocs, next, docCount, false);
+            docCount = next;
+            liveDocCount = next;
+            for (int o = 0; o < ordinalCount; o++) {
+                taskDocs[o] = taskDocs[o] >= 0 && liveTasks[o] ? remap[taskDocs[o]] : -1;
+            }
+            if (terms.values().removeIf(postings -> postings.remap(remap) == 0)) {
+                trigrams.clear();
+                for (String term : terms.keySet()) {
+                    for (String gram : trigramsOf(term)) {
+                        trigrams.computeIfAbsent(gram, g -> new ArrayList<>()).add(term);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean word = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                if (i - start >= 2) {
+                    tokens.add(lower.substring(start, Math.min(i, start + MAX_TERM_LENGTH)));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private void putTaskDocument(Long taskId, String title, String description) {
+        int ordinal = ordinalOf(taskId);
+        liveTasks[ordinal] = true;
+        if (taskDocs[ordinal] >= 0) {
+            retire(taskDocs[ordinal]);
+        }
+        int doc = newDocument(ordinal);
+        taskDocs[ordinal] = doc;
+        Map<String, Float> weights = new HashMap<>();
+        for (String token : tokenize(title)) {
+            weights.merge(token, TITLE_WEIGHT, Float::sum);
+        }
+        for (String token : tokenize(description)) {
+            weights.merge(token, BODY_WEIGHT, Float::sum);
+        }
+        addPostings(doc, weights);
+    }
+
+    private void putCommentDocument(Long taskId, String comment) {
+        int doc = newDocument(ordinalOf(taskId));
+        Map<String, Float> weights = new HashMap<>();
+        for (String token : tokenize(comment)) {
+            weights.merge(token, BODY_WEIGHT, Float::sum);
+        }
+        addPostings(doc, weights);
+    }
+
+    private void retireTask(Long taskId) {
+        Integer ordinal = ordinals.get(taskId);
+        if (ordinal != null) {
+            liveTasks[ordinal] = false;
+            if (taskDocs[ordinal] >= 0) {
+                retire(taskDocs[ordinal]);
+            }
+        }
+    }
+
+    private void recordLoadedComment(long commentId) {
+        if (loadedCommentCount == loadedComments.length) {
+            loadedComments = Arrays.copyOf(loadedComments, Math.max(1024, loadedCommentCount * 2));
+        }
+        loadedComments[loadedCommentCount++] = commentId;
+    }
+
+    private boolean loadedComment(Long commentId) {
+        return commentId != null && Arrays.binarySearch(loadedComments, 0, loadedCommentCount, commentId) >= 0;
+    }
+
+    private void adopt(TaskSearchIndex fresh) {
+        terms = fresh.terms;
+        trigrams = fresh.trigrams;
+        ordinals = fresh.ordinals;
+        taskIds = fresh.taskIds;
+        taskDocs = fresh.taskDocs;
+        liveTasks = fresh.liveTasks;
+        ordinalCount = fresh.ordinalCount;
+        docOrdinals = fresh.docOrdinals;
+        liveDocs = fresh.liveDocs;
+        docCount = fresh.docCount;
+        liveDocCount = fresh.liveDocCount;
+    }
+
+    private void addPostings(int doc, Map<String, Float> weights) {
+        weights.forEach((term, weight) -> terms.computeIfAbsent(term, t -> {
+            for (String gram : trigramsOf(t)) {
+                trigrams.computeIfAbsent(gram, g -> new ArrayList<>()).add(t);
+            }
+            return new Postings();
+        }).add(doc, weight));
+    }
+
+    private int ordinalOf(Long taskId) {
+        Integer ordinal = ordinals.get(taskId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        if (ordinalCount == taskIds.length) {
+            int length = ordinalCount * 2;
+            taskIds = Arrays.copyOf(taskIds, length);
+            taskDocs = Arrays.copyOf(taskDocs, length);
+            liveTasks = Arrays.copyOf(liveTasks, length);
+        }
+        ordinal = ordinalCount++;
+        ordinals.put(taskId, ordinal);
+        taskIds[ordinal] = taskId;
+        taskDocs[ordinal] = -1;
+        liveTasks[ordinal] = true;
+        return ordinal;
+    }
+
+    private int newDocument(int ordinal) {
+        if (docCount == docOrdinals.length) {
+            docOrdinals = Arrays.copyOf(docOrdinals, docCount * 2);
+            liveDocs = Arrays.copyOf(liveDocs, docCount * 2);
+        }
+        docOrdinals[docCount] = ordinal;
+        liveDocs[docCount] = true;
+        liveDocCount++;
+        return docCount++;
+    }
+
+    private void retire(int doc) {
+        if (liveDocs[doc]) {
+            liveDocs[doc] = false;
+            liveDocCount--;
+        }
+    }
+
+    private void accumulate(Scratch s, Postings postings, float boost, float docTotal, int queryTerm) {
+        float idf = (float) Math.log(1 + (docTotal - postings.size + 0.5) / (postings.size + 0.5));
+        for (int i = 0; i < postings.size; i++) {
+            int doc = postings.docs[i];
+            int ordinal = docOrdinals[doc];
+            if (!liveDocs[doc] || !liveTasks[ordinal]) {
+                continue;
+            }
+            float weight = postings.weights[i];
+            if (s.matched[ordinal] == 0) {
+                s.touch(ordinal);
+            }
+            s.scores[ordinal] += boost * idf * weight / (weight + 1.2f);
+            if (s.lastTerm[ordinal] != queryTerm + 1) {
+                s.lastTerm[ordinal] = queryTerm + 1;
+                s.matched[ordinal]++;
+            }
+        }
+    }
+
+    private List<Hit> topHits(Scratch s, int queryTermCount, int limit) {
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, (a, b) -> Float.compare(a.score, b.score));
+        for (int i = 0; i < s.touchedCount; i++) {
+            int ordinal = s.touched[i];
+            float score = s.scores[ordinal] * s.matched[ordinal] / queryTermCount;
+            s.scores[ordinal] = 0;
+            s.matched[ordinal] = 0;
+            s.lastTerm[ordinal] = 0;
+            if (top.size() < limit || score > top.peek().score) {
+                top.add(new Hit(taskIds[ordinal], score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+        s.touchedCount = 0;
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort((a, b) -> Float.compare(b.score, a.score));
+        return hits;
+    }
+
+    private List<String> fuzzyTerms(String term) {
+        if (term.length() < 4) {
+            return List.of();
+        }
+        int maxDistance = term.length() >= 8 ? 2 : 1;
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : trigramsOf(term)) {
+            List<String> candidates = trigrams.get(gram);
+            if (candidates != null) {
+                for (String candidate : candidates) {
+                    if (Math.abs(candidate.length() - term.length()) <= maxDistance) {
+                        shared.merge(candidate, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        // The padded term has one trigram per character; an edit destroys at most four of them.
+        int required = Math.max(1, term.length() - 4 * maxDistance);
+        List<String> result = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+            if (entry.getValue() >= required && editDistance(term, entry.getKey(), maxDistance) <= maxDistance) {
+                result.add(entry.getKey());
+                if (result.size() == MAX_FUZZY_TERMS) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<String> trigramsOf(String term) {
+        String padded = "$" + term + "$";
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /** Optimal string alignment distance, giving up once it exceeds {@code max}. */
+    static int editDistance(String a, String b, int max) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int d = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d = Math.min(d, previous2[j - 2] + 1);
+                }
+                current[j] = d;
+                rowMin = Math.min(rowMin, d);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] weights = new float[4];
+        int size;
+
+        void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        int remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    weights[kept] = weights[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+
+    // Per-thread score accumulators indexed by task ordinal; only touched slots are reset.
+    private static final class Scratch {
+        float[] scores = new float[0];
+        int[] matched = new int[0];
+        int[] lastTerm = new int[0];
+        int[] touched = new int[64];
+        int touchedCount;
+
+        void ensureCapacity(int ordinals) {
+            if (scores.length < ordinals) {
+                int length = Math.max(ordinals, scores.length * 2);
+                scores = Arrays.copyOf(scores, length);
+                matched = Arrays.copyOf(matched, length);
+                lastTerm = Arrays.copyOf(lastTerm, length);
+            }
+        }
+
+        void touch(int ordinal) {
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount * 2);
+            }
+            touched[touchedCount++] = ordinal;
+        }
+    }
+}
@@ -1,26 +1,54 @@
 package com.badrelahlou.taskmanager.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.badrelahlou.taskmanager.dto.CursorPage;
+import com.badrelahlou.taskmanager.dto.Cursors;
+import com.badrelahlou.taskmanager.dto.TaskSearchHit;
+import com.badrelahlou.taskmanager.dto.TaskSummary;
+import com.badrelahlou.taskmanager.event.RecurrenceScheduledEvent;
+import com.badrelahlou.taskmanager.event.TaskChangedEvent;
+import com.badrelahlou.taskmanager.model.AuditAction;
 import com.badrelahlou.taskmanager.model.Resource; 
 import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskComment;
 import com.badrelahlou.taskmanager.model.TaskStatus;
 import com.badrelahlou.taskmanager.model.User;
-import com.badrelahlou.taskmanager.repository.ResourceRepository;
+import com.badrelahlou.taskmanager.repository.TaskCommentRepository;
 import com.badrelahlou.taskmanager.repository.TaskRepository;
 import com.badrelahlou.taskmanager.repository.UserRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 @Service
 public class TaskService {
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_SEARCH_HITS = 100;
+
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskCommentRepository taskCommentRepository;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -28,84 +56,315 @@ public class TaskService {
     private NotificationService notificationService;
 
     @Autowired
-    private ResourceRepository resourceRepository; 
+    private DependencyGraph dependencyGraph;
+
+    @Autowired
+    private RecurrenceRules recurrenceRules;
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    @Autowired
+    private TimeTrackingService timeTrackingService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public Task createTask(Task task, List<Long> dependencyIds) {
         if (dependencyIds != null && !dependencyIds.isEmpty()) {
+            dependencyGraph.validateDependencies(task.getId(), dependencyIds);
             List<Task> dependencies = taskRepository.findAllById(dependencyIds);
             task.setDependencies(dependencies);
         }
         task.setStatus(TaskStatus.TODO);
-        return taskRepository.save(task);
+        recurrenceRules.schedule(task, LocalDateTime.now());
+        Task saved = taskRepository.save(task);
+        AfterCommit.run(() -> {
+            dependencyGraph.putTask(saved.getId(), saved.getStatus(), saved.getTimeSpent());
+            dependencyGraph.setDependencies(saved.getId(), dependencyIds);
+        });
+        indexInSearch(saved);
+        publishChange(saved, null, null);
+        publishRecurrence(saved);
+        auditLogWriter.record(AuditAction.TASK_CREATED, saved.getId());
+        return saved;
+    }
+
+    /**
+     * Saves generated instances of recurring tasks in the caller's transaction. Nothing else
+     * happens until {@link #publishInstances} is called after that transaction commits, so the
+     * caller's row locks are not held while the indexes, listeners and audit log catch up.
+     */
+    public List<Task> saveInstances(List<Task> instances) {
+        for (Task instance : instances) {
+            instance.setStatus(TaskStatus.TODO);
+        }
+        return taskRepository.saveAll(instances);
+    }
+
+    public void publishInstances(List<Task> instances) {
+        for (Task instance : instances) {
+            putInGraph(instance);
+            indexInSearch(instance);
+            publishChange(instance, null, null);
+            auditLogWriter.record(AuditAction.TASK_CREATED, instance.getId());
+        }
+    }
+
+    // The graph takes the new edges before the save, so a concurrent update checks against them;
+    // they are put back if this transaction rolls back.
+    public Task updateDependencies(Long taskId, List<Long> dependencyIds) {
+        return transactionTemplate.execute(status -> {
+            Task task = taskRepository.findById(taskId)
+                    .orElseThrow(() -> new RuntimeException("Task not found with id: " + taskId));
+            dependencyGraph.replaceDependencies(taskId, dependencyIds);
+            task.setDependencies(new ArrayList<>(taskRepository.findAllById(dependencyIds)));
+            Task saved = taskRepository.save(task);
+            auditLogWriter.record(AuditAction.TASK_DEPENDENCIES_CHANGED, taskId);
+            return saved;
+        });
+    }
+
+    public List<Long> getBlockedTaskIds() {
+        return dependencyGraph.getBlockedTaskIds();
+    }
+
+    public List<Long> getTopologicalOrder() {
+        return dependencyGraph.getTopologicalOrder();
+    }
+
+    public CriticalPathDTO getCriticalPath() {
+        return dependencyGraph.getCriticalPath();
     }
 
-    public Task startTimer(Long taskId) {
+    /**
+     * The old single-timer endpoints, kept for existing clients. Time goes to the time_entries
+     * ledger through {@link TimeTrackingService}, on the caller's own timer. Stopping no longer
+     * completes the task; use the status endpoint.
+     *
+     * @deprecated use the per-user timers under /api/users/{userId}/timers
+     */
+    @Deprecated
+    public Task startTimer(Long taskId, Long userId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + taskId));
-        if (task.getStartTime() != null) {
-            throw new RuntimeException("Timer is already running for task id: " + taskId);
+        timeTrackingService.start(requireUser(userId), taskId);
+        if (task.getStatus() == TaskStatus.TODO) {
+            task.setStatus(TaskStatus.IN_PROGRESS);
+            task = taskRepository.save(task);
+            putInGraph(task);
+            publishChange(task, userIdOf(task), TaskStatus.TODO);
         }
-        task.setStartTime(LocalDateTime.now());
-        task.setStatus(TaskStatus.IN_PROGRESS);
-        return taskRepository.save(task);
+        auditLogWriter.record(AuditAction.TASK_TIMER_STARTED, taskId);
+        return task;
     }
 
-    public Task stopTimer(Long taskId) {
+    /** @deprecated use the per-user timers under /api/users/{userId}/timers */
+    @Deprecated
+    public Task stopTimer(Long taskId, Long userId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + taskId));
-        if (task.getStartTime() == null) {
-            throw new RuntimeException("Timer has not been started for task id: " + taskId);
+        timeTrackingService.stop(requireUser(userId), taskId);
+        auditLogWriter.record(AuditAction.TASK_TIMER_STOPPED, taskId);
+        return task;
+    }
+
+    private static Long requireUser(Long userId) {
+        if (userId == null) {
+            throw new RuntimeException("Time can only be tracked by a signed-in user");
         }
-        if (task.getEndTime() != null) {
-            throw new RuntimeException("Timer is already stopped for task id: " + taskId);
+        return userId;
+    }
+
+    public Page<Task> getAllTasks(Pageable pageable) {
+        return taskRepository.findAll(pageable);
+    }
+
+    /**
+     * Keyset listing ordered by id ("id") or by most recently updated ("updatedAt"). The cursor is
+     * opaque to clients: pass back the nextCursor of the previous page, or nothing for the first.
+     */
+    public CursorPage<TaskSummary> getTaskSummaries(String after, int limit, String sort) {
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Pageable window = PageRequest.of(0, size + 1);
+        boolean byRecency = "updatedAt".equals(sort);
+        List<TaskSummary> rows;
+        if (byRecency) {
+            rows = findSummariesByRecency(after, size);
+        } else {
+            rows = after == null
+                    ? taskRepository.findSummaries(window)
+                    : taskRepository.findSummariesAfterId(Cursors.decodeId(after), window);
         }
-        task.setEndTime(LocalDateTime.now());
-        task.calculateTimeSpent();
-        task.setStatus(TaskStatus.DONE);
 
-        
-        taskRepository.findAll().stream()
-        .filter(t -> t.getDependencies().contains(task) && t.getStatus() != TaskStatus.DONE)
-                .forEach(t -> notificationService.createNotification(t.getAssignedUser(),
-                        "Dependency '" + task.getTitle() + "' completed for task '" + t.getTitle() + "'"));
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            TaskSummary last = rows.get(size - 1);
+            nextCursor = byRecency ? Cursors.encode(last.getUpdatedAt(), last.getId()) : Cursors.encode(last.getId());
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
 
-        return taskRepository.save(task);
+    // Tasks with an updatedAt come first; once they run out the listing continues with the rows
+    // that have none, so a page boundary can fall in either part.
+    private List<TaskSummary> findSummariesByRecency(String after, int size) {
+        LocalDateTime updatedAt = after != null ? Cursors.decodeTimestamp(after) : null;
+        List<TaskSummary> rows = new ArrayList<>();
+        if (after == null) {
+            rows.addAll(taskRepository.findSummariesByRecency(PageRequest.of(0, size + 1)));
+        } else if (updatedAt != null) {
+            rows.addAll(taskRepository.findSummariesByRecencyAfter(updatedAt, Cursors.decodeTimestampId(after),
+                    PageRequest.of(0, size + 1)));
+        }
+        if (rows.size() <= size) {
+            Pageable rest = PageRequest.of(0, size + 1 - rows.size());
+            rows.addAll(after != null && updatedAt == null
+                    ? taskRepository.findSummariesWithoutUpdatedAtBefore(Cursors.decodeTimestampId(after), rest)
+                    : taskRepository.findSummariesWithoutUpdatedAt(rest));
+        }
+        return rows;
     }
 
-    public Page<Task> getAllTasks(Pageable pageable) {
-        return taskRepository.findAll(pageable);
+    /** Tasks whose title, description or comments match {@code query}, best match first. */
+    public List<TaskSearchHit> searchTasks(String query, int limit) {
+        List<TaskSearchIndex.Hit> hits = searchIndex.search(query, Math.min(Math.max(limit, 1), MAX_SEARCH_HITS));
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (TaskSearchIndex.Hit hit : hits) {
+            ids.add(hit.getTaskId());
+        }
+        Map<Long, TaskSummary> summaries = new HashMap<>();
+        for (TaskSummary summary : taskRepository.findSummariesByIds(ids)) {
+            summaries.put(summary.getId(), summary);
+        }
+        List<TaskSearchHit> result = new ArrayList<>(hits.size());
+        for (TaskSearchIndex.Hit hit : hits) {
+            TaskSummary summary = summaries.get(hit.getTaskId());
+            if (summary != null) {
+                result.add(new TaskSearchHit(summary, hit.getScore()));
+            }
+        }
+        return result;
+    }
+
+    public List<TaskComment> getComments(Long taskId) {
+        return taskCommentRepository.findByTaskId(taskId);
+    }
+
+    public TaskComment addComment(Long taskId, Long userId, String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Comment is empty");
+        }
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new RuntimeException("Task not found with id: " + taskId));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+        TaskComment comment = new TaskComment();
+        comment.setTask(task);
+        comment.setUser(user);
+        comment.setComment(text);
+        comment.setCreatedAt(LocalDateTime.now());
+        comment = taskCommentRepository.save(comment);
+        Long commentId = comment.getId();
+        AfterCommit.run(() -> searchIndex.indexComment(taskId, commentId, text));
+        auditLogWriter.record(AuditAction.TASK_COMMENTED, taskId);
+        return comment;
     }
 
     public Task getTaskById(Long id) {
-        return taskRepository.findById(id)
+        return taskRepository.findDetailById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
     }
 
     public Task updateTask(Long id, Task updatedTask) {
+        return transactionTemplate.execute(status -> applyUpdate(id, updatedTask));
+    }
+
+    private Task applyUpdate(Long id, Task updatedTask) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
+        TaskStatus previousStatus = task.getStatus();
+        String previousRule = task.getRecurrenceRule();
         task.setTitle(updatedTask.getTitle());
         task.setDescription(updatedTask.getDescription());
         task.setPriority(updatedTask.getPriority());
         task.setStatus(updatedTask.getStatus());
-        task.setSubtasks(updatedTask.getSubtasks());
+        // Replaced in place: subtasks remove orphans, so Hibernate has to keep the same collection.
+        if (task.getSubtasks() == null) {
+            task.setSubtasks(new ArrayList<>());
+        }
+        if (task.getSubtasks() != updatedTask.getSubtasks()) {
+            task.getSubtasks().clear();
+            if (updatedTask.getSubtasks() != null) {
+                task.getSubtasks().addAll(updatedTask.getSubtasks());
+            }
+        }
         task.setRecurrenceRule(updatedTask.getRecurrenceRule());
         task.setResources(updatedTask.getResources());
+        if (!Objects.equals(previousRule, task.getRecurrenceRule())) {
+            recurrenceRules.schedule(task, LocalDateTime.now());
+        }
     
       
-        if (!task.getStatus().equals(updatedTask.getStatus())) {
+        if (previousStatus != updatedTask.getStatus()) {
             notificationService.createNotification(task.getAssignedUser(), 
                 "Your task '" + task.getTitle() + "' status changed to " + updatedTask.getStatus());
         }
     
-        return taskRepository.save(task);
+        task = taskRepository.save(task);
+        putInGraph(task);
+        indexInSearch(task);
+        publishChange(task, userIdOf(task), previousStatus);
+        notifyDependentsOnCompletion(task, previousStatus);
+        if (!Objects.equals(previousRule, task.getRecurrenceRule())) {
+            publishRecurrence(task);
+        }
+        auditLogWriter.record(AuditAction.TASK_UPDATED, id);
+        return task;
     }
     
 
+    public Task updateStatus(Long id, TaskStatus status) {
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
+        TaskStatus previousStatus = task.getStatus();
+        if (previousStatus == status) {
+            return task;
+        }
+        task.setStatus(status);
+        notificationService.createNotification(task.getAssignedUser(),
+                "Your task '" + task.getTitle() + "' status changed to " + status);
+        task = taskRepository.save(task);
+        putInGraph(task);
+        publishChange(task, userIdOf(task), previousStatus);
+        notifyDependentsOnCompletion(task, previousStatus);
+        auditLogWriter.record(AuditAction.TASK_STATUS_CHANGED, id);
+        return task;
+    }
+
     public void deleteTask(Long id) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
         taskRepository.delete(task);
+        AfterCommit.run(() -> dependencyGraph.removeTask(id));
+        AfterCommit.run(() -> searchIndex.removeTask(id));
+        eventPublisher.publishEvent(new TaskChangedEvent(id, userIdOf(task), task.getStatus(), null, null));
+        auditLogWriter.record(AuditAction.TASK_DELETED, id);
     }
 
     public Task assignTaskToUser(Long taskId, Long userId) {
@@ -113,17 +372,83 @@ public class TaskService {
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + taskId));
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+        Long previousUserId = userIdOf(task);
         task.setAssignedUser(user);
         task = taskRepository.save(task);
+        publishChange(task, previousUserId, task.getStatus());
         notificationService.createNotification(user, "Task '" + task.getTitle() + "' has been assigned to you.");
+        auditLogWriter.record(AuditAction.TASK_ASSIGNED, taskId);
         return task;
     }
 
     public Task assignResources(Long taskId, List<Long> resourceIds) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + taskId));
-        List<Resource> resources = resourceRepository.findAllById(resourceIds);
-        task.setResources(resources);
-        return taskRepository.save(task);
+        task.setResources(transactionTemplate.execute(status -> loadResources(resourceIds)));
+        task = taskRepository.save(task);
+        auditLogWriter.record(AuditAction.TASK_RESOURCES_CHANGED, taskId);
+        return task;
+    }
+
+    // multiLoad serves resources from the second-level cache and reads only the misses, in batches.
+    private List<Resource> loadResources(List<Long> resourceIds) {
+        List<Resource> resources = new ArrayList<>();
+        for (Resource resource : entityManager.unwrap(Session.class).byMultipleIds(Resource.class)
+                .with(CacheMode.NORMAL).multiLoad(resourceIds)) {
+            if (resource != null) {
+                resources.add(resource);
+            }
+        }
+        return resources;
+    }
+
+    private void indexInSearch(Task task) {
+        Long id = task.getId();
+        String title = task.getTitle();
+        String description = task.getDescription();
+        AfterCommit.run(() -> searchIndex.indexTask(id, title, description));
+    }
+
+    private void putInGraph(Task task) {
+        Long id = task.getId();
+        TaskStatus status = task.getStatus();
+        Long timeSpent = task.getTimeSpent();
+        AfterCommit.run(() -> dependencyGraph.putTask(id, status, timeSpent));
+    }
+
+    /**
+     * Tells the assignees of open tasks that depend on {@code task} that it is done, once the
+     * change has committed. The dependents come from the reverse lookup on task_dependencies, so
+     * the cost is one query plus one notification per dependent, whatever the size of the table.
+     */
+    private void notifyDependentsOnCompletion(Task task, TaskStatus previousStatus) {
+        if (task.getStatus() != TaskStatus.DONE || previousStatus == TaskStatus.DONE) {
+            return;
+        }
+        Long id = task.getId();
+        String title = task.getTitle();
+        AfterCommit.run(() -> {
+            // The finished transaction's resources may still be bound here, so this needs its own.
+            TransactionTemplate notifications = new TransactionTemplate(transactionManager);
+            notifications.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            notifications.executeWithoutResult(tx -> taskRepository.findDependents(id, TaskStatus.DONE)
+                    .forEach(dependent -> notificationService.createNotification(dependent.getAssignedUser(),
+                            "Dependency '" + title + "' completed for task '" + dependent.getTitle() + "'")));
+        });
+    }
+
+    private void publishChange(Task task, Long previousUserId, TaskStatus previousStatus) {
+        eventPublisher.publishEvent(new TaskChangedEvent(task.getId(), previousUserId, previousStatus,
+                userIdOf(task), task.getStatus()));
+    }
+
+    private void publishRecurrence(Task task) {
+        if (task.getNextOccurrence() != null) {
+            eventPublisher.publishEvent(new RecurrenceScheduledEvent(task.getId(), task.getNextOccurrence()));
+        }
+    }
+
+    private static Long userIdOf(Task task) {
+        return task.getAssignedUser() != null ? task.getAssignedUser().getId() : null;
     }
 }
@@ -0,0 +1,143 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.badrelahlou.taskmanager.dto.TimeReportRow;
+import com.badrelahlou.taskmanager.model.TimeEntry;
+import com.badrelahlou.taskmanager.model.TimeRollup;
+import com.badrelahlou.taskmanager.repository.TimeRollupRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Time reports read from time_rollups, which holds per-user, per-task totals for every day and
+ * ISO week. Buckets touched by newly persisted entries are recomputed in the same transaction; the
+ * whole table can be rebuilt from time_entries. An entry counts towards the day it started on.
+ */
+@Service
+public class TimeReportService {
+    private static final Set<String> GROUPS = Set.of("user", "task", "day", "week");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TimeRollupRepository rollupRepository;
+
+    /** Recomputes the day and week buckets of the given entries; call inside their transaction. */
+    public void applyEntries(List<TimeEntry> entries) {
+        Map<Long, Set<LocalDate>> days = new TreeMap<>();
+        for (TimeEntry entry : entries) {
+            days.computeIfAbsent(entry.getUserId(), id -> new TreeSet<>()).add(entry.getStartedAt().toLocalDate());
+        }
+        days.forEach((userId, userDays) -> {
+            Set<LocalDate> weeks = new TreeSet<>();
+            for (LocalDate day : userDays) {
+                rollupRepository.deleteBucket(userId, TimeRollup.DAY, day);
+                rollupRepository.insertDay(userId, day, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+                weeks.add(weekOf(day));
+            }
+            for (LocalDate week : weeks) {
+                rollupRepository.deleteBucket(userId, TimeRollup.WEEK, week);
+                rollupRepository.insertWeek(userId, week, week.plusWeeks(1));
+            }
+        });
+    }
+
+    @Transactional
+    public void rebuild() {
+        rollupRepository.deleteAllRows();
+        rollupRepository.insertAllDays();
+        List<Object[]> range = rollupRepository.findDayRange();
+        if (range.isEmpty() || range.get(0)[0] == null) {
+            return;
+        }
+        LocalDate last = (LocalDate) range.get(0)[1];
+        for (LocalDate week = weekOf((LocalDate) range.get(0)[0]); !week.isAfter(last); week = week.plusWeeks(1)) {
+            rollupRepository.insertAllWeek(week, week.plusWeeks(1));
+        }
+    }
+
+    /**
+     * Tracked time between {@code from} and {@code to} (both inclusive), grouped by user, task,
+     * day or week, optionally for a single user. Whole weeks inside the range are read from week
+     * buckets and only the partial weeks at either end from day buckets.
+     */
+    @Transactional(readOnly = true)
+    public List<TimeReportRow> getTimeReport(LocalDate from, LocalDate to, String groupBy, Long userId) {
+        if (!GROUPS.contains(groupBy)) {
+            throw new IllegalArgumentException("groupBy must be one of " + GROUPS);
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        LocalDate end = to.plusDays(1);
+        Map<Object, long[]> totals = new TreeMap<>();
+        if (groupBy.equals("day")) {
+            add(totals, sum(TimeRollup.DAY, from, end, "r.bucketStart", userId), false);
+        } else {
+            String expr = switch (groupBy) {
+                case "user" -> "r.userId";
+                case "task" -> "r.taskId";
+                default -> "r.bucketStart";
+            };
+            boolean byWeek = groupBy.equals("week");
+            LocalDate fullStart = from.with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+            LocalDate fullEnd = end.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            if (fullStart.isBefore(fullEnd)) {
+                add(totals, sum(TimeRollup.DAY, from, fullStart, expr, userId), byWeek);
+                add(totals, sum(TimeRollup.WEEK, fullStart, fullEnd, expr, userId), false);
+                add(totals, sum(TimeRollup.DAY, fullEnd, end, expr, userId), byWeek);
+            } else {
+                add(totals, sum(TimeRollup.DAY, from, end, expr, userId), byWeek);
+            }
+        }
+        List<TimeReportRow> rows = new ArrayList<>(totals.size());
+        totals.forEach((key, t) -> rows.add(new TimeReportRow(key.toString(), t[0], t[1])));
+        return rows;
+    }
+
+    private List<Object[]> sum(String granularity, LocalDate from, LocalDate toExclusive, String expr, Long userId) {
+        if (!from.isBefore(toExclusive)) {
+            return List.of();
+        }
+        String jpql = "select " + expr + ", sum(r.durationMs), sum(r.entryCount) from TimeRollup r " +
+                "where r.granularity = :granularity and r.bucketStart >= :from and r.bucketStart < :to" +
+                (userId != null ? " and r.userId = :userId" : "") + " group by " + expr;
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql, Object[].class)
+                .setParameter("granularity", granularity)
+                .setParameter("from", from)
+                .setParameter("to", toExclusive);
+        if (userId != null) {
+            query.setParameter("userId", userId);
+        }
+        return query.getResultList();
+    }
+
+    private static void add(Map<Object, long[]> totals, List<Object[]> rows, boolean dayToWeek) {
+        for (Object[] row : rows) {
+            Object key = dayToWeek ? weekOf((LocalDate) row[0]) : row[0];
+            long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+            total[0] += ((Number) row[1]).longValue();
+            total[1] += ((Number) row[2]).longValue();
+        }
+    }
+
+    private static LocalDate weekOf(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
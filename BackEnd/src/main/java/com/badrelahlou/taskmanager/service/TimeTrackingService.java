@@ -0,0 +1,344 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.badrelahlou.taskmanager.dto.TimeTotal;
+import com.badrelahlou.taskmanager.model.TimeEntry;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+import com.badrelahlou.taskmanager.repository.TimeEntryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Time tracking on top of the append-only time_entries ledger. Running timers (one per user and
+ * task) live only in memory, so start, pause, resume, heartbeat and stop are map updates; every
+ * closed segment becomes a TimeEntry that is queued and inserted in batches, together with the
+ * time rollups it affects. Timers whose client stops sending heartbeats are closed at their last
+ * heartbeat. Timers are per node, so requests for a user must reach the same instance.
+ * <p>
+ * Starting a timer checks the task against this node's dependency graph rather than the database;
+ * a task the graph has not seen yet is looked up once and remembered. Entries are only written for
+ * tasks that still exist when their batch is flushed.
+ */
+@Service
+public class TimeTrackingService {
+    private static final Logger log = LoggerFactory.getLogger(TimeTrackingService.class);
+    private static final int MAX_ENTRIES = 500;
+    private static final String BACKFILL_LEASE = "legacy-time-backfill";
+    private static final int CONFIRMED_TASKS = 100_000;
+
+    @Autowired
+    private TimeEntryRepository timeEntryRepository;
+
+    @Autowired
+    private TimeReportService timeReportService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private DependencyGraph dependencyGraph;
+
+    @Autowired
+    private SchedulerLeaseService leaseService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${taskmanager.timers.idle-timeout-minutes:15}")
+    private long idleTimeoutMinutes;
+
+    @Value("${taskmanager.timers.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    private final ConcurrentHashMap<TimerKey, ActiveTimer> timers = new ConcurrentHashMap<>();
+    private final Queue<TimeEntry> closed = new ConcurrentLinkedQueue<>();
+    // Tasks found in the database that the graph did not know yet, e.g. created on another node.
+    private final Cache<Long, Boolean> confirmedTasks = Caffeine.newBuilder().maximumSize(CONFIRMED_TASKS).build();
+
+    public ActiveTimer start(Long userId, Long taskId) {
+        requireKnownTask(taskId);
+        ActiveTimer timer = ActiveTimer.started(userId, taskId, LocalDateTime.now());
+        if (timers.putIfAbsent(new TimerKey(userId, taskId), timer) != null) {
+            throw new RuntimeException("Timer is already running for task id: " + taskId);
+        }
+        return timer;
+    }
+
+    public ActiveTimer pause(Long userId, Long taskId) {
+        return timers.compute(new TimerKey(userId, taskId), (key, timer) -> {
+            requireTimer(timer, taskId);
+            if (timer.isPaused()) {
+                throw new RuntimeException("Timer is already paused for task id: " + taskId);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            closeSegment(timer, now);
+            return timer.paused(now);
+        });
+    }
+
+    public ActiveTimer resume(Long userId, Long taskId) {
+        return timers.compute(new TimerKey(userId, taskId), (key, timer) -> {
+            requireTimer(timer, taskId);
+            if (!timer.isPaused()) {
+                throw new RuntimeException("Timer is not paused for task id: " + taskId);
+            }
+            return timer.resumed(LocalDateTime.now());
+        });
+    }
+
+    public ActiveTimer heartbeat(Long userId, Long taskId) {
+        return timers.compute(new TimerKey(userId, taskId), (key, timer) -> {
+            requireTimer(timer, taskId);
+            return timer.heartbeat(LocalDateTime.now());
+        });
+    }
+
+    /** Stops the timer and returns its final state; the open segment, if any, becomes an entry. */
+    public ActiveTimer stop(Long userId, Long taskId) {
+        ActiveTimer[] stopped = new ActiveTimer[1];
+        timers.compute(new TimerKey(userId, taskId), (key, timer) -> {
+            requireTimer(timer, taskId);
+            LocalDateTime now = LocalDateTime.now();
+            if (!timer.isPaused()) {
+                closeSegment(timer, now);
+            }
+            stopped[0] = timer.paused(now);
+            return null;
+        });
+        return stopped[0];
+    }
+
+    public List<ActiveTimer> getActiveTimers(Long userId) {
+        List<ActiveTimer> result = new ArrayList<>();
+        for (ActiveTimer timer : timers.values()) {
+            if (timer.getUserId().equals(userId)) {
+                result.add(timer);
+            }
+        }
+        return result;
+    }
+
+    public List<TimeEntry> getEntries(Long userId, LocalDateTime from, LocalDateTime to) {
+        return timeEntryRepository.findByUser(userId, from, to, PageRequest.of(0, MAX_ENTRIES));
+    }
+
+    /** Per-task totals for a user from the ledger, plus whatever their running timers add. */
+    public List<TimeTotal> getTotals(Long userId, LocalDateTime from, LocalDateTime to) {
+        Map<Long, long[]> totals = new HashMap<>();
+        for (Object[] row : timeEntryRepository.sumByTask(userId, from, to)) {
+            totals.put((Long) row[0], new long[] { ((Number) row[1]).longValue(), (Long) row[2], 0 });
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (ActiveTimer timer : getActiveTimers(userId)) {
+            if (!timer.isPaused() && timer.getSegmentStartedAt().isBefore(to) && now.isAfter(from)) {
+                long[] total = totals.computeIfAbsent(timer.getTaskId(), id -> new long[3]);
+                total[0] += timer.segmentMs(now);
+                total[2] = 1;
+            }
+        }
+        List<TimeTotal> result = new ArrayList<>(totals.size());
+        totals.forEach((taskId, t) -> result.add(new TimeTotal(taskId, t[0], t[1], t[2] == 1)));
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.timers.flush-ms:1000}")
+    public void flush() {
+        List<TimeEntry> batch = new ArrayList<>(flushBatchSize);
+        TimeEntry entry;
+        while ((entry = closed.poll()) != null) {
+            batch.add(entry);
+            if (batch.size() == flushBatchSize) {
+                persist(batch);
+                batch = new ArrayList<>(flushBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            persist(batch);
+        }
+    }
+
+    @Scheduled(fixedRate = 60000)
+    public void closeIdleTimers() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(idleTimeoutMinutes);
+        for (TimerKey key : timers.keySet()) {
+            timers.computeIfPresent(key, (k, timer) -> {
+                if (!timer.getLastHeartbeatAt().isBefore(cutoff)) {
+                    return timer;
+                }
+                if (!timer.isPaused()) {
+                    closeSegment(timer, timer.getLastHeartbeatAt());
+                }
+                return null;
+            });
+        }
+    }
+
+    // Running timers are closed rather than lost when the node goes down.
+    @PreDestroy
+    public void shutdown() {
+        LocalDateTime now = LocalDateTime.now();
+        for (TimerKey key : timers.keySet()) {
+            timers.computeIfPresent(key, (k, timer) -> {
+                if (!timer.isPaused()) {
+                    closeSegment(timer, now);
+                }
+                return null;
+            });
+        }
+        flush();
+    }
+
+    /**
+     * Copies the minutes the old task timer kept in tasks.time_spent into the ledger: one entry per
+     * task, starting at the task's start time, for its assignee. Tasks that already have an entry
+     * are skipped, so this is safe to repeat, and nodes take turns through the lease row lock.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLegacyTime() {
+        long afterId = 0L;
+        int copied = 0;
+        List<TimeEntry> batch;
+        do {
+            long from = afterId;
+            batch = transactionTemplate.execute(status -> {
+                leaseService.lock(BACKFILL_LEASE);
+                List<TimeEntry> entries = new ArrayList<>();
+                for (Object[] row : taskRepository.findUnledgeredTime(from, PageRequest.of(0, flushBatchSize))) {
+                    LocalDateTime startedAt = (LocalDateTime) row[2];
+                    long minutes = (Long) row[3];
+                    TimeEntry entry = new TimeEntry();
+                    entry.setTaskId((Long) row[0]);
+                    entry.setUserId((Long) row[1]);
+                    entry.setStartedAt(startedAt);
+                    entry.setEndedAt(startedAt.plusMinutes(minutes));
+                    entry.setDurationMs(minutes * 60_000);
+                    entries.add(entry);
+                }
+                if (!entries.isEmpty()) {
+                    timeEntryRepository.saveAllAndFlush(entries);
+                    timeReportService.applyEntries(entries);
+                }
+                return entries;
+            });
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getTaskId();
+                copied += batch.size();
+            }
+        } while (batch.size() == flushBatchSize);
+        if (copied > 0) {
+            log.info("Copied the legacy time of {} tasks into the time ledger", copied);
+        }
+    }
+
+    int pendingEntries() {
+        return closed.size();
+    }
+
+    private void requireKnownTask(Long taskId) {
+        if (dependencyGraph.containsTask(taskId) || confirmedTasks.getIfPresent(taskId) != null) {
+            return;
+        }
+        if (!taskRepository.existsById(taskId)) {
+            throw new RuntimeException("Task not found with id: " + taskId);
+        }
+        confirmedTasks.put(taskId, Boolean.TRUE);
+    }
+
+    private void persist(List<TimeEntry> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<TimeEntry> entries = withExistingTasks(batch);
+                if (!entries.isEmpty()) {
+                    timeEntryRepository.saveAllAndFlush(entries);
+                    timeReportService.applyEntries(entries);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Persisting {} time entries failed, will retry: {}", batch.size(), e.getMessage());
+            closed.addAll(batch);
+        }
+    }
+
+    // Time tracked on a task that was deleted while its timer ran is dropped.
+    private List<TimeEntry> withExistingTasks(List<TimeEntry> batch) {
+        Set<Long> taskIds = new HashSet<>();
+        for (TimeEntry entry : batch) {
+            taskIds.add(entry.getTaskId());
+        }
+        Set<Long> existing = new HashSet<>(taskRepository.findExistingIds(taskIds));
+        if (existing.size() == taskIds.size()) {
+            return batch;
+        }
+        List<TimeEntry> kept = new ArrayList<>(batch.size());
+        for (TimeEntry entry : batch) {
+            if (existing.contains(entry.getTaskId())) {
+                kept.add(entry);
+            }
+        }
+        log.info("Dropped {} time entries of deleted tasks", batch.size() - kept.size());
+        return kept;
+    }
+
+    private void closeSegment(ActiveTimer timer, LocalDateTime end) {
+        long duration = timer.segmentMs(end);
+        if (duration == 0) {
+            return;
+        }
+        TimeEntry entry = new TimeEntry();
+        entry.setUserId(timer.getUserId());
+        entry.setTaskId(timer.getTaskId());
+        entry.setStartedAt(timer.getSegmentStartedAt());
+        entry.setEndedAt(end);
+        entry.setDurationMs(duration);
+        closed.add(entry);
+    }
+
+    private static void requireTimer(ActiveTimer timer, Long taskId) {
+        if (timer == null) {
+            throw new RuntimeException("No timer running for task id: " + taskId);
+        }
+    }
+
+    private static final class TimerKey {
+        private final long userId;
+        private final long taskId;
+
+        TimerKey(long userId, long taskId) {
+            this.userId = userId;
+            this.taskId = taskId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TimerKey other && other.userId == userId && other.taskId == taskId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(userId) * 31 + Long.hashCode(taskId);
+        }
+    }
+}
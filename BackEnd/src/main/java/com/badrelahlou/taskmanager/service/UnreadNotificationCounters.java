@@ -0,0 +1,134 @@
+package com.badrelahlou.taskmanager.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.badrelahlou.taskmanager.event.NotificationCreatedEvent;
+import com.badrelahlou.taskmanager.repository.NotificationRepository;
+
+/**
+ * Per-user unread notification counts. A user's counter is loaded with one indexed count query on
+ * first read and then kept current from notification creation and mark-read updates. Counters are
+ * reconciled in place periodically so that changes made on other nodes are picked up; like the
+ * load, a counter that changed while the reconcile query ran keeps its value until the next run.
+ * Counters not read since the previous run are dropped and load again on their next read.
+ * <p>
+ * A placeholder is registered before the count query runs, so changes that commit meanwhile are
+ * not lost. The query may or may not have seen such a change, so a load that raced with one is
+ * returned but not cached, and the next read loads again.
+ */
+@Service
+public class UnreadNotificationCounters {
+    private static final int RECONCILE_CHUNK = 1000;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    // The count query runs outside computeIfAbsent: a mapping function holds the map bin's monitor,
+    // which would block other users in the bin and pin a virtual thread for the whole query.
+    public long get(Long userId) {
+        Counter counter = counters.get(userId);
+        if (counter != null && counter.loaded) {
+            counter.read = true;
+            return counter.value.get();
+        }
+        if (counter == null) {
+            Counter placeholder = new Counter();
+            counter = counters.putIfAbsent(userId, placeholder);
+            if (counter == null) {
+                return load(userId, placeholder);
+            }
+        }
+        // Another request is loading this counter; answer from the database meanwhile.
+        return notificationRepository.countByUser_IdAndIsReadFalse(userId);
+    }
+
+    public void subtract(Long userId, long count) {
+        Counter counter = counters.get(userId);
+        if (counter != null && count > 0) {
+            counter.changes.incrementAndGet();
+            counter.value.updateAndGet(value -> counter.loaded ? Math.max(0, value - count) : value - count);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        Counter counter = counters.get(event.getMessage().getUserId());
+        if (counter != null) {
+            counter.changes.incrementAndGet();
+            counter.value.incrementAndGet();
+        }
+    }
+
+    @Scheduled(fixedRate = 300000)
+    public void reconcile() {
+        Map<Long, Counter> sampled = new HashMap<>();
+        Map<Long, Long> seen = new HashMap<>();
+        counters.forEach((userId, counter) -> {
+            if (!counter.loaded) {
+                return;
+            }
+            if (!counter.read) {
+                counters.remove(userId, counter);
+                return;
+            }
+            counter.read = false;
+            sampled.put(userId, counter);
+            seen.put(userId, counter.changes.get());
+        });
+        List<Long> userIds = new ArrayList<>(seen.keySet());
+        for (int from = 0; from < userIds.size(); from += RECONCILE_CHUNK) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + RECONCILE_CHUNK, userIds.size()));
+            Map<Long, Long> stored = new HashMap<>();
+            for (Object[] row : notificationRepository.countUnreadByUsers(chunk)) {
+                stored.put((Long) row[0], (Long) row[1]);
+            }
+            for (Long userId : chunk) {
+                // A counter dropped or reloaded meanwhile is not in the map any more; updating it is harmless.
+                Counter counter = sampled.get(userId);
+                // A change applied after the value was read makes the compareAndSet fail.
+                long current = counter.value.get();
+                if (counter.changes.get() == seen.get(userId)) {
+                    counter.value.compareAndSet(current, stored.getOrDefault(userId, 0L));
+                }
+            }
+        }
+    }
+
+    // Changes applied while the placeholder is loading accumulate in its value as a delta.
+    private long load(Long userId, Counter placeholder) {
+        long seen = placeholder.changes.get();
+        long count;
+        try {
+            count = notificationRepository.countByUser_IdAndIsReadFalse(userId);
+        } catch (RuntimeException e) {
+            counters.remove(userId, placeholder);
+            throw e;
+        }
+        if (placeholder.changes.get() != seen) {
+            counters.remove(userId, placeholder);
+            return count;
+        }
+        long value = placeholder.value.addAndGet(count);
+        placeholder.loaded = true;
+        return value;
+    }
+
+    private static final class Counter {
+        private final AtomicLong value = new AtomicLong();
+        private final AtomicLong changes = new AtomicLong();
+        private volatile boolean loaded;
+        private volatile boolean read = true;
+    }
+}
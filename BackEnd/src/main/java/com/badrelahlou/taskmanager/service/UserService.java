@@ -1,22 +1,49 @@
 package com.badrelahlou.taskmanager.service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.badrelahlou.taskmanager.exception.TooManyRequestsException;
+import com.badrelahlou.taskmanager.model.AuditAction;
+import com.badrelahlou.taskmanager.model.AuditLog;
 import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.repository.AuditLogRepository;
 import com.badrelahlou.taskmanager.repository.UserRepository;
 
 @Service
 public class UserService {
+    private static final int MAX_AUDIT_ENTRIES = 1000;
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JwtAuthenticationService jwtAuthenticationService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private LoginAttempts loginAttempts;
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
     public User createUser(User user) {
         userRepository.findByUsername(user.getUsername())
                 .ifPresent(u -> { throw new RuntimeException("Username already exists"); });
@@ -28,7 +55,9 @@ public class UserService {
         String hashedPassword = passwordEncoder.encode(plainPassword);
         
         user.setPasswordHash(hashedPassword);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        auditLogWriter.record(AuditAction.USER_CREATED, saved.getId());
+        return saved;
     }
     
     
@@ -41,27 +70,65 @@ public class UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setPermissions(permissions);
-        return userRepository.save(user);
+        user = userRepository.save(user);
+        jwtAuthenticationService.invalidateUser(userId);
+        auditLogWriter.record(AuditAction.USER_PERMISSIONS_CHANGED, userId);
+        return user;
     }
 
-    public User authenticate(String username, String password) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-    
-        System.out.println("Entered Password: " + password);
-        System.out.println("Stored Hash: " + user.getPasswordHash());
-    
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
-            System.out.println("Password does NOT match!");
-            throw new RuntimeException("Invalid credentials");
-        } else {
-            System.out.println("Password matches successfully!");
+    /**
+     * Checks the password on the hashing pool and completes with the user, or exceptionally with
+     * "Invalid credentials". Throws TooManyRequestsException when the username is locked out or
+     * the hashing queue is full. Hashes made with a lower cost than configured are upgraded.
+     */
+    public CompletableFuture<User> authenticate(String username, String password) {
+        Instant lockedUntil = loginAttempts.lockedUntil(username);
+        if (lockedUntil != null) {
+            throw new TooManyRequestsException("Too many failed logins, try again later",
+                    Math.max(1, Duration.between(Instant.now(), lockedUntil).toSeconds()));
         }
-    
-        return user;
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            loginAttempts.recordFailure(username);
+            return CompletableFuture.failedFuture(new RuntimeException("User not found"));
+        }
+        String storedHash = user.getPasswordHash();
+        CompletableFuture<String> verified;
+        try {
+            verified = passwordHashingService.submit(() -> {
+                if (password == null || !passwordEncoder.matches(password, storedHash)) {
+                    return null;
+                }
+                return passwordEncoder.upgradeEncoding(storedHash) ? passwordEncoder.encode(password) : storedHash;
+            });
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Too many logins in progress, try again shortly", 1);
+        }
+        return verified.thenApply(hash -> {
+            if (hash == null) {
+                loginAttempts.recordFailure(username);
+                throw new RuntimeException("Invalid credentials");
+            }
+            loginAttempts.recordSuccess(username);
+            if (!hash.equals(storedHash)) {
+                userRepository.updatePasswordHash(user.getId(), hash);
+                user.setPasswordHash(hash);
+            }
+            return user;
+        });
+    }
+
+    public LoginStats getLoginStats() {
+        return new LoginStats(passwordHashingService.getQueueWait(), passwordHashingService.getHashing(),
+                passwordHashingService.getQueueDepth(), passwordHashingService.getRejected(),
+                loginAttempts.getLockouts());
+    }
+
+    /** Mutations made by the user between {@code from} and {@code to}, newest first. */
+    public List<AuditLog> getAuditLog(Long userId, LocalDateTime from, LocalDateTime to, int limit) {
+        return auditLogRepository.findByUserIdAndTimestampBetweenOrderByTimestampDesc(userId, from, to,
+                PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_AUDIT_ENTRIES)));
     }
-    
-    
 
     public User updateUser(Long id, User updatedUser) {
         User user = userRepository.findById(id)
@@ -72,13 +139,18 @@ public class UserService {
         if (updatedUser.getPasswordHash() != null) {
             user.setPasswordHash(passwordEncoder.encode(updatedUser.getPasswordHash()));
         }
-        return userRepository.save(user);
+        user = userRepository.save(user);
+        jwtAuthenticationService.invalidateUser(id);
+        auditLogWriter.record(AuditAction.USER_UPDATED, id);
+        return user;
     }
 
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
         userRepository.delete(user);
+        jwtAuthenticationService.invalidateUser(id);
+        auditLogWriter.record(AuditAction.USER_DELETED, id);
     }
 
    
@@ -88,6 +160,7 @@ public class UserService {
         user.setTotpSecret(totpSecret);
         user.setTwoFactorEnabled(true);
         userRepository.save(user);
+        auditLogWriter.record(AuditAction.USER_TWO_FACTOR_ENABLED, userId);
     }
 
     public boolean verifyTwoFactor(Long userId, String code) {
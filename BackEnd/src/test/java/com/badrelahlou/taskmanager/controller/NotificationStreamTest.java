@@ -0,0 +1,153 @@
+package com.badrelahlou.taskmanager.controller;
+
+import static com.badrelahlou.taskmanager.support.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.badrelahlou.taskmanager.dto.Cursors;
+import com.badrelahlou.taskmanager.dto.NotificationMessage;
+import com.badrelahlou.taskmanager.model.Notification;
+import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.repository.NotificationRepository;
+import com.badrelahlou.taskmanager.repository.UserRepository;
+import com.badrelahlou.taskmanager.service.JwtUtils;
+import com.badrelahlou.taskmanager.service.NotificationStreamService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class NotificationStreamTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationStreamService streamService;
+
+    @Test
+    void onlyTheOwnerCanSubscribe() throws Exception {
+        User owner = userRepository.save(user("stream-owner"));
+        User other = userRepository.save(user("stream-other"));
+        String url = "/api/users/" + owner.getId() + "/notifications/stream";
+
+        mockMvc.perform(get(url)).andExpect(status().isUnauthorized());
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, bearer(other)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, bearer(owner)))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void reconnectReplaysTheWindowBeforeTheLastEventThenHeartbeats() throws Exception {
+        User user = userRepository.save(user("stream-replay"));
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<Notification> backlog = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            // The client saw up to the 50th; those before it are long outside the replay window.
+            LocalDateTime createdAt = i < 49 ? now.minusMinutes(30) : i == 49 ? now.minusMinutes(10) : now;
+            backlog.add(newNotification(user, "missed " + i, createdAt.plusNanos(i * 1000L)));
+        }
+        backlog = notificationRepository.saveAll(backlog);
+        Notification lastSeen = backlog.get(49);
+        // Created just before the last event the client saw, but committed after it with a higher id.
+        Notification late = notificationRepository.save(
+                newNotification(user, "late", lastSeen.getCreatedAt().minusSeconds(1)));
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/users/" + user.getId() + "/notifications/stream")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                        .header("Last-Event-ID", Cursors.encode(lastSeen.getCreatedAt(), lastSeen.getId())))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        String lastId = eventId(backlog.get(599));
+        awaitContent(response, content -> content.contains(lastId));
+        String content = response.getContentAsString();
+        assertEquals(551, content.split("event:notification", -1).length - 1);
+        assertTrue(content.indexOf(eventId(late)) < content.indexOf(eventId(backlog.get(50))));
+        assertTrue(content.indexOf(eventId(backlog.get(50))) < content.indexOf(lastId));
+        assertFalse(content.contains(eventId(lastSeen)));
+
+        streamService.sendHeartbeats();
+        awaitContent(response, text -> text.contains(":keepalive"));
+    }
+
+    @Test
+    void liveEventsAreNotDroppedForCommittingOutOfIdOrder() throws Exception {
+        User user = userRepository.save(user("stream-live"));
+        MockHttpServletResponse response = mockMvc.perform(get("/api/users/" + user.getId() + "/notifications/stream")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(user)))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        // Ids from another node's sequence block, committed in the opposite order.
+        LocalDateTime now = LocalDateTime.now();
+        NotificationMessage higher = new NotificationMessage(9_000_000L, user.getId(), "higher", now);
+        NotificationMessage lower = new NotificationMessage(5_000_000L, user.getId(), "lower", now);
+        streamService.deliver(higher);
+        streamService.deliver(lower);
+        streamService.deliver(higher);
+
+        awaitContent(response, content -> content.contains("\"lower\""));
+        String content = response.getContentAsString();
+        assertEquals(2, content.split("event:notification", -1).length - 1);
+        assertTrue(content.indexOf("\"higher\"") < content.indexOf("\"lower\""));
+    }
+
+    @Test
+    void rejectsAMalformedLastEventId() throws Exception {
+        User user = userRepository.save(user("stream-bad-cursor"));
+        mockMvc.perform(get("/api/users/" + user.getId() + "/notifications/stream")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                        .header("Last-Event-ID", "not a cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String eventId(Notification notification) {
+        return "id:" + Cursors.encode(notification.getCreatedAt(), notification.getId()) + "\n";
+    }
+
+    private static void awaitContent(MockHttpServletResponse response, Predicate<String> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.test(response.getContentAsString())) {
+            assertTrue(System.currentTimeMillis() < deadline, "stream did not deliver in time");
+            Thread.sleep(20);
+        }
+    }
+
+    private static Notification newNotification(User user, String message, LocalDateTime createdAt) {
+        Notification notification = new Notification();
+        notification.setUser(user);
+        notification.setMessage(message);
+        notification.setCreatedAt(createdAt);
+        return notification;
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + jwtUtils.generateToken(user.getUsername());
+    }
+}
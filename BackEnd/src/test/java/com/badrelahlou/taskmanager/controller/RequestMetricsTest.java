@@ -0,0 +1,46 @@
+package com.badrelahlou.taskmanager.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class RequestMetricsTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PrometheusMeterRegistry registry;
+
+    @Test
+    void recordsSqlStatementsPerEndpoint() throws Exception {
+        mockMvc.perform(get("/api/tasks?page=0&size=20")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks?page=0&size=20")).andExpect(status().isOk());
+
+        DistributionSummary statements = registry.get("taskmanager.sql.statements")
+                .tags("method", "GET", "uri", "/api/tasks")
+                .summary();
+        assertEquals(2, statements.count());
+        assertTrue(statements.totalAmount() >= 2);
+        assertTrue(registry.get("taskmanager.sql.time").tags("uri", "/api/tasks").timer().count() == 2);
+
+        String scrape = registry.scrape();
+        assertTrue(scrape.contains("taskmanager_sql_statements_bucket{"), "per-request SQL histogram");
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"), "endpoint latency histogram");
+        assertTrue(scrape.contains("hibernate_sessions_open_total"), "Hibernate statistics");
+        assertTrue(scrape.contains("hibernate_second_level_cache_requests"), "second-level cache statistics");
+    }
+}
@@ -0,0 +1,160 @@
+package com.badrelahlou.taskmanager.controller;
+
+import static com.badrelahlou.taskmanager.support.SqlStatementAssertions.assertMaxStatementCount;
+import static com.badrelahlou.taskmanager.support.SqlStatementAssertions.assertStatementCount;
+import static com.badrelahlou.taskmanager.support.SqlStatementAssertions.countStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.badrelahlou.taskmanager.model.Priority;
+import com.badrelahlou.taskmanager.model.Role;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+import com.badrelahlou.taskmanager.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskControllerQueryCountTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void listAndDetailIssueFixedNumberOfStatements() throws Exception {
+        Task root = seedChains("small", 3);
+        long listStatements = countStatements(() -> mockMvc.perform(get("/api/tasks?page=0&size=50"))
+                .andExpect(status().isOk()));
+        long detailStatements = countStatements(() -> mockMvc.perform(get("/api/tasks/" + root.getId()))
+                .andExpect(status().isOk()));
+
+        Task largerRoot = seedChains("large", 12);
+        assertStatementCount(listStatements, () -> mockMvc.perform(get("/api/tasks?page=0&size=50"))
+                .andExpect(status().isOk()));
+        assertStatementCount(detailStatements, () -> mockMvc.perform(get("/api/tasks/" + largerRoot.getId()))
+                .andExpect(status().isOk()));
+        assertMaxStatementCount(12, () -> mockMvc.perform(get("/api/tasks?page=0&size=50"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void cursorListingIssuesOneStatement() throws Exception {
+        seedChains("cursor", 2);
+        assertStatementCount(1, () -> mockMvc.perform(get("/api/tasks?limit=20"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void filteredListingIssuesOneStatement() throws Exception {
+        seedChains("filter", 2);
+        assertStatementCount(1, () -> mockMvc.perform(get("/api/tasks?status=TODO,IN_PROGRESS&priority=MEDIUM"
+                + "&createdFrom=2020-01-01T00:00:00&sort=endTime&limit=20"))
+                .andExpect(status().isOk()));
+        mockMvc.perform(get("/api/tasks?status=TODO&sort=title")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks?sort=createdAt")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks?limit=5&sort=createdAt")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void malformedCursorsAreRejected() throws Exception {
+        mockMvc.perform(get("/api/tasks?limit=5&after=!!!")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks?limit=5&sort=updatedAt&after=bm90LWEtY3Vyc29y"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks?status=TODO&sort=updatedAt&after=bm90LWEtY3Vyc29y"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void recencyListingIncludesTasksWithoutUpdatedAt() throws Exception {
+        Task stale = taskRepository.save(newTask("never-updated", seedUser("stale"), null, null));
+        jdbcTemplate.update("update tasks set updated_at = null where id = ?", stale.getId());
+        Task fresh = taskRepository.save(newTask("recently-updated", seedUser("fresh"), null, null));
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            String url = "/api/tasks?sort=updatedAt&limit=7" + (cursor != null ? "&after=" + cursor : "");
+            JsonNode page = objectMapper.readTree(mockMvc.perform(get(url)).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("items").forEach(row -> ids.add(row.get("id").asLong()));
+            cursor = page.hasNonNull("nextCursor") ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        assertEquals(taskRepository.count(), ids.size());
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        assertTrue(ids.indexOf(fresh.getId()) < ids.indexOf(stale.getId()));
+    }
+
+    @Test
+    void parentAssignedToAnotherUserIsSerialized() throws Exception {
+        Task parent = taskRepository.save(newTask("owner-parent", seedUser("owner"), null, null));
+        Task child = taskRepository.save(newTask("owner-child", seedUser("helper"), parent, null));
+        mockMvc.perform(get("/api/tasks/" + child.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.parentTask.assignedUser.username").value("owner-user"));
+        mockMvc.perform(get("/api/tasks?page=0&size=50")).andExpect(status().isOk());
+    }
+
+    // Each chain is a parent with one subtask that depends on the previous chain's parent.
+    private Task seedChains(String prefix, int chains) {
+        User user = seedUser(prefix);
+        Task previous = null;
+        for (int i = 0; i < chains; i++) {
+            Task parent = taskRepository.save(newTask(prefix + "-parent-" + i, user, null, previous));
+            taskRepository.save(newTask(prefix + "-child-" + i, user, parent, previous));
+            previous = parent;
+        }
+        return previous;
+    }
+
+    private User seedUser(String prefix) {
+        User user = new User();
+        user.setUsername(prefix + "-user");
+        user.setEmail(prefix + "@example.com");
+        user.setPasswordHash("hash");
+        user.setRole(Role.TEAM_MEMBER);
+        return userRepository.save(user);
+    }
+
+    private static Task newTask(String title, User user, Task parent, Task dependency) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStartTime(LocalDateTime.now());
+        task.setEndTime(LocalDateTime.now().plusDays(1));
+        task.setPriority(Priority.MEDIUM);
+        task.setStatus(TaskStatus.TODO);
+        task.setAssignedUser(user);
+        task.setParentTask(parent);
+        task.setDependencies(dependency != null ? List.of(dependency) : List.of());
+        return task;
+    }
+}
@@ -0,0 +1,67 @@
+package com.badrelahlou.taskmanager.controller;
+
+import static com.badrelahlou.taskmanager.support.TestFixtures.task;
+import static com.badrelahlou.taskmanager.support.TestFixtures.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.repository.UserRepository;
+import com.badrelahlou.taskmanager.service.JwtUtils;
+import com.badrelahlou.taskmanager.service.TaskService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TimeEntryControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void onlyTheOwnerCanUseTheirTimers() throws Exception {
+        User owner = userRepository.save(user("timer-owner"));
+        User other = userRepository.save(user("timer-other"));
+        Task task = taskService.createTask(task("guarded timer"), null);
+        String timers = "/api/users/" + owner.getId() + "/timers";
+
+        mockMvc.perform(post(timers + "/" + task.getId() + "/start")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get(timers)).andExpect(status().isUnauthorized());
+        mockMvc.perform(post(timers + "/" + task.getId() + "/start").header(HttpHeaders.AUTHORIZATION, bearer(other)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post(timers + "/" + task.getId() + "/start").header(HttpHeaders.AUTHORIZATION, bearer(owner)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post(timers + "/" + task.getId() + "/stop").header(HttpHeaders.AUTHORIZATION, bearer(other)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post(timers + "/" + task.getId() + "/stop").header(HttpHeaders.AUTHORIZATION, bearer(owner)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void legacyTimerEndpointsNeedASignedInCaller() throws Exception {
+        Task task = taskService.createTask(task("legacy guarded timer"), null);
+        mockMvc.perform(put("/api/tasks/" + task.getId() + "/start")).andExpect(status().isUnauthorized());
+        mockMvc.perform(put("/api/tasks/" + task.getId() + "/stop")).andExpect(status().isUnauthorized());
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + jwtUtils.generateToken(user.getUsername());
+    }
+}
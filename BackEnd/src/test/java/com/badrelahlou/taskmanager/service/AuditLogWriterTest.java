@@ -0,0 +1,145 @@
+package com.badrelahlou.taskmanager.service;
+
+import static com.badrelahlou.taskmanager.support.TestFixtures.task;
+import static com.badrelahlou.taskmanager.support.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.badrelahlou.taskmanager.model.AuditAction;
+import com.badrelahlou.taskmanager.model.AuditLog;
+import com.badrelahlou.taskmanager.model.Role;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.model.User;
+
+@SpringBootTest
+class AuditLogWriterTest {
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void mutationsAreWrittenOnFlushWithTheAuthenticatedUser() {
+        User actor = userService.createUser(user("auditor", Role.ADMIN));
+        authenticateAs(actor);
+        LocalDateTime from = LocalDateTime.now().minusMinutes(1);
+
+        Task task = taskService.createTask(task("audited task"), null);
+        taskService.assignTaskToUser(task.getId(), actor.getId());
+        taskService.addComment(task.getId(), actor.getId(), "looks good");
+        taskService.updateStatus(task.getId(), TaskStatus.IN_PROGRESS);
+        userService.updatePermissions(actor.getId(), List.of("READ"));
+        // Rolled back, so never buffered.
+        transactionTemplate.executeWithoutResult(status -> {
+            taskService.createTask(task("rolled back"), null);
+            status.setRollbackOnly();
+        });
+        assertTrue(auditLogWriter.pendingRecords() >= 5);
+
+        auditLogWriter.flush();
+        assertEquals(0, auditLogWriter.pendingRecords());
+        List<AuditLog> entries = userService.getAuditLog(actor.getId(), from, LocalDateTime.now().plusMinutes(1), 100);
+        Map<String, Long> entityByAction = new HashMap<>();
+        for (AuditLog entry : entries) {
+            entityByAction.put(entry.getAction(), entry.getEntityId());
+        }
+        assertEquals(5, entries.size());
+        assertEquals(Map.of(AuditAction.TASK_CREATED.name(), task.getId(), AuditAction.TASK_ASSIGNED.name(), task.getId(),
+                AuditAction.TASK_COMMENTED.name(), task.getId(), AuditAction.TASK_STATUS_CHANGED.name(), task.getId(),
+                AuditAction.USER_PERMISSIONS_CHANGED.name(), actor.getId()), entityByAction);
+        for (int i = 1; i < entries.size(); i++) {
+            assertFalse(entries.get(i).getTimestamp().isAfter(entries.get(i - 1).getTimestamp()));
+        }
+    }
+
+    @Test
+    void ringBufferRejectsWhenFullAndKeepsOrderUnderConcurrentProducers() throws Exception {
+        AuditRingBuffer small = new AuditRingBuffer(4);
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(small.offer(AuditAction.TASK_UPDATED, i, 0, 0));
+        }
+        assertFalse(small.offer(AuditAction.TASK_UPDATED, 5, 0, 0));
+        AuditRingBuffer.Slot slot = new AuditRingBuffer.Slot();
+        assertTrue(small.poll(slot));
+        assertEquals(1, slot.entityId);
+        assertTrue(small.offer(AuditAction.TASK_UPDATED, 5, 0, 0));
+
+        AuditRingBuffer buffer = new AuditRingBuffer(1024);
+        int producers = 8;
+        int perProducer = 10_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        Set<Long> seen = new HashSet<>();
+        long[] lastPerProducer = new long[producers];
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                futures.add(pool.submit(() -> {
+                    for (long i = 1; i <= perProducer; i++) {
+                        while (!buffer.offer(AuditAction.TASK_UPDATED, i, producer, 0)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }));
+            }
+            int received = 0;
+            while (received < producers * perProducer) {
+                if (buffer.poll(slot)) {
+                    int producer = (int) slot.userId;
+                    assertEquals(lastPerProducer[producer] + 1, slot.entityId);
+                    lastPerProducer[producer] = slot.entityId;
+                    seen.add(slot.userId * perProducer + slot.entityId);
+                    received++;
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(producers * perProducer, seen.size());
+        assertFalse(buffer.poll(slot));
+    }
+
+    private void authenticateAs(User user) {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getUsername(), List.of(),
+                Instant.now().plusSeconds(600));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
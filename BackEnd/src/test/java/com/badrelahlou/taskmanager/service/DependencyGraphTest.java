@@ -0,0 +1,169 @@
+package com.badrelahlou.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+
+class DependencyGraphTest {
+    private DependencyGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new DependencyGraph();
+        graph.putTask(1L, TaskStatus.DONE, 5L);
+        graph.putTask(2L, TaskStatus.TODO, 10L);
+        graph.putTask(3L, TaskStatus.TODO, 1L);
+        graph.putTask(4L, TaskStatus.TODO, 30L);
+        graph.setDependencies(2L, List.of(1L));
+        graph.setDependencies(3L, List.of(2L));
+        graph.setDependencies(4L, List.of(1L));
+    }
+
+    @Test
+    void rejectsCycles() {
+        assertThrows(RuntimeException.class, () -> graph.validateDependencies(1L, List.of(3L)));
+        assertThrows(RuntimeException.class, () -> graph.validateDependencies(2L, List.of(2L)));
+        graph.validateDependencies(3L, List.of(4L));
+    }
+
+    @Test
+    void ordersDependenciesFirst() {
+        List<Long> order = graph.getTopologicalOrder();
+        assertEquals(4, order.size());
+        assertTrue(order.indexOf(1L) < order.indexOf(2L));
+        assertTrue(order.indexOf(2L) < order.indexOf(3L));
+        assertTrue(order.indexOf(1L) < order.indexOf(4L));
+    }
+
+    @Test
+    void reportsBlockedTasksAndCriticalPath() {
+        assertEquals(List.of(3L), graph.getBlockedTaskIds());
+
+        CriticalPathDTO path = graph.getCriticalPath();
+        assertEquals(List.of(1L, 4L), path.getTaskIds());
+        assertEquals(35L, path.getTotalTimeSpent());
+
+        graph.removeTask(4L);
+        assertEquals(List.of(1L, 2L, 3L), graph.getCriticalPath().getTaskIds());
+    }
+
+    @Test
+    void concurrentReplacementsCannotCloseACycle() throws Exception {
+        graph.putTask(5L, TaskStatus.TODO, 1L);
+        graph.putTask(6L, TaskStatus.TODO, 1L);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 200; round++) {
+                graph.setDependencies(5L, List.of());
+                graph.setDependencies(6L, List.of());
+                CyclicBarrier barrier = new CyclicBarrier(2);
+                Future<Boolean> first = pool.submit(() -> tryReplace(barrier, 5L, 6L));
+                Future<Boolean> second = pool.submit(() -> tryReplace(barrier, 6L, 5L));
+                assertTrue(first.get() ^ second.get());
+                assertEquals(6, graph.getTopologicalOrder().size());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void rolledBackReplacementRestoresThePreviousEdges() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            graph.replaceDependencies(3L, List.of(4L));
+            assertThrows(RuntimeException.class, () -> graph.validateDependencies(4L, List.of(3L)));
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        graph.validateDependencies(4L, List.of(3L));
+        assertThrows(RuntimeException.class, () -> graph.validateDependencies(2L, List.of(3L)));
+    }
+
+    @Test
+    void reusesTheSlotsOfRemovedTasks() {
+        graph.removeTask(4L);
+        graph.removeTask(3L);
+        graph.putTask(5L, TaskStatus.TODO, 20L);
+        graph.putTask(6L, TaskStatus.TODO, 30L);
+        graph.setDependencies(6L, List.of(5L));
+
+        assertEquals(4, ReflectionTestUtils.getField(graph, "size"));
+        assertEquals(List.of(1L, 2L, 5L, 6L), graph.getTopologicalOrder().stream().sorted().toList());
+        assertEquals(List.of(5L, 6L), graph.getCriticalPath().getTaskIds());
+    }
+
+    @Test
+    void reportsCyclesLoadedFromTheDatabase() {
+        TaskRepository repository = mock(TaskRepository.class);
+        ReflectionTestUtils.setField(graph, "taskRepository", repository);
+        when(repository.findGraphNodes()).thenReturn(List.of(
+                node(1L), node(2L), node(3L), node(4L)));
+        when(repository.findDependencyEdges()).thenReturn(List.of(
+                new Object[] { 1L, 2L }, new Object[] { 2L, 1L }, new Object[] { 3L, 1L }));
+
+        graph.load();
+
+        RuntimeException order = assertThrows(RuntimeException.class, graph::getTopologicalOrder);
+        assertTrue(order.getMessage().contains("[1, 2, 3]"), order.getMessage());
+        assertThrows(RuntimeException.class, graph::getCriticalPath);
+        graph.setDependencies(2L, List.of());
+        assertEquals(4, graph.getTopologicalOrder().size());
+    }
+
+    @Test
+    void reloadReplacesTheGraphAndKeepsChangesMadeDuringIt() {
+        TaskRepository repository = mock(TaskRepository.class);
+        ReflectionTestUtils.setField(graph, "taskRepository", repository);
+        when(repository.findGraphNodes()).thenAnswer(invocation -> {
+            // A commit on this node while the rebuild reads the database.
+            graph.putTask(9L, TaskStatus.TODO, 1L);
+            graph.setDependencies(9L, List.of(7L));
+            graph.removeTask(8L);
+            return List.of(node(7L), node(8L));
+        });
+        when(repository.findDependencyEdges()).thenReturn(List.<Object[]>of(new Object[] { 8L, 7L }));
+
+        graph.load();
+
+        assertFalse(graph.containsTask(1L));
+        assertFalse(graph.containsTask(8L));
+        assertEquals(List.of(7L, 9L), graph.getTopologicalOrder());
+        assertThrows(RuntimeException.class, () -> graph.validateDependencies(7L, List.of(9L)));
+    }
+
+    private static Object[] node(Long id) {
+        return new Object[] { id, TaskStatus.TODO, 1L };
+    }
+
+    private boolean tryReplace(CyclicBarrier barrier, Long taskId, Long dependencyId) throws Exception {
+        barrier.await();
+        try {
+            graph.replaceDependencies(taskId, List.of(dependencyId));
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
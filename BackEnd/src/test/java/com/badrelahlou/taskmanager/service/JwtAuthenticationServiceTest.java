@@ -0,0 +1,118 @@
+package com.badrelahlou.taskmanager.service;
+
+import static com.badrelahlou.taskmanager.support.SqlStatementAssertions.assertStatementCount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.badrelahlou.taskmanager.model.Role;
+import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class JwtAuthenticationServiceTest {
+    @Autowired
+    private JwtAuthenticationService authenticationService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void cachesPrincipalsUntilTheUserChanges() throws Exception {
+        User user = newUser("jwt-member", Role.TEAM_MEMBER, List.of("task:read"));
+        String token = jwtUtils.generateToken(user.getUsername());
+
+        assertEquals(Set.of("ROLE_TEAM_MEMBER", "task:read"), authorities(authenticationService.authenticate(token)));
+        assertStatementCount(0, () -> authenticationService.authenticate(token));
+
+        userService.updatePermissions(user.getId(), List.of("task:read", "task:write"));
+        assertEquals(Set.of("ROLE_TEAM_MEMBER", "task:read", "task:write"),
+                authorities(authenticationService.authenticate(token)));
+
+        userService.deleteUser(user.getId());
+        assertNull(authenticationService.authenticate(token));
+        assertNull(authenticationService.authenticate(token + "x"));
+        assertNull(authenticationService.authenticate("not-a-token"));
+    }
+
+    @Test
+    void refusesToStartWithoutAStrongSecret() {
+        for (String secret : List.of("", "your-secret-key")) {
+            JwtUtils utils = new JwtUtils();
+            ReflectionTestUtils.setField(utils, "secret", secret);
+            assertThrows(IllegalStateException.class, utils::init);
+        }
+    }
+
+    @Test
+    void bearerTokensReachMethodSecurity() throws Exception {
+        String admin = jwtUtils.generateToken(newUser("jwt-admin", Role.ADMIN, List.of()).getUsername());
+        String member = jwtUtils.generateToken(newUser("jwt-plain", Role.TEAM_MEMBER, List.of()).getUsername());
+
+        mockMvc.perform(post("/api/reports/time/rebuild")).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/reports/time/rebuild").header("Authorization", "Bearer " + member))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/reports/time/rebuild").header("Authorization", "Bearer " + admin))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    @Test
+    void loginIssuesATokenThatAuthenticates() throws Exception {
+        User user = newUser("jwt-login", Role.ADMIN, List.of());
+        user.setPasswordHash(new BCryptPasswordEncoder(4).encode("secret"));
+        userRepository.save(user);
+
+        MvcResult login = mockMvc.perform(post("/api/users/login").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + user.getUsername() + "\",\"password\":\"secret\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(login)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = new ObjectMapper().readTree(body).get("token").asText();
+        assertEquals(user.getId(), authenticationService.authenticate(token).getId());
+    }
+
+    private User newUser(String prefix, Role role, List<String> permissions) {
+        User user = new User();
+        user.setUsername(prefix + "-" + System.nanoTime());
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setPasswordHash("hash");
+        user.setRole(role);
+        user.setPermissions(permissions);
+        return userRepository.save(user);
+    }
+
+    private static Set<String> authorities(AuthenticatedUser user) {
+        return user.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,112 @@
+package com.badrelahlou.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import com.badrelahlou.taskmanager.dto.NotificationMessage;
+import com.badrelahlou.taskmanager.model.NotificationOutbox;
+import com.badrelahlou.taskmanager.model.Role;
+import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.repository.NotificationOutboxRepository;
+import com.badrelahlou.taskmanager.repository.UserRepository;
+
+@SpringBootTest
+class NotificationRelayTest {
+    /** In-process broker stand-in: confirms every batch unless told to reject. */
+    static class InProcessBroker implements NotificationPublisher {
+        final List<NotificationMessage> delivered = new CopyOnWriteArrayList<>();
+        volatile boolean down;
+
+        @Override
+        public void publish(List<NotificationMessage> messages) {
+            if (down) {
+                throw new IllegalStateException("broker unavailable");
+            }
+            delivered.addAll(messages);
+        }
+    }
+
+    @TestConfiguration
+    static class BrokerConfig {
+        @Bean
+        @Primary
+        InProcessBroker inProcessBroker() {
+            return new InProcessBroker();
+        }
+    }
+
+    @Autowired
+    private InProcessBroker broker;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRelay relay;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        broker.delivered.clear();
+        broker.down = false;
+        user = userRepository.findByUsername("relay-user").orElseGet(() -> {
+            User u = new User();
+            u.setUsername("relay-user");
+            u.setEmail("relay@example.com");
+            u.setPasswordHash("hash");
+            u.setRole(Role.TEAM_MEMBER);
+            return userRepository.save(u);
+        });
+    }
+
+    @Test
+    void deliversOutboxInBatchesAndDeletesConfirmedRows() {
+        for (int i = 0; i < 450; i++) {
+            notificationService.createNotification(user, "message " + i);
+        }
+        assertEquals(450, outboxRepository.count());
+
+        relay.drain();
+
+        assertEquals(450, broker.delivered.size());
+        assertEquals("message 0", broker.delivered.get(0).getMessage());
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void keepsRowsAndBacksOffWhenBrokerIsDown() {
+        notificationService.createNotification(user, "retry me");
+        broker.down = true;
+
+        relay.drain();
+
+        List<NotificationOutbox> pending = outboxRepository.findAll();
+        assertEquals(1, pending.size());
+        assertEquals(1, pending.get(0).getAttempts());
+        assertTrue(pending.get(0).getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        broker.down = false;
+        relay.drain();
+        assertTrue(broker.delivered.isEmpty(), "row must wait for its backoff to expire");
+    }
+}
@@ -0,0 +1,160 @@
+package com.badrelahlou.taskmanager.service;
+
+import static com.badrelahlou.taskmanager.support.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.badrelahlou.taskmanager.dto.CursorPage;
+import com.badrelahlou.taskmanager.dto.NotificationMessage;
+import com.badrelahlou.taskmanager.event.NotificationCreatedEvent;
+import com.badrelahlou.taskmanager.model.Notification;
+import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.repository.NotificationRepository;
+import com.badrelahlou.taskmanager.repository.UserRepository;
+
+@SpringBootTest
+class NotificationServiceTest {
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void unreadCountFollowsCommittedMarkReadOnly() {
+        User user = userRepository.save(user("inbox-counted"));
+        for (int i = 0; i < 3; i++) {
+            notificationService.createNotification(user, "note " + i);
+        }
+        assertEquals(3, notificationService.getUnreadCount(user.getId()));
+        List<Long> ids = notificationRepository.findByUser_Id(user.getId()).stream().map(Notification::getId).toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertEquals(2, notificationService.markRead(user.getId(), ids.subList(0, 2)));
+            status.setRollbackOnly();
+        });
+        assertEquals(3, notificationService.getUnreadCount(user.getId()));
+
+        assertEquals(2, notificationService.markRead(user.getId(), ids.subList(0, 2)));
+        assertEquals(1, notificationService.getUnreadCount(user.getId()));
+        assertEquals(1, notificationService.markAllRead(user.getId()));
+        assertEquals(0, notificationService.getUnreadCount(user.getId()));
+    }
+
+    @Test
+    void unreadCountLoadedWhileANotificationCommitsIsNotCached() {
+        UnreadNotificationCounters counters = new UnreadNotificationCounters();
+        NotificationRepository repository = mock(NotificationRepository.class);
+        ReflectionTestUtils.setField(counters, "notificationRepository", repository);
+        // The first query misses a notification that commits while it runs.
+        when(repository.countByUser_IdAndIsReadFalse(7L)).thenAnswer(invocation -> {
+            counters.onNotificationCreated(new NotificationCreatedEvent(
+                    new NotificationMessage(1L, 7L, "late", LocalDateTime.now())));
+            return 3L;
+        }).thenReturn(4L);
+
+        assertEquals(3, counters.get(7L));
+        assertEquals(4, counters.get(7L));
+        assertEquals(4, counters.get(7L));
+        verify(repository, times(2)).countByUser_IdAndIsReadFalse(7L);
+    }
+
+    @Test
+    void reconcileCorrectsCountersInPlaceAndDropsUnreadOnes() {
+        UnreadNotificationCounters counters = new UnreadNotificationCounters();
+        NotificationRepository repository = mock(NotificationRepository.class);
+        ReflectionTestUtils.setField(counters, "notificationRepository", repository);
+        when(repository.countByUser_IdAndIsReadFalse(7L)).thenReturn(3L);
+        when(repository.countByUser_IdAndIsReadFalse(8L)).thenReturn(1L);
+        assertEquals(3, counters.get(7L));
+        assertEquals(1, counters.get(8L));
+        // Read on another node: this node's counter for 7 drifted.
+        when(repository.countUnreadByUsers(anyCollection())).thenAnswer(invocation -> {
+            // 8 gets a notification while the query runs, which may or may not have seen it.
+            counters.onNotificationCreated(new NotificationCreatedEvent(
+                    new NotificationMessage(1L, 8L, "late", LocalDateTime.now())));
+            return List.<Object[]>of(new Object[] { 7L, 1L }, new Object[] { 8L, 1L });
+        });
+
+        counters.reconcile();
+        assertEquals(1, counters.get(7L));
+        assertEquals(2, counters.get(8L));
+        verify(repository, times(1)).countByUser_IdAndIsReadFalse(7L);
+
+        // Not read between two runs: dropped, and loaded again on the next read.
+        counters.reconcile();
+        counters.reconcile();
+        assertEquals(3, counters.get(7L));
+        verify(repository, times(2)).countByUser_IdAndIsReadFalse(7L);
+    }
+
+    @Test
+    void inboxPagesNewestFirstAndFiltersUnread() {
+        User user = userRepository.save(user("inbox-paged"));
+        for (int i = 0; i < 5; i++) {
+            notificationService.createNotification(user, "page " + i);
+        }
+        List<Long> ids = notificationRepository.findByUser_Id(user.getId()).stream().map(Notification::getId)
+                .sorted(Comparator.reverseOrder()).toList();
+        notificationService.markRead(user.getId(), List.of(ids.get(4)));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Notification> page = notificationService.getInbox(user.getId(), false, cursor, 2);
+            page.getItems().forEach(n -> seen.add(n.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(ids, seen);
+
+        CursorPage<Notification> unread = notificationService.getInbox(user.getId(), true, null, 10);
+        assertEquals(4, unread.getItems().size());
+        assertNull(unread.getNextCursor());
+    }
+
+    @Test
+    void purgeDeletesOnlyReadNotificationsPastRetention() {
+        User user = userRepository.save(user("inbox-purged"));
+        Notification oldRead = save(user, LocalDateTime.now().minusDays(400), true);
+        Notification oldUnread = save(user, LocalDateTime.now().minusDays(400), false);
+        Notification recentRead = save(user, LocalDateTime.now(), true);
+
+        notificationService.purgeReadNotifications();
+
+        assertTrue(notificationRepository.findById(oldRead.getId()).isEmpty());
+        assertTrue(notificationRepository.findById(oldUnread.getId()).isPresent());
+        assertTrue(notificationRepository.findById(recentRead.getId()).isPresent());
+    }
+
+    private Notification save(User user, LocalDateTime createdAt, boolean read) {
+        Notification notification = new Notification();
+        notification.setUser(user);
+        notification.setMessage("retention");
+        notification.setCreatedAt(createdAt);
+        notification.setRead(read);
+        return notificationRepository.save(notification);
+    }
+}
@@ -0,0 +1,65 @@
+package com.badrelahlou.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class PasswordHashingServiceTest {
+    @Test
+    void refusesWorkOnceTheQueueIsFull() throws Exception {
+        PasswordHashingService service = new PasswordHashingService();
+        ReflectionTestUtils.setField(service, "threads", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 1);
+        service.init();
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Integer> running = service.submit(() -> await(release, 1));
+            CompletableFuture<Integer> queued = service.submit(() -> await(release, 2));
+            while (service.getQueueDepth() < 1) {
+                Thread.onSpinWait();
+            }
+            assertThrows(RejectedExecutionException.class, () -> service.submit(() -> 3));
+            assertEquals(1, service.getRejected());
+
+            release.countDown();
+            assertEquals(3, running.get() + queued.get());
+            assertEquals(2, service.getHashing().getCount());
+            assertEquals(2, service.submit(() -> 2).get());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void reportsPercentilesWithinBucketPrecision() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int i = 1; i <= 1000; i++) {
+            recorder.record(i * 1_000_000L);
+        }
+        LatencySnapshot snapshot = recorder.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1_000_000, snapshot.getMaxMicros());
+        assertWithin(500_000, snapshot.getP50Micros());
+        assertWithin(990_000, snapshot.getP99Micros());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.125, expected + " vs " + actual);
+    }
+
+    private static int await(CountDownLatch latch, int value) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
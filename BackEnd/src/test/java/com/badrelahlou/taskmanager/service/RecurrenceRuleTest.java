@@ -0,0 +1,80 @@
+package com.badrelahlou.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RecurrenceRuleTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 31, 9, 30);
+
+    @Test
+    void expandsCommonRules() {
+        assertEquals(List.of(at(2024, 1, 31), at(2024, 2, 2), at(2024, 2, 4)),
+                occurrences("FREQ=DAILY;INTERVAL=2", 3));
+        assertEquals(List.of(at(2024, 2, 1), at(2024, 2, 2), at(2024, 2, 5)),
+                occurrences("RRULE:FREQ=WEEKLY;BYDAY=MO,TH,FR", 3));
+        // Months without a 31st are skipped rather than clamped.
+        assertEquals(List.of(at(2024, 1, 31), at(2024, 3, 31), at(2024, 5, 31)),
+                occurrences("FREQ=MONTHLY", 3));
+        assertEquals(List.of(at(2024, 2, 23), at(2024, 3, 29), at(2024, 4, 26)),
+                occurrences("FREQ=MONTHLY;BYDAY=-1FR", 3));
+        assertEquals(List.of(at(2024, 2, 29), at(2028, 2, 29)),
+                occurrences("FREQ=YEARLY;BYMONTH=2;BYMONTHDAY=29", 2));
+    }
+
+    @Test
+    void honoursCountAndUntil() {
+        assertEquals(3, occurrences("FREQ=DAILY;COUNT=3", 10).size());
+        assertEquals(List.of(at(2024, 1, 31), at(2024, 2, 1)), occurrences("FREQ=DAILY;UNTIL=20240201", 10));
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;COUNT=2");
+        assertNull(rule.next(START, START.plusWeeks(1)));
+        assertEquals(START.plusWeeks(520), RecurrenceRule.parse("FREQ=WEEKLY").next(START, START.plusWeeks(519)));
+    }
+
+    @Test
+    void followingContinuesFromTheStoredPosition() {
+        for (String text : List.of("FREQ=WEEKLY;BYDAY=MO,TH,FR;COUNT=10", "FREQ=MONTHLY;COUNT=6", "FREQ=DAILY;INTERVAL=2")) {
+            RecurrenceRule rule = RecurrenceRule.parse(text);
+            List<LocalDateTime> expected = occurrences(text, 12);
+            List<LocalDateTime> actual = new ArrayList<>();
+            RecurrenceRule.Occurrence occurrence = rule.nextOccurrence(START, START.minusSeconds(1));
+            while (occurrence != null && actual.size() < 12) {
+                if (text.contains("COUNT")) {
+                    assertEquals(actual.size(), occurrence.getIndex(), text);
+                }
+                actual.add(occurrence.getAt());
+                occurrence = rule.following(START, occurrence);
+            }
+            assertEquals(expected, actual, text);
+        }
+    }
+
+    @Test
+    void rejectsUnsupportedRules() {
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=HOURLY"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=MONTHLY;BYSETPOS=1"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;COUNT=2;UNTIL=20250101"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("INTERVAL=2"));
+        assertNull(RecurrenceRule.parse("FREQ=YEARLY;BYMONTH=2;BYMONTHDAY=30").next(START, START));
+    }
+
+    private static List<LocalDateTime> occurrences(String rule, int limit) {
+        RecurrenceRule compiled = RecurrenceRule.parse(rule);
+        List<LocalDateTime> result = new ArrayList<>();
+        LocalDateTime after = START.minusSeconds(1);
+        while (result.size() < limit && (after = compiled.next(START, after)) != null) {
+            result.add(after);
+        }
+        return result;
+    }
+
+    private static LocalDateTime at(int year, int month, int day) {
+        return LocalDateTime.of(year, month, day, 9, 30);
+    }
+}
@@ -0,0 +1,89 @@
+package com.badrelahlou.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.badrelahlou.taskmanager.model.Priority;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+
+@SpringBootTest
+class RecurrenceSchedulerTest {
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private RecurrenceScheduler recurrenceScheduler;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void generatesDueInstancesAndAdvancesTheSource() {
+        LocalDateTime start = LocalDateTime.now().minusDays(3).withNano(0);
+        Task source = new Task();
+        source.setTitle("daily standup");
+        source.setPriority(Priority.LOW);
+        source.setStartTime(start);
+        source.setEndTime(start.plusMinutes(15));
+        source.setRecurrenceRule("FREQ=DAILY");
+        source = taskService.createTask(source, null);
+        assertEquals(start.plusDays(4), source.getNextOccurrence());
+
+        // Pretend the timer was down for two days.
+        taskRepository.updateNextOccurrence(source.getId(), start.plusDays(2), null);
+        int generated = recurrenceScheduler.generateDue(LocalDateTime.now());
+
+        List<Task> instances = taskRepository.findAll().stream()
+                .filter(t -> "daily standup".equals(t.getTitle()) && t.getRecurrenceRule() == null)
+                .toList();
+        assertTrue(generated >= 2);
+        assertEquals(2, instances.size());
+        for (Task instance : instances) {
+            assertEquals(TaskStatus.TODO, instance.getStatus());
+            assertEquals(instance.getStartTime().plusMinutes(15), instance.getEndTime());
+        }
+        Task reloaded = taskRepository.findById(source.getId()).orElseThrow();
+        assertEquals(TaskStatus.TODO, reloaded.getStatus());
+        assertEquals(start.plusDays(4), reloaded.getNextOccurrence());
+    }
+
+    @Test
+    void countedSeriesContinueFromTheStoredIndexAndEnd() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        LocalDateTime start = now.minusDays(3).plusHours(1);
+        Task source = new Task();
+        source.setTitle("counted review");
+        source.setPriority(Priority.LOW);
+        source.setStartTime(start);
+        source.setEndTime(start.plusMinutes(30));
+        source.setRecurrenceRule("FREQ=DAILY;COUNT=4");
+        source = taskService.createTask(source, null);
+        assertEquals(start.plusDays(3), source.getNextOccurrence());
+        assertEquals(3, source.getOccurrenceIndex());
+
+        taskRepository.updateNextOccurrence(source.getId(), start.plusDays(1), 1);
+        assertEquals(2, recurrenceScheduler.generateDue(now));
+        Task reloaded = taskRepository.findById(source.getId()).orElseThrow();
+        assertEquals(start.plusDays(3), reloaded.getNextOccurrence());
+        assertEquals(3, reloaded.getOccurrenceIndex());
+
+        assertEquals(1, recurrenceScheduler.generateDue(now.plusHours(2)));
+        reloaded = taskRepository.findById(source.getId()).orElseThrow();
+        assertNull(reloaded.getNextOccurrence());
+        assertNull(reloaded.getOccurrenceIndex());
+        List<LocalDateTime> instances = taskRepository.findAll().stream()
+                .filter(t -> "counted review".equals(t.getTitle()) && t.getRecurrenceRule() == null)
+                .map(Task::getStartTime).sorted().toList();
+        assertEquals(List.of(start.plusDays(1), start.plusDays(2), start.plusDays(3)), instances);
+    }
+}
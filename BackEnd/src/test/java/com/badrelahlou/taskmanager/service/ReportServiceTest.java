@@ -0,0 +1,77 @@
+package com.badrelahlou.taskmanager.service;
+
+import static com.badrelahlou.taskmanager.support.TestFixtures.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.badrelahlou.taskmanager.model.Priority;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+
+@SpringBootTest
+class ReportServiceTest {
+    // Any filter sends the report to the tasks table instead of the rollup.
+    private static final LocalDateTime EVER = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void rollupFollowsCommittedChanges() {
+        reportService.scheduleRebuild();
+        reportService.refreshRollup();
+        Task task = taskService.createTask(task("reported task", Priority.HIGH), null);
+        taskService.updateStatus(task.getId(), TaskStatus.DONE);
+        taskService.createTask(task("open task", Priority.HIGH), null);
+
+        reportService.refreshRollup();
+        assertSameTotals(reportService.getTaskCompletionReport(EVER, null, null, null),
+                reportService.getTaskCompletionReport(null, null, null, null));
+    }
+
+    @Test
+    void concurrentRebuildsDoNotDuplicateRows() throws Exception {
+        taskService.createTask(task("rebuilt task", Priority.HIGH), null);
+        int nodes = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(nodes);
+        try {
+            CyclicBarrier barrier = new CyclicBarrier(nodes);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < nodes; i++) {
+                futures.add(pool.submit(() -> {
+                    barrier.await();
+                    reportService.rebuildRollup();
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertSameTotals(reportService.getTaskCompletionReport(EVER, null, null, null),
+                reportService.getTaskCompletionReport(null, null, null, null));
+    }
+
+    private static void assertSameTotals(Map<String, Object> expected, Map<String, Object> actual) {
+        for (String total : List.of("totalTasks", "completedTasks", "inProgressTasks", "todoTasks")) {
+            assertEquals(expected.get(total), actual.get(total), total);
+        }
+    }
+}
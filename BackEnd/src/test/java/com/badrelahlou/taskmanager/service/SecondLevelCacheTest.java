@@ -0,0 +1,103 @@
+package com.badrelahlou.taskmanager.service;
+
+import static com.badrelahlou.taskmanager.support.SqlStatementAssertions.assertStatementCount;
+import static com.badrelahlou.taskmanager.support.SqlStatementAssertions.countStatements;
+import static com.badrelahlou.taskmanager.support.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.badrelahlou.taskmanager.dto.CacheRegionStats;
+import com.badrelahlou.taskmanager.model.Priority;
+import com.badrelahlou.taskmanager.model.Resource;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.repository.ResourceRepository;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+import com.badrelahlou.taskmanager.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class SecondLevelCacheTest {
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void repeatedUserReadsAreServedFromTheCache() throws Exception {
+        User user = userRepository.save(user("cached-" + System.nanoTime()));
+        entityManagerFactory.getCache().evictAll();
+        long hitsBefore = regionStats("users").getHits();
+        long queryHitsBefore = regionStats("default-query-results-region").getHits();
+
+        assertStatementCount(1, () -> userRepository.findById(user.getId()));
+        assertStatementCount(0, () -> userRepository.findById(user.getId()));
+        assertStatementCount(1, () -> userRepository.findByUsername(user.getUsername()));
+        assertStatementCount(0, () -> userRepository.findByUsername(user.getUsername()));
+        assertTrue(regionStats("users").getHits() > hitsBefore);
+        assertTrue(regionStats("default-query-results-region").getHits() > queryHitsBefore);
+
+        // A write through Hibernate refreshes the entry and invalidates cached query results.
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        stored.setEmail("changed-" + user.getEmail());
+        userRepository.save(stored);
+        assertEquals(stored.getEmail(), userRepository.findById(user.getId()).orElseThrow().getEmail());
+        assertEquals(stored.getEmail(), userRepository.findByUsername(user.getUsername()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void assigningResourcesReadsThemFromTheCache() throws Exception {
+        List<Long> resourceIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Resource resource = new Resource();
+            resource.setName("resource-" + i);
+            resource.setAvailable(true);
+            resourceIds.add(resourceRepository.save(resource).getId());
+        }
+        Task task = new Task();
+        task.setTitle("cached resources");
+        task.setPriority(Priority.MEDIUM);
+        task.setStatus(TaskStatus.TODO);
+        task.setStartTime(LocalDateTime.now());
+        task.setEndTime(LocalDateTime.now().plusDays(1));
+        Long taskId = taskRepository.save(task).getId();
+        taskService.assignResources(taskId, resourceIds);
+
+        entityManagerFactory.getCache().evictAll();
+        long cold = countStatements(() -> taskService.assignResources(taskId, resourceIds));
+        long warm = countStatements(() -> taskService.assignResources(taskId, resourceIds));
+
+        assertTrue(warm < cold, "cold " + cold + ", warm " + warm);
+        assertEquals(5, taskService.assignResources(taskId, resourceIds).getResources().size());
+    }
+
+    private CacheRegionStats regionStats(String region) {
+        return cacheStatisticsService.getRegionStats().stream()
+                .filter(stats -> stats.getRegion().equals(region))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,102 @@
+package com.badrelahlou.taskmanager.service;
+
+import static com.badrelahlou.taskmanager.support.TestFixtures.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.badrelahlou.taskmanager.dto.TaskBatchOperation;
+import com.badrelahlou.taskmanager.dto.TaskBatchResult;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+
+@SpringBootTest
+class TaskBatchServiceTest {
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    @Autowired
+    private DependencyGraph dependencyGraph;
+
+    @Test
+    void failingOperationsDoNotRollBackTheRestOfTheChunk() {
+        Task existing = taskService.createTask(task("batch existing"), null);
+        Task renamed = task("quillwort renamed");
+        renamed.setStatus(TaskStatus.IN_PROGRESS);
+
+        List<TaskBatchResult> results = taskBatchService.execute(List.of(
+                create(task("marshwort created")),
+                status(-1L, TaskStatus.DONE),
+                // Fails only when the chunk is flushed.
+                create(task(null)),
+                update(existing.getId(), renamed),
+                create(task("bladderwort created"))));
+
+        assertEquals(List.of(true, false, false, true, true), results.stream().map(TaskBatchResult::isSuccess).toList());
+        Long created = results.get(0).getTaskId();
+        assertEquals("marshwort created", taskRepository.findById(created).orElseThrow().getTitle());
+        assertEquals(TaskStatus.IN_PROGRESS, taskRepository.findById(existing.getId()).orElseThrow().getStatus());
+        assertTrue(taskRepository.existsById(results.get(4).getTaskId()));
+        assertTrue(dependencyGraph.containsTask(created));
+
+        // Only the replayed, committed writes reach the in-memory index.
+        assertEquals(List.of(created), hitIds("marshwort"));
+        assertEquals(List.of(existing.getId()), hitIds("quillwort"));
+    }
+
+    @Test
+    void rolledBackChunkLeavesNoPartialWrites() {
+        List<TaskBatchResult> results = taskBatchService.execute(List.of(
+                create(task("sundew created")),
+                status(-2L, TaskStatus.DONE)));
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        long sundews = taskRepository.findAll().stream().filter(t -> "sundew created".equals(t.getTitle())).count();
+        assertEquals(1, sundews);
+        assertEquals(List.of(results.get(0).getTaskId()), hitIds("sundew"));
+    }
+
+    private List<Long> hitIds(String word) {
+        return searchIndex.search(word, 10).stream().map(TaskSearchIndex.Hit::getTaskId).toList();
+    }
+
+    private static TaskBatchOperation create(Task task) {
+        TaskBatchOperation operation = new TaskBatchOperation();
+        operation.setType(TaskBatchOperation.Type.CREATE);
+        operation.setTask(task);
+        return operation;
+    }
+
+    private static TaskBatchOperation update(Long taskId, Task task) {
+        TaskBatchOperation operation = new TaskBatchOperation();
+        operation.setType(TaskBatchOperation.Type.UPDATE);
+        operation.setTaskId(taskId);
+        operation.setTask(task);
+        return operation;
+    }
+
+    private static TaskBatchOperation status(Long taskId, TaskStatus status) {
+        TaskBatchOperation operation = new TaskBatchOperation();
+        operation.setType(TaskBatchOperation.Type.STATUS);
+        operation.setTaskId(taskId);
+        operation.setStatus(status);
+        return operation;
+    }
+}
@@ -0,0 +1,114 @@
+package com.badrelahlou.taskmanager.service;
+
+import static com.badrelahlou.taskmanager.support.TestFixtures.task;
+import static com.badrelahlou.taskmanager.support.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.badrelahlou.taskmanager.event.TaskChangedEvent;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+
+@SpringBootTest
+class TaskCountersTest {
+    @Autowired
+    private TaskCounters taskCounters;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void countsCommittedChangesOnly() {
+        User user = userService.createUser(user("counted"));
+        Task task = taskService.createTask(task("counted task"), null);
+        taskService.assignTaskToUser(task.getId(), user.getId());
+        transactionTemplate.executeWithoutResult(status -> {
+            taskService.updateStatus(task.getId(), TaskStatus.DONE);
+            status.setRollbackOnly();
+        });
+
+        DashboardDTO counts = taskCounters.getUserCounts(user.getId());
+        assertEquals(1, counts.getTodoCount());
+        assertEquals(0, counts.getDoneCount());
+    }
+
+    @Test
+    void reconcileCorrectsDriftAndKeepsLaterChanges() {
+        User user = userService.createUser(user("reconciled"));
+        Task task = taskService.createTask(task("reconciled task"), null);
+        taskService.assignTaskToUser(task.getId(), user.getId());
+        // Counted twice, as if an event were delivered again.
+        taskCounters.onTaskChanged(new TaskChangedEvent(task.getId(), null, null, user.getId(), TaskStatus.TODO));
+        assertEquals(2, taskCounters.getUserCounts(user.getId()).getTodoCount());
+
+        taskCounters.reconcile();
+        assertEquals(1, taskCounters.getUserCounts(user.getId()).getTodoCount());
+
+        taskService.updateStatus(task.getId(), TaskStatus.IN_PROGRESS);
+        taskCounters.reconcile();
+        DashboardDTO counts = taskCounters.getUserCounts(user.getId());
+        assertEquals(0, counts.getTodoCount());
+        assertEquals(1, counts.getInProgressCount());
+    }
+
+    @Test
+    void reconcileLeavesUsersThatChangedDuringTheQueryAlone() {
+        TaskCounters counters = new TaskCounters();
+        TaskRepository repository = mock(TaskRepository.class);
+        ReflectionTestUtils.setField(counters, "taskRepository", repository);
+        counters.onTaskChanged(new TaskChangedEvent(1L, null, null, 7L, TaskStatus.TODO));
+        // The move commits while the query runs and the query already sees it.
+        when(repository.countByAssignedUserAndStatus()).thenAnswer(invocation -> {
+            counters.onTaskChanged(new TaskChangedEvent(1L, 7L, TaskStatus.TODO, 7L, TaskStatus.IN_PROGRESS));
+            return List.<Object[]>of(new Object[] { 7L, TaskStatus.IN_PROGRESS, 1L });
+        });
+
+        counters.reconcile();
+        DashboardDTO counts = counters.getUserCounts(7L);
+        assertEquals(0, counts.getTodoCount());
+        assertEquals(1, counts.getInProgressCount());
+    }
+
+    @Test
+    void firstReadLoadsTheCountsAndQuietUsersAreForgotten() {
+        TaskCounters counters = new TaskCounters();
+        TaskRepository repository = mock(TaskRepository.class);
+        ReflectionTestUtils.setField(counters, "taskRepository", repository);
+        when(repository.countByAssignedUserAndStatus()).thenAnswer(invocation -> {
+            counters.onTaskChanged(new TaskChangedEvent(2L, null, null, 8L, TaskStatus.TODO));
+            return List.<Object[]>of(new Object[] { 7L, TaskStatus.TODO, 3L }, new Object[] { 8L, TaskStatus.TODO, 1L });
+        });
+
+        assertEquals(3, counters.getUserCounts(7L).getTodoCount());
+        assertEquals(1, counters.getUserCounts(8L).getTodoCount());
+        Map<?, ?> activity = (Map<?, ?>) ReflectionTestUtils.getField(counters, "activity");
+        // 8 changed during the run, so it is kept for the next one, which finds it quiet.
+        assertTrue(activity.containsKey(8L));
+        assertFalse(activity.containsKey(7L));
+        when(repository.countByAssignedUserAndStatus()).thenReturn(
+                List.<Object[]>of(new Object[] { 7L, TaskStatus.TODO, 3L }, new Object[] { 8L, TaskStatus.TODO, 2L }));
+        counters.reconcile();
+        assertEquals(2, counters.getUserCounts(8L).getTodoCount());
+        assertTrue(activity.isEmpty());
+    }
+}
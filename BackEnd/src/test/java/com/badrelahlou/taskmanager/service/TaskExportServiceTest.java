@@ -0,0 +1,152 @@
+package com.badrelahlou.taskmanager.service;
+
+import static com.badrelahlou.taskmanager.support.TestFixtures.task;
+import static com.badrelahlou.taskmanager.support.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.badrelahlou.taskmanager.model.Priority;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+import com.badrelahlou.taskmanager.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+class TaskExportServiceTest {
+    private static final String[] TITLES = {
+        "plain",
+        "commas, in, the title",
+        "say \"hello\"",
+        "two\nlines",
+        "\"quoted\", then\r\nmore",
+    };
+
+    @Autowired
+    private TaskExportService exportService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User assignee;
+    private List<Task> tasks;
+
+    @BeforeEach
+    void setUp() {
+        assignee = userRepository.save(user("export-" + System.nanoTime()));
+        tasks = new ArrayList<>();
+        for (int i = 0; i < TITLES.length; i++) {
+            Task task = task(TITLES[i], i % 2 == 0 ? Priority.HIGH : Priority.LOW);
+            task.setDescription("description " + i);
+            task.setStatus(i < 3 ? TaskStatus.TODO : TaskStatus.DONE);
+            task.setAssignedUser(assignee);
+            tasks.add(taskRepository.save(task));
+        }
+    }
+
+    @Test
+    void csvQuotesAwkwardValuesSoEveryRowParsesBack() {
+        List<List<String>> rows = parseCsv(export(TaskExportService.CSV, null, null));
+
+        assertEquals(List.of("id", "title", "description", "status", "priority", "assignedUserId", "timeSpent",
+                "endTime", "updatedAt"), rows.get(0));
+        assertEquals(TITLES.length + 1, rows.size());
+        for (int i = 0; i < TITLES.length; i++) {
+            List<String> row = rows.get(i + 1);
+            Task task = tasks.get(i);
+            assertEquals(9, row.size());
+            assertEquals(task.getId().toString(), row.get(0));
+            assertEquals(TITLES[i], row.get(1));
+            assertEquals("description " + i, row.get(2));
+            assertEquals(task.getStatus().name(), row.get(3));
+            assertEquals(task.getPriority().name(), row.get(4));
+            assertEquals(assignee.getId().toString(), row.get(5));
+        }
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws Exception {
+        String output = export(TaskExportService.NDJSON, null, null);
+        String[] lines = output.split("\n");
+
+        assertEquals(TITLES.length, lines.length);
+        for (int i = 0; i < TITLES.length; i++) {
+            JsonNode row = objectMapper.readTree(lines[i]);
+            assertEquals(tasks.get(i).getId().longValue(), row.get("id").asLong());
+            assertEquals(TITLES[i], row.get("title").asText());
+            assertEquals(assignee.getId().longValue(), row.get("assignedUserId").asLong());
+        }
+    }
+
+    @Test
+    void appliesTheFilters() throws Exception {
+        List<List<String>> done = parseCsv(export(TaskExportService.CSV, TaskStatus.DONE, null));
+        assertEquals(List.of(tasks.get(3).getId().toString(), tasks.get(4).getId().toString()),
+                done.subList(1, done.size()).stream().map(row -> row.get(0)).toList());
+
+        String highTodo = export(TaskExportService.NDJSON, TaskStatus.TODO, Priority.HIGH);
+        List<Long> ids = new ArrayList<>();
+        for (String line : highTodo.split("\n")) {
+            ids.add(objectMapper.readTree(line).get("id").asLong());
+        }
+        assertEquals(List.of(tasks.get(0).getId(), tasks.get(2).getId()), ids);
+    }
+
+    // Scoped to this test's assignee so tasks left by other tests do not show up.
+    private String export(String format, TaskStatus status, Priority priority) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(format, status, priority, assignee.getId(), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    // RFC 4180: quoted fields may hold commas, doubled quotes and line breaks.
+    private static List<List<String>> parseCsv(String text) {
+        List<List<String>> rows = new ArrayList<>();
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                row.add(field.toString());
+                field.setLength(0);
+                rows.add(row);
+                row = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,149 @@
+package com.badrelahlou.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.badrelahlou.taskmanager.dto.CursorPage;
+import com.badrelahlou.taskmanager.dto.TaskFilter;
+import com.badrelahlou.taskmanager.dto.TaskSummary;
+import com.badrelahlou.taskmanager.model.Priority;
+import com.badrelahlou.taskmanager.model.Role;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+import com.badrelahlou.taskmanager.repository.UserRepository;
+
+@SpringBootTest
+class TaskQueryServiceTest {
+    private static final LocalDateTime DUE = LocalDateTime.of(2030, 5, 1, 12, 0);
+
+    @Autowired
+    private TaskQueryService taskQueryService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private List<Task> tasks;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("query-user-" + System.nanoTime());
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setPasswordHash("hash");
+        user.setRole(Role.TEAM_MEMBER);
+        user = userRepository.save(user);
+
+        tasks = new ArrayList<>();
+        TaskStatus[] statuses = TaskStatus.values();
+        Priority[] priorities = Priority.values();
+        for (int i = 0; i < 12; i++) {
+            Task task = new Task();
+            task.setTitle("query-" + i);
+            task.setStartTime(DUE.minusDays(10));
+            // Pairs share a due date so the id tiebreaker is exercised.
+            task.setEndTime(DUE.plusDays(6 - i / 2));
+            task.setStatus(statuses[i % statuses.length]);
+            task.setPriority(priorities[i / statuses.length % priorities.length]);
+            task.setAssignedUser(user);
+            tasks.add(taskRepository.save(task));
+        }
+    }
+
+    @Test
+    void filtersInTheDatabaseAndPagesByKeyset() {
+        TaskFilter filter = new TaskFilter();
+        filter.setAssignee(user.getId());
+        filter.setOpen(true);
+        List<Task> expected = tasks.stream()
+                .filter(t -> t.getStatus() != TaskStatus.DONE)
+                .sorted(Comparator.comparing(Task::getEndTime).thenComparing(Task::getId))
+                .toList();
+
+        assertEquals(ids(expected), collect(filter, "endTime", null));
+        List<Task> reversed = new ArrayList<>(expected);
+        Collections.reverse(reversed);
+        assertEquals(ids(reversed), collect(filter, "endTime", "desc"));
+
+        filter.setOpen(null);
+        filter.setStatus(List.of(TaskStatus.TODO));
+        filter.setPriority(List.of(Priority.HIGH, Priority.LOW));
+        assertEquals(ids(tasks.stream()
+                .filter(t -> t.getStatus() == TaskStatus.TODO)
+                .filter(t -> t.getPriority() == Priority.HIGH || t.getPriority() == Priority.LOW)
+                .toList()), collect(filter, "id", null));
+    }
+
+    @Test
+    void appliesRangesAndRejectsUnknownSortKeys() {
+        TaskFilter filter = new TaskFilter();
+        filter.setAssignee(user.getId());
+        filter.setCreatedTo(tasks.get(0).getCreatedAt().minusMinutes(1));
+        assertEquals(List.of(), collect(filter, "id", null));
+        filter.setCreatedTo(null);
+        filter.setUpdatedFrom(tasks.get(0).getUpdatedAt().minusMinutes(1));
+        assertEquals(12, collect(filter, "updatedAt", null).size());
+
+        assertThrows(IllegalArgumentException.class, () -> taskQueryService.findTasks(filter, "title", null, null, 5));
+        assertThrows(IllegalArgumentException.class, () -> taskQueryService.findTasks(filter, "id", "up", null, 5));
+    }
+
+    @Test
+    void listsTasksWithoutTheSortKeyAfterTheOthers() {
+        List<Long> undated = List.of(tasks.get(1).getId(), tasks.get(4).getId(), tasks.get(9).getId());
+        undated.forEach(id -> jdbcTemplate.update("update tasks set updated_at = null where id = ?", id));
+        // Filtered, so the query service pages it rather than the unfiltered recency listing.
+        TaskFilter filter = new TaskFilter();
+        filter.setAssignee(user.getId());
+
+        List<Long> descending = collect(filter, "updatedAt", "desc");
+        List<Long> ascending = collect(filter, "updatedAt", "asc");
+        assertEquals(12, descending.size());
+        assertEquals(List.of(undated.get(2), undated.get(1), undated.get(0)), descending.subList(9, 12));
+        assertEquals(undated, ascending.subList(9, 12));
+        List<Long> dated = new ArrayList<>(ascending.subList(0, 9));
+        Collections.reverse(dated);
+        assertEquals(dated, descending.subList(0, 9));
+        assertFalse(dated.stream().anyMatch(undated::contains));
+    }
+
+    private List<Long> collect(TaskFilter filter, String sort, String order) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<TaskSummary> page = taskQueryService.findTasks(filter, sort, order, cursor, 5);
+            page.getItems().forEach(t -> ids.add(t.getId()));
+            cursor = page.getNextCursor();
+            if (page.getItems().size() < 5) {
+                assertNull(cursor);
+            }
+        } while (cursor != null);
+        return ids;
+    }
+
+    private static List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+}
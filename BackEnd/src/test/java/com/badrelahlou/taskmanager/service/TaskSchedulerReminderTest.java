@@ -0,0 +1,86 @@
+package com.badrelahlou.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.badrelahlou.taskmanager.model.Priority;
+import com.badrelahlou.taskmanager.model.Role;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.repository.NotificationRepository;
+import com.badrelahlou.taskmanager.repository.SchedulerLeaseRepository;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+import com.badrelahlou.taskmanager.repository.UserRepository;
+
+@SpringBootTest
+class TaskSchedulerReminderTest {
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        // Other test contexts share the in-memory database and may hold the partition leases.
+        leaseRepository.deleteAll();
+        user = userRepository.findByUsername("reminder-user").orElseGet(() -> {
+            User u = new User();
+            u.setUsername("reminder-user");
+            u.setEmail("reminder@example.com");
+            u.setPasswordHash("hash");
+            u.setRole(Role.TEAM_MEMBER);
+            return userRepository.save(u);
+        });
+    }
+
+    @Test
+    void remindsEachPendingTaskOncePerInterval() {
+        Task first = taskRepository.save(task("pending one", TaskStatus.TODO, user));
+        taskRepository.save(task("pending two", TaskStatus.TODO, user));
+        taskRepository.save(task("finished", TaskStatus.DONE, user));
+        taskRepository.save(task("unassigned", TaskStatus.TODO, null));
+        long before = notificationRepository.findByUser_Id(user.getId()).size();
+
+        taskScheduler.sendReminders();
+        assertEquals(before + 2, notificationRepository.findByUser_Id(user.getId()).size());
+
+        taskScheduler.sendReminders();
+        assertEquals(before + 2, notificationRepository.findByUser_Id(user.getId()).size());
+
+        first = taskRepository.findById(first.getId()).orElseThrow();
+        first.setLastReminderAt(LocalDateTime.now().minusDays(2));
+        taskRepository.save(first);
+        taskScheduler.sendReminders();
+        assertEquals(before + 3, notificationRepository.findByUser_Id(user.getId()).size());
+    }
+
+    private static Task task(String title, TaskStatus status, User assignee) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(status);
+        task.setPriority(Priority.MEDIUM);
+        task.setStartTime(LocalDateTime.now());
+        task.setEndTime(LocalDateTime.now().plusDays(1));
+        task.setAssignedUser(assignee);
+        return task;
+    }
+}
@@ -0,0 +1,107 @@
+package com.badrelahlou.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.badrelahlou.taskmanager.repository.TaskCommentRepository;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+
+class TaskSearchIndexTest {
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskSearchIndex();
+        index.indexTask(1L, "Migrate billing database", "Move invoices to the new cluster");
+        index.indexTask(2L, "Write release notes", "Summarise the billing changes");
+        index.indexTask(3L, "Fix login page", "Users see a blank page after logout");
+        index.indexComment(3L, 1L, "Reproduced on the staging database");
+    }
+
+    @Test
+    void ranksTitleMatchesAboveBodyMatches() {
+        assertEquals(List.of(1L, 2L), ids("billing"));
+        assertEquals(List.of(1L, 3L), ids("database"));
+    }
+
+    @Test
+    void matchesPrefixesAndTypos() {
+        assertEquals(List.of(3L), ids("reprod"));
+        assertEquals(List.of(1L), ids("clustr"));
+        assertEquals(List.of(1L), ids("migrtae"));
+        assertTrue(ids("xyzzy").isEmpty());
+    }
+
+    @Test
+    void prefersTasksMatchingMoreTerms() {
+        assertEquals(3L, ids("staging database").get(0));
+    }
+
+    @Test
+    void reindexesAndRemovesTasks() {
+        index.indexTask(1L, "Archive old invoices", null);
+        assertEquals(List.of(2L), ids("billing"));
+        assertEquals(List.of(1L), ids("archive"));
+
+        index.removeTask(3L);
+        assertEquals(List.of(), ids("login"));
+        index.compact();
+        assertEquals(2, index.size());
+        assertEquals(List.of(1L), ids("archve"));
+    }
+
+    @Test
+    void computesBoundedEditDistance() {
+        assertEquals(1, TaskSearchIndex.editDistance("migrate", "migrtae", 2));
+        assertEquals(2, TaskSearchIndex.editDistance("invoice", "invoke", 2));
+        assertEquals(2, TaskSearchIndex.editDistance("billing", "cluster", 1));
+        assertEquals(List.of("c3", "po", "rollout"), TaskSearchIndex.tokenize("C3-PO a rollout!"));
+    }
+
+    @Test
+    void reloadReplacesTheIndexAndKeepsChangesMadeDuringIt() {
+        TaskRepository tasks = mock(TaskRepository.class);
+        TaskCommentRepository comments = mock(TaskCommentRepository.class);
+        ReflectionTestUtils.setField(index, "taskRepository", tasks);
+        ReflectionTestUtils.setField(index, "taskCommentRepository", comments);
+        when(tasks.findSearchText(anyLong(), any(Pageable.class))).thenReturn(List.of(
+                new Object[] { 1L, "Migrate billing database", null },
+                new Object[] { 4L, "Order office chairs", null }));
+        when(comments.findSearchText(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            // Commits on this node while the rebuild reads; the rebuild also reads comment 11.
+            index.indexTask(4L, "Order standing desks", null);
+            index.indexComment(4L, 11L, "Supplier confirmed");
+            index.indexComment(4L, 12L, "Delivery next week");
+            return List.<Object[]>of(new Object[] { 11L, 4L, "Supplier confirmed" });
+        });
+
+        index.load();
+
+        assertEquals(List.of(), ids("login"));
+        assertEquals(List.of(1L), ids("billing"));
+        assertEquals(List.of(4L), ids("desks"));
+        assertEquals(List.of(), ids("chairs"));
+        assertEquals(List.of(4L), ids("supplier delivery"));
+        assertEquals(4, index.size());
+    }
+
+    private List<Long> ids(String query) {
+        List<Long> ids = new ArrayList<>();
+        for (TaskSearchIndex.Hit hit : index.search(query, 20)) {
+            ids.add(hit.getTaskId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,105 @@
+package com.badrelahlou.taskmanager.service;
+
+import static com.badrelahlou.taskmanager.support.TestFixtures.task;
+import static com.badrelahlou.taskmanager.support.TestFixtures.user;
+import static com.badrelahlou.taskmanager.support.SqlStatementAssertions.countStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.badrelahlou.taskmanager.model.Notification;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+import com.badrelahlou.taskmanager.repository.UserRepository;
+
+@SpringBootTest
+class TaskServiceTest {
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void findsOnlyTheOpenDirectDependents() {
+        Task root = taskService.createTask(task("root"), null);
+        Task open = taskService.createTask(task("open dependent"), List.of(root.getId()));
+        Task done = taskService.createTask(task("done dependent"), List.of(root.getId()));
+        taskService.createTask(task("indirect dependent"), List.of(open.getId()));
+        taskService.createTask(task("unrelated"), null);
+        taskService.updateStatus(done.getId(), TaskStatus.DONE);
+
+        assertEquals(List.of(open.getId()), taskRepository.findDependents(root.getId(), TaskStatus.DONE)
+                .stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void completionCostDoesNotGrowWithTheTable() throws Exception {
+        User assignee = userRepository.save(user("dependent-flat"));
+        Long first = taskWithDependents(assignee, 3);
+        long small = countStatements(() -> taskService.updateStatus(first, TaskStatus.DONE));
+        Long previous = null;
+        for (int i = 0; i < 200; i++) {
+            previous = taskService.createTask(task("filler " + i), previous != null ? List.of(previous) : null).getId();
+        }
+        Long second = taskWithDependents(assignee, 3);
+        long large = countStatements(() -> taskService.updateStatus(second, TaskStatus.DONE));
+        // Either run may also refill the pooled notification and outbox id sequences.
+        assertTrue(large <= small + 2, "Completion took " + small + " statements, then " + large);
+    }
+
+    @Test
+    void completingATaskNotifiesTheAssigneesOfItsOpenDependents() {
+        User waiting = userRepository.save(user("dependent-waiting"));
+        User finished = userRepository.save(user("dependent-finished"));
+        Task dependency = taskService.createTask(task("ship the schema"), null);
+        Task open = taskService.createTask(task("migrate the data"), List.of(dependency.getId()));
+        Task done = taskService.createTask(task("write the plan"), List.of(dependency.getId()));
+        taskService.assignTaskToUser(open.getId(), waiting.getId());
+        taskService.assignTaskToUser(done.getId(), finished.getId());
+        taskService.updateStatus(done.getId(), TaskStatus.DONE);
+
+        taskService.updateStatus(dependency.getId(), TaskStatus.DONE);
+        taskService.updateStatus(dependency.getId(), TaskStatus.DONE);
+
+        assertEquals(List.of("Dependency 'ship the schema' completed for task 'migrate the data'"),
+                dependencyMessages(waiting));
+        assertEquals(List.of(), dependencyMessages(finished));
+
+        Task patch = task("ship the schema");
+        patch.setStatus(TaskStatus.IN_PROGRESS);
+        taskService.updateTask(dependency.getId(), patch);
+        patch.setStatus(TaskStatus.DONE);
+        taskService.updateTask(dependency.getId(), patch);
+        assertEquals(2, dependencyMessages(waiting).size());
+    }
+
+    private Long taskWithDependents(User assignee, int dependents) {
+        Long id = taskService.createTask(task("hub"), null).getId();
+        for (int i = 0; i < dependents; i++) {
+            Long dependent = taskService.createTask(task("spoke " + i), List.of(id)).getId();
+            taskService.assignTaskToUser(dependent, assignee.getId());
+        }
+        return id;
+    }
+
+    private List<String> dependencyMessages(User user) {
+        return notificationService.getUserNotifications(user.getId()).stream()
+                .map(Notification::getMessage)
+                .filter(message -> message.startsWith("Dependency "))
+                .toList();
+    }
+}
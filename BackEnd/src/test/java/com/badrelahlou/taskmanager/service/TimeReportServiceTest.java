@@ -0,0 +1,95 @@
+package com.badrelahlou.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.badrelahlou.taskmanager.dto.TimeReportRow;
+import com.badrelahlou.taskmanager.model.TimeEntry;
+import com.badrelahlou.taskmanager.repository.TimeEntryRepository;
+
+@SpringBootTest
+class TimeReportServiceTest {
+    private static final LocalDate FROM = LocalDate.of(2020, 3, 4);
+    private static final LocalDate TO = LocalDate.of(2020, 4, 17);
+
+    @Autowired
+    private TimeReportService timeReportService;
+
+    @Autowired
+    private TimeEntryRepository timeEntryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void rollupsMatchTheLedgerIncrementallyAndAfterRebuild() {
+        List<TimeEntry> entries = new ArrayList<>();
+        for (LocalDate day = FROM.minusDays(10); day.isBefore(TO.plusDays(10)); day = day.plusDays(1)) {
+            for (long user = 1; user <= 3; user++) {
+                entries.add(entry(7000 + user, 100 + day.getDayOfMonth() % 4, day.atTime(9, 0), 60_000 * user));
+            }
+        }
+        // Apply in two batches, as the flusher would.
+        for (List<TimeEntry> batch : List.of(entries.subList(0, 50), entries.subList(50, entries.size()))) {
+            transactionTemplate.executeWithoutResult(status -> {
+                timeEntryRepository.saveAllAndFlush(batch);
+                timeReportService.applyEntries(batch);
+            });
+        }
+
+        assertReportMatches(entries);
+        timeReportService.rebuild();
+        assertReportMatches(entries);
+    }
+
+    private void assertReportMatches(List<TimeEntry> entries) {
+        List<TimeEntry> inRange = entries.stream()
+                .filter(e -> !e.getStartedAt().toLocalDate().isBefore(FROM) && !e.getStartedAt().toLocalDate().isAfter(TO))
+                .toList();
+        assertEquals(expected(inRange, e -> e.getUserId()), actual("user"));
+        assertEquals(expected(inRange, e -> e.getTaskId()), actual("task"));
+        assertEquals(expected(inRange, e -> e.getStartedAt().toLocalDate()), actual("day"));
+        assertEquals(expected(inRange, e -> e.getStartedAt().toLocalDate()
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))), actual("week"));
+    }
+
+    private Map<String, Long> actual(String groupBy) {
+        Map<String, Long> result = new TreeMap<>();
+        for (TimeReportRow row : timeReportService.getTimeReport(FROM, TO, groupBy, null)) {
+            result.put(row.getKey(), row.getDurationMs());
+        }
+        return result;
+    }
+
+    private static Map<String, Long> expected(List<TimeEntry> entries, Function<TimeEntry, Object> key) {
+        Map<String, Long> result = new TreeMap<>();
+        for (TimeEntry e : entries) {
+            result.merge(key.apply(e).toString(), e.getDurationMs(), Long::sum);
+        }
+        return result;
+    }
+
+    private static TimeEntry entry(long userId, long taskId, LocalDateTime start, long durationMs) {
+        TimeEntry entry = new TimeEntry();
+        entry.setUserId(userId);
+        entry.setTaskId(taskId);
+        entry.setStartedAt(start);
+        entry.setEndedAt(start.plusNanos(durationMs * 1_000_000));
+        entry.setDurationMs(durationMs);
+        return entry;
+    }
+}
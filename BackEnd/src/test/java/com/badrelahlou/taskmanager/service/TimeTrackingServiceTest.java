@@ -0,0 +1,175 @@
+package com.badrelahlou.taskmanager.service;
+
+import static com.badrelahlou.taskmanager.support.TestFixtures.task;
+import static com.badrelahlou.taskmanager.support.TestFixtures.user;
+import static com.badrelahlou.taskmanager.support.SqlStatementAssertions.assertStatementCount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.badrelahlou.taskmanager.dto.TimeReportRow;
+import com.badrelahlou.taskmanager.dto.TimeTotal;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.TaskStatus;
+import com.badrelahlou.taskmanager.model.TimeEntry;
+import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.repository.TaskRepository;
+import com.badrelahlou.taskmanager.repository.UserRepository;
+
+@SpringBootTest
+class TimeTrackingServiceTest {
+    @Autowired
+    private TimeTrackingService timeTrackingService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TimeReportService timeReportService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void pausedAndResumedTimerWritesOneEntryPerSegment() throws Exception {
+        Long userId = 9001L;
+        Long taskId = taskService.createTask(task("timed task"), null).getId();
+        LocalDateTime from = LocalDateTime.now().minusMinutes(1);
+
+        timeTrackingService.start(userId, taskId);
+        assertThrows(RuntimeException.class, () -> timeTrackingService.start(userId, taskId));
+        Thread.sleep(5);
+        timeTrackingService.pause(userId, taskId);
+        timeTrackingService.resume(userId, taskId);
+        Thread.sleep(5);
+        ActiveTimer stopped = timeTrackingService.stop(userId, taskId);
+        timeTrackingService.flush();
+
+        List<TimeEntry> entries = timeTrackingService.getEntries(userId, from, LocalDateTime.now().plusMinutes(1));
+        assertEquals(2, entries.size());
+        assertEquals(stopped.getElapsedMs(), entries.stream().mapToLong(TimeEntry::getDurationMs).sum());
+        List<TimeTotal> totals = timeTrackingService.getTotals(userId, from, LocalDateTime.now().plusMinutes(1));
+        assertEquals(1, totals.size());
+        assertEquals(stopped.getElapsedMs(), totals.get(0).getDurationMs());
+        assertTrue(timeTrackingService.getActiveTimers(userId).isEmpty());
+    }
+
+    @Test
+    void concurrentTimersDoNotInterfere() throws Exception {
+        Long taskId = taskService.createTask(task("shared task"), null).getId();
+        int users = 32;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long u = 0; u < users; u++) {
+                long userId = 10_000 + u;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        timeTrackingService.start(userId, taskId);
+                        timeTrackingService.heartbeat(userId, taskId);
+                        timeTrackingService.stop(userId, taskId);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        for (long u = 0; u < users; u++) {
+            assertTrue(timeTrackingService.getActiveTimers(10_000 + u).isEmpty());
+        }
+        timeTrackingService.flush();
+        assertEquals(0, timeTrackingService.pendingEntries());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void legacyTimerEndpointsWriteToTheLedgerWithoutCompletingTheTask() throws Exception {
+        User assignee = userRepository.save(user("legacy-timer"));
+        Task task = taskService.createTask(task("legacy timed task"), null);
+        task.setAssignedUser(assignee);
+        // Saved directly, as a task created on another node would be: not in this node's graph.
+        task = taskRepository.save(task);
+        LocalDateTime from = LocalDateTime.now().minusMinutes(1);
+
+        Long taskId = task.getId();
+        assertThrows(RuntimeException.class, () -> taskService.startTimer(taskId, null));
+        assertEquals(TaskStatus.IN_PROGRESS, taskService.startTimer(task.getId(), assignee.getId()).getStatus());
+        Thread.sleep(5);
+        assertEquals(TaskStatus.IN_PROGRESS, taskService.stopTimer(task.getId(), assignee.getId()).getStatus());
+        timeTrackingService.flush();
+
+        List<TimeEntry> entries = timeTrackingService.getEntries(assignee.getId(), from, LocalDateTime.now().plusMinutes(1));
+        assertEquals(1, entries.size());
+        assertTrue(entries.get(0).getDurationMs() > 0);
+        assertThrows(RuntimeException.class, () -> timeTrackingService.start(assignee.getId(), Long.MAX_VALUE));
+    }
+
+    @Test
+    void startAndStopDoNotQueryTheDatabase() throws Exception {
+        Long taskId = taskService.createTask(task("hot timer"), null).getId();
+        assertStatementCount(0, () -> {
+            timeTrackingService.start(9101L, taskId);
+            timeTrackingService.stop(9101L, taskId);
+        });
+    }
+
+    @Test
+    void timeOnATaskDeletedWhileItsTimerRanIsDropped() throws Exception {
+        Long userId = 9102L;
+        Long kept = taskService.createTask(task("kept timer"), null).getId();
+        Long deleted = taskService.createTask(task("deleted timer"), null).getId();
+        LocalDateTime from = LocalDateTime.now().minusMinutes(1);
+        timeTrackingService.start(userId, kept);
+        timeTrackingService.start(userId, deleted);
+        Thread.sleep(5);
+        taskService.deleteTask(deleted);
+        timeTrackingService.stop(userId, kept);
+        timeTrackingService.stop(userId, deleted);
+        timeTrackingService.flush();
+
+        List<TimeEntry> entries = timeTrackingService.getEntries(userId, from, LocalDateTime.now().plusMinutes(1));
+        assertEquals(List.of(kept), entries.stream().map(TimeEntry::getTaskId).toList());
+        assertEquals(0, timeTrackingService.pendingEntries());
+    }
+
+    @Test
+    void legacyTimeSpentIsCopiedIntoTheLedgerOnce() {
+        User assignee = userRepository.save(user("legacy-minutes"));
+        Task task = taskService.createTask(task("legacy minutes task"), null);
+        task.setAssignedUser(assignee);
+        task.setStartTime(LocalDateTime.of(2021, 3, 10, 9, 0));
+        task.setTimeSpent(90L);
+        task = taskRepository.save(task);
+
+        timeTrackingService.backfillLegacyTime();
+        timeTrackingService.backfillLegacyTime();
+
+        List<TimeEntry> entries = timeTrackingService.getEntries(assignee.getId(),
+                LocalDateTime.of(2021, 3, 10, 0, 0), LocalDateTime.of(2021, 3, 11, 0, 0));
+        assertEquals(1, entries.size());
+        assertEquals(task.getId(), entries.get(0).getTaskId());
+        assertEquals(90 * 60_000L, entries.get(0).getDurationMs());
+        List<TimeReportRow> report = timeReportService.getTimeReport(LocalDate.of(2021, 3, 1),
+                LocalDate.of(2021, 3, 31), "user", assignee.getId());
+        assertEquals(1, report.size());
+        assertEquals(90 * 60_000L, report.get(0).getDurationMs());
+    }
+}
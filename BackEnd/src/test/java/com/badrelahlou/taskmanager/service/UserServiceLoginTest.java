@@ -0,0 +1,65 @@
+package com.badrelahlou.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.badrelahlou.taskmanager.exception.TooManyRequestsException;
+import com.badrelahlou.taskmanager.model.Role;
+import com.badrelahlou.taskmanager.model.User;
+import com.badrelahlou.taskmanager.repository.UserRepository;
+
+@SpringBootTest
+class UserServiceLoginTest {
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void upgradesWeakHashesOnLogin() {
+        User user = newUser("rehash", new BCryptPasswordEncoder(4).encode("secret"));
+
+        assertEquals(user.getId(), userService.authenticate(user.getUsername(), "secret").join().getId());
+
+        String upgraded = userRepository.findById(user.getId()).orElseThrow().getPasswordHash();
+        assertTrue(upgraded.startsWith("$2a$10$"), upgraded);
+        userService.authenticate(user.getUsername(), "secret").join();
+        assertEquals(upgraded, userRepository.findById(user.getId()).orElseThrow().getPasswordHash());
+    }
+
+    @Test
+    void locksOutAfterRepeatedFailures() {
+        User user = newUser("lockout", new BCryptPasswordEncoder(4).encode("secret"));
+        for (int i = 0; i < 4; i++) {
+            assertThrows(CompletionException.class, () -> userService.authenticate(user.getUsername(), "wrong").join());
+        }
+        // A success before the limit resets the counter.
+        userService.authenticate(user.getUsername(), "secret").join();
+        for (int i = 0; i < 5; i++) {
+            assertThrows(CompletionException.class, () -> userService.authenticate(user.getUsername(), "wrong").join());
+        }
+        TooManyRequestsException locked = assertThrows(TooManyRequestsException.class,
+                () -> userService.authenticate(user.getUsername(), "secret"));
+        assertTrue(locked.getRetryAfterSeconds() > 0);
+        assertTrue(userService.getLoginStats().getLockouts() >= 1);
+        assertTrue(userService.getLoginStats().getHashing().getCount() >= 10);
+    }
+
+    private User newUser(String prefix, String hash) {
+        User user = new User();
+        user.setUsername(prefix + "-" + System.nanoTime());
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setPasswordHash(hash);
+        user.setRole(Role.TEAM_MEMBER);
+        return userRepository.save(user);
+    }
+}
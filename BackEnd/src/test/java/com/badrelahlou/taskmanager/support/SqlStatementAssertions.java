@@ -0,0 +1,32 @@
+package com.badrelahlou.taskmanager.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.badrelahlou.taskmanager.config.SqlStatementCounter;
+
+/** Counts the SQL statements Hibernate prepares on the calling thread while an action runs. */
+public final class SqlStatementAssertions {
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private SqlStatementAssertions() {
+    }
+
+    public static long countStatements(Action action) throws Exception {
+        SqlStatementCounter.reset();
+        action.run();
+        return SqlStatementCounter.get();
+    }
+
+    public static void assertStatementCount(long expected, Action action) throws Exception {
+        assertEquals(expected, countStatements(action), "SQL statements issued");
+    }
+
+    public static void assertMaxStatementCount(long max, Action action) throws Exception {
+        long count = countStatements(action);
+        assertTrue(count <= max, "Expected at most " + max + " SQL statements but " + count + " were issued");
+    }
+}
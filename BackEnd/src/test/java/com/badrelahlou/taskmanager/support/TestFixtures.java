@@ -0,0 +1,41 @@
+package com.badrelahlou.taskmanager.support;
+
+import java.time.LocalDateTime;
+
+import com.badrelahlou.taskmanager.model.Priority;
+import com.badrelahlou.taskmanager.model.Role;
+import com.badrelahlou.taskmanager.model.Task;
+import com.badrelahlou.taskmanager.model.User;
+
+/** Unsaved users and tasks with the required fields filled in; tests save them however they need. */
+public final class TestFixtures {
+    private TestFixtures() {
+    }
+
+    public static User user(String name) {
+        return user(name, Role.TEAM_MEMBER);
+    }
+
+    public static User user(String name, Role role) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPasswordHash("hash");
+        user.setRole(role);
+        return user;
+    }
+
+    /** A MEDIUM priority task that starts now and ends an hour later. */
+    public static Task task(String title) {
+        return task(title, Priority.MEDIUM);
+    }
+
+    public static Task task(String title, Priority priority) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setPriority(priority);
+        task.setStartTime(LocalDateTime.now());
+        task.setEndTime(LocalDateTime.now().plusHours(1));
+        return task;
+    }
+}
@@ -1,16 +1,14 @@
 
 import { Card, CardContent, CardHeader, CardTitle } from '@/components/ui/card';
-import { TaskProps } from '@/types/task';
+import { DashboardCounts } from '@/utils/api';
 
 interface MetricsCardsProps {
-  tasks: TaskProps[];
+  counts: DashboardCounts;
+  trackedSeconds: number;
   formatTime: (seconds?: number) => string;
 }
 
-const MetricsCards = ({ tasks, formatTime }: MetricsCardsProps) => {
-  const totalTimeLogged = tasks.reduce((total, task) => total + (task.timeLogged || 0), 0);
-  const completedTasks = tasks.filter(task => task.status === 'completed');
-  
+const MetricsCards = ({ counts, trackedSeconds, formatTime }: MetricsCardsProps) => {
   return (
     <div className="grid grid-cols-1 sm:grid-cols-3 gap-4 mb-8">
       <Card className="border-blue-100 dark:border-blue-900/30 shadow-sm hover:shadow-md transition-all duration-300 bg-gradient-to-br from-white to-blue-50 dark:from-card dark:to-card/90">
@@ -18,7 +16,7 @@ const MetricsCards = ({ tasks, formatTime }: MetricsCardsProps) => {
           <CardTitle className="text-sm font-medium text-blue-600 dark:text-blue-400">Total Tasks</CardTitle>
         </CardHeader>
         <CardContent>
-          <div className="text-2xl font-bold text-blue-700 dark:text-blue-300">{tasks.length}</div>
+          <div className="text-2xl font-bold text-blue-700 dark:text-blue-300">{counts.totalTasks}</div>
         </CardContent>
       </Card>
       
@@ -28,7 +26,7 @@ const MetricsCards = ({ tasks, formatTime }: MetricsCardsProps) => {
         </CardHeader>
         <CardContent>
           <div className="text-2xl font-bold text-purple-700 dark:text-purple-300">
-            {tasks.length > 0 ? Math.round((completedTasks.length / tasks.length) * 100) : 0}%
+            {counts.totalTasks > 0 ? Math.round((counts.doneCount / counts.totalTasks) * 100) : 0}%
           </div>
         </CardContent>
       </Card>
@@ -38,7 +36,7 @@ const MetricsCards = ({ tasks, formatTime }: MetricsCardsProps) => {
           <CardTitle className="text-sm font-medium text-green-600 dark:text-green-400">Total Time</CardTitle>
         </CardHeader>
         <CardContent>
-          <div className="text-2xl font-bold text-green-700 dark:text-green-300">{formatTime(totalTimeLogged)}</div>
+          <div className="text-2xl font-bold text-green-700 dark:text-green-300">{formatTime(trackedSeconds)}</div>
         </CardContent>
       </Card>
     </div>
@@ -1,27 +1,24 @@
 
 import { BarChart as ReBarChart, Bar, Cell, XAxis, YAxis, Tooltip, Legend, ResponsiveContainer, LabelList } from 'recharts';
-import { TaskProps } from '@/types/task';
+import { TimeReportRow } from '@/utils/api';
 import { useTheme } from '@/contexts/ThemeContext';
+import { chartColors } from './utils';
 
 interface TimeChartProps {
-  tasks: TaskProps[];
+  rows: TimeReportRow[];
 }
 
-const TimeChart = ({ tasks }: TimeChartProps) => {
+// One bar per day or week bucket of the server-side time report.
+const TimeChart = ({ rows }: TimeChartProps) => {
   const { theme } = useTheme();
   const isDark = theme === 'dark';
   
-  const todoTasks = tasks.filter(task => task.status === 'todo');
-  const inProgressTasks = tasks.filter(task => task.status === 'in-progress');
-  const completedTasks = tasks.filter(task => task.status === 'completed');
-  
-  const timeData = [
-    { name: 'To Do', time: todoTasks.reduce((t, task) => t + (task.timeLogged || 0), 0) / 3600, color: '#FCD34D' },
-    { name: 'In Progress', time: inProgressTasks.reduce((t, task) => t + (task.timeLogged || 0), 0) / 3600, color: '#A78BFA' },
-    { name: 'Completed', time: completedTasks.reduce((t, task) => t + (task.timeLogged || 0), 0) / 3600, color: '#4ADE80' }
-  ];
+  const timeData = rows.map((row, index) => ({
+    name: row.key,
+    time: row.durationMs / 3600000,
+    color: chartColors.time.gradient[index % chartColors.time.gradient.length]
+  }));
 
-  
   const filteredData = timeData.filter(item => item.time > 0);
   
   const formatYAxisTick = (value: number) => {
@@ -49,7 +46,7 @@ const TimeChart = ({ tasks }: TimeChartProps) => {
           <XAxis 
             dataKey="name" 
             tick={{ fontSize: 12, fill: isDark ? '#ccc' : '#333' }}
-            interval={0}
+            interval="preserveStartEnd"
           />
           <YAxis 
             label={{ 
@@ -1,3 +1,4 @@
+import { TimeReportRow } from '@/utils/api';
 
 export const formatTime = (seconds?: number) => {
   if (!seconds) return '0h 0m';
@@ -9,6 +10,31 @@ export const formatTime = (seconds?: number) => {
 };
 
 
+const isoDate = (date: Date) => date.toISOString().slice(0, 10);
+
+// Inclusive date range and rollup bucket for a Reports time frame; 'all' reads week buckets.
+export const timeFrameRange = (timeFrame: string): { from: string; to: string; groupBy: 'day' | 'week' } => {
+  const today = new Date();
+  const start = new Date(today);
+  if (timeFrame === 'today') {
+    return { from: isoDate(today), to: isoDate(today), groupBy: 'day' };
+  }
+  if (timeFrame === 'week') {
+    start.setDate(today.getDate() - ((today.getDay() + 6) % 7));
+    return { from: isoDate(start), to: isoDate(today), groupBy: 'day' };
+  }
+  if (timeFrame === 'month') {
+    start.setDate(1);
+    return { from: isoDate(start), to: isoDate(today), groupBy: 'day' };
+  }
+  return { from: '2000-01-01', to: isoDate(today), groupBy: 'week' };
+};
+
+// Seconds tracked across the rows of a time report.
+export const trackedSeconds = (rows: TimeReportRow[]) =>
+  rows.reduce((total, row) => total + row.durationMs, 0) / 1000;
+
+
 export const chartColors = {
   status: {
     todo: '#FCD34D',       // Bright yellow
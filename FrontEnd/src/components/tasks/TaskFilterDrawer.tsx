@@ -1,4 +1,5 @@
 
+import { useEffect, useState } from 'react';
 import { Button } from '@/components/ui/button';
 import { Label } from '@/components/ui/label';
 import { Input } from '@/components/ui/input';
@@ -32,7 +33,20 @@ export const TaskFilterDrawer = ({
   searchQuery,
   setSearchQuery
 }: TaskFilterDrawerProps) => {
+  // Edits stay local until applied, so the task list is fetched once per change of filters.
+  const [draftPriority, setDraftPriority] = useState<string | null>(priorityFilter);
+  const [draftQuery, setDraftQuery] = useState(searchQuery);
+
+  useEffect(() => {
+    if (open) {
+      setDraftPriority(priorityFilter);
+      setDraftQuery(searchQuery);
+    }
+  }, [open, priorityFilter, searchQuery]);
+
   const applyFilters = () => {
+    setPriorityFilter(draftPriority && draftPriority !== 'all' ? draftPriority : null);
+    setSearchQuery(draftQuery);
     onOpenChange(false);
     toast.success("Filters applied");
   };
@@ -55,7 +69,7 @@ export const TaskFilterDrawer = ({
           <div className="space-y-4 py-4">
             <div className="space-y-2">
               <Label htmlFor="priority-filter">Priority</Label>
-              <Select value={priorityFilter || ''} onValueChange={setPriorityFilter}>
+              <Select value={draftPriority || ''} onValueChange={setDraftPriority}>
                 <SelectTrigger id="priority-filter">
                   <SelectValue placeholder="Select priority" />
                 </SelectTrigger>
@@ -76,8 +90,8 @@ export const TaskFilterDrawer = ({
                   id="search-tasks" 
                   placeholder="Search by title or description" 
                   className="pl-9"
-                  value={searchQuery}
-                  onChange={(e) => setSearchQuery(e.target.value)}
+                  value={draftQuery}
+                  onChange={(e) => setDraftQuery(e.target.value)}
                 />
               </div>
             </div>
@@ -17,48 +17,61 @@ import { Card, CardContent, CardDescription, CardFooter, CardHeader, CardTitle }
 import { TaskProps } from '@/types/task';
 import { Badge } from '@/components/ui/badge';
 import { formatTime } from '@/components/reports/utils';
+import { DashboardCounts, reportApi, taskApi } from '@/utils/api';
+
+const FOCUS_SIZE = 3;
+// Enough to show an exact count on the card; beyond this it reads "100+".
+const HIGH_PRIORITY_PAGE = 100;
 
 const Dashboard = () => {
-  const [tasks, setTasks] = useState<TaskProps[]>([]);
+  const [counts, setCounts] = useState<DashboardCounts>({ todoCount: 0, inProgressCount: 0, doneCount: 0, totalTasks: 0 });
+  const [highPriority, setHighPriority] = useState<{ tasks: TaskProps[]; more: boolean }>({ tasks: [], more: false });
+  const [sortedPendingTasks, setSortedPendingTasks] = useState<TaskProps[]>([]);
+  const [recentlyCompletedTasks, setRecentlyCompletedTasks] = useState<TaskProps[]>([]);
+  const [totalTimeLogged, setTotalTimeLogged] = useState(0);
   const [todayDate, setTodayDate] = useState('');
   
   useEffect(() => {
-    const fetchTasks = async () => {
+    const fetchDashboard = async () => {
       try {
-       
-        const { loadTasks } = await import('@/utils/taskUtils');
-        const fetchedTasks = await loadTasks();
-        setTasks(fetchedTasks);
+        const today = new Date().toISOString().slice(0, 10);
+        const [dashboard, high, completed, time] = await Promise.all([
+          reportApi.getDashboard(),
+          taskApi.queryTasks({ priority: ['HIGH'], open: true }, undefined, HIGH_PRIORITY_PAGE),
+          taskApi.queryTasks({ status: ['DONE'], sort: 'updatedAt', order: 'desc' }, undefined, FOCUS_SIZE),
+          reportApi.getTimeReport('2000-01-01', today, 'user'),
+        ]);
+        setCounts(dashboard);
+        setHighPriority({ tasks: high.tasks, more: high.nextCursor !== null });
+        setRecentlyCompletedTasks(completed.tasks);
+        setTotalTimeLogged(time.reduce((total, row) => total + row.durationMs, 0) / 1000);
+
+        // Highest priority first; lower priorities are only asked for while the list is short.
+        const pending = high.tasks.slice(0, FOCUS_SIZE);
+        for (const priority of ['MEDIUM', 'LOW']) {
+          if (pending.length >= FOCUS_SIZE) break;
+          const page = await taskApi.queryTasks({ priority: [priority], open: true }, undefined, FOCUS_SIZE - pending.length);
+          pending.push(...page.tasks);
+        }
+        setSortedPendingTasks(pending);
       } catch (error) {
-        console.error('Failed to fetch tasks:', error);
-        toast.error('Failed to load tasks');
+        console.error('Failed to fetch dashboard:', error);
+        toast.error('Failed to load dashboard');
       }
     };
     
-    fetchTasks();
+    fetchDashboard();
     
     const today = new Date();
     const options: Intl.DateTimeFormatOptions = { weekday: 'long', year: 'numeric', month: 'long', day: 'numeric' };
     setTodayDate(today.toLocaleDateString('en-US', options));
   }, []);
 
-  const totalTasks = tasks.length;
-  const completedTasks = tasks.filter(task => task.status === 'completed').length;
-  const inProgressTasks = tasks.filter(task => task.status === 'in-progress').length;
-  const todoTasks = tasks.filter(task => task.status === 'todo').length;
-  const highPriorityTasks = tasks.filter(task => task.priority === 'high').length;
-  
-  const totalTimeLogged = tasks.reduce((total, task) => total + (task.timeLogged || 0), 0);
-  
-  const priorityOrder = { high: 0, medium: 1, low: 2 };
-  const sortedPendingTasks = [...tasks]
-    .filter(task => task.status !== 'completed')
-    .sort((a, b) => priorityOrder[a.priority] - priorityOrder[b.priority])
-    .slice(0, 3);
-
-  const recentlyCompletedTasks = [...tasks]
-    .filter(task => task.status === 'completed')
-    .slice(0, 3);
+  const totalTasks = counts.totalTasks;
+  const completedTasks = counts.doneCount;
+  const inProgressTasks = counts.inProgressCount;
+  const todoTasks = counts.todoCount;
+  const highPriorityTasks = `${highPriority.tasks.length}${highPriority.more ? '+' : ''}`;
 
   const getStatusBadgeClass = (status: string) => {
     switch(status) {
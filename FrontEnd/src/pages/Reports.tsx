@@ -9,7 +9,8 @@ import PriorityChart from '@/components/reports/PriorityChart';
 import TimeChart from '@/components/reports/TimeChart';
 import MetricsCards from '@/components/reports/MetricsCards';
 import ChartContainer from '@/components/reports/ChartContainer';
-import { formatTime } from '@/components/reports/utils';
+import { formatTime, timeFrameRange, trackedSeconds } from '@/components/reports/utils';
+import { DashboardCounts, reportApi, TimeReportRow } from '@/utils/api';
 import { Card, CardContent, CardHeader, CardTitle } from '@/components/ui/card';
 import { toast } from 'sonner';
 import {
@@ -23,6 +24,8 @@ const Reports = () => {
   const [tasks, setTasks] = useState<TaskProps[]>([]);
   const [reportType, setReportType] = useState('overview');
   const [timeFrame, setTimeFrame] = useState('all');
+  const [counts, setCounts] = useState<DashboardCounts>({ todoCount: 0, inProgressCount: 0, doneCount: 0, totalTasks: 0 });
+  const [timeRows, setTimeRows] = useState<TimeReportRow[]>([]);
   
   useEffect(() => {
     const fetchTasks = async () => {
@@ -38,8 +41,15 @@ const Reports = () => {
     };
     
     fetchTasks();
+    reportApi.getDashboard().then(setCounts);
   }, []);
 
+  // Tracked time comes from the server-side rollups for the selected time frame.
+  useEffect(() => {
+    const { from, to, groupBy } = timeFrameRange(timeFrame);
+    reportApi.getTimeReport(from, to, groupBy).then(setTimeRows);
+  }, [timeFrame]);
+
   const getFilteredTasks = () => {
     if (timeFrame === 'all') return tasks;
     return tasks;
@@ -51,8 +61,8 @@ const Reports = () => {
   const completedTasks = filteredTasks.filter(task => task.status === 'completed').length;
   const completionRate = totalTasks > 0 ? (completedTasks / totalTasks * 100).toFixed(1) : '0';
   
-  const totalTimeTracked = filteredTasks.reduce((total, task) => total + (task.timeLogged || 0), 0);
-  const avgTimePerTask = totalTasks > 0 ? Math.round(totalTimeTracked / totalTasks) : 0;
+  const totalTimeTracked = trackedSeconds(timeRows);
+  const avgTimePerTask = counts.totalTasks > 0 ? Math.round(totalTimeTracked / counts.totalTasks) : 0;
 
   const highPriorityCompleted = filteredTasks.filter(task => 
     task.priority === 'high' && task.status === 'completed'
@@ -69,7 +79,7 @@ const Reports = () => {
     } else if (reportType === 'priority') {
       return <PriorityChart tasks={filteredTasks} />;
     } else {
-      return <TimeChart tasks={filteredTasks} />;
+      return <TimeChart rows={timeRows} />;
     }
   };
 
@@ -185,7 +195,7 @@ const Reports = () => {
         </div>
       </div>
       
-      <MetricsCards tasks={filteredTasks} formatTime={formatTime} />
+      <MetricsCards counts={counts} trackedSeconds={totalTimeTracked} formatTime={formatTime} />
       
       <Card className="mb-6 bg-gradient-to-r from-purple-50 to-blue-50 border-purple-100 dark:bg-card dark:border-border dark:from-transparent dark:to-transparent">
         <CardHeader className="pb-2">
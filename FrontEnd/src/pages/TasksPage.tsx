@@ -1,8 +1,10 @@
 
 import { useState, useEffect } from 'react';
 import { Tabs, TabsContent, TabsList, TabsTrigger } from '@/components/ui/tabs';
+import { Button } from '@/components/ui/button';
 import { TaskProps, TaskStatus } from '@/types/task';
-import { filterTasks, loadTasks, saveTasks } from '@/utils/taskUtils';
+import { filterTasks } from '@/utils/taskUtils';
+import { TaskQuery, taskApi } from '@/utils/api';
 import { toast } from 'sonner';
 
 // Import our new components
@@ -12,20 +14,59 @@ import { TaskFilterDrawer } from '@/components/tasks/TaskFilterDrawer';
 import { TaskCreateDialog } from '@/components/tasks/TaskCreateDialog';
 import { TaskList } from '@/components/tasks/TaskList';
 
+const PAGE_SIZE = 50;
+const MAX_SEARCH_HITS = 100;
+const SEARCH_DELAY_MS = 300;
+
+const STATUS_TO_BACKEND: Record<string, string> = {
+  'todo': 'TODO',
+  'in-progress': 'IN_PROGRESS',
+  'completed': 'DONE',
+};
+
 const TasksPage = () => {
   const [tasks, setTasks] = useState<TaskProps[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const [reloadKey, setReloadKey] = useState(0);
   const [activeFilter, setActiveFilter] = useState('all');
   const [searchQuery, setSearchQuery] = useState('');
+  const [debouncedQuery, setDebouncedQuery] = useState('');
   const [showNewTaskDialog, setShowNewTaskDialog] = useState(false);
   const [openFilterDrawer, setOpenFilterDrawer] = useState(false);
   const [priorityFilter, setPriorityFilter] = useState<string | null>(null);
 
-  
+  const priority = priorityFilter && priorityFilter !== 'all' ? priorityFilter : null;
+
+  const buildQuery = (): TaskQuery => ({
+    status: activeFilter !== 'all' ? [STATUS_TO_BACKEND[activeFilter]] : undefined,
+    priority: priority ? [priority.toUpperCase()] : undefined,
+  });
+
+  useEffect(() => {
+    const timeout = setTimeout(() => setDebouncedQuery(searchQuery.trim()), SEARCH_DELAY_MS);
+    return () => clearTimeout(timeout);
+  }, [searchQuery]);
+
+  // Filtering happens on the server one page at a time; a search asks the search index instead
+  // and narrows its hits to the selected status and priority.
   useEffect(() => {
+    let cancelled = false;
     const fetchTasks = async () => {
       try {
-        const fetchedTasks = await loadTasks();
-        setTasks(fetchedTasks);
+        if (debouncedQuery) {
+          const hits = await taskApi.searchTasks(debouncedQuery, MAX_SEARCH_HITS);
+          if (!cancelled) {
+            setTasks(filterTasks(hits.map(hit => hit.task), activeFilter, priority, ''));
+            setNextCursor(null);
+          }
+        } else {
+          const page = await taskApi.queryTasks(buildQuery(), undefined, PAGE_SIZE);
+          if (!cancelled) {
+            setTasks(page.tasks);
+            setNextCursor(page.nextCursor);
+          }
+        }
       } catch (error) {
         console.error('Failed to fetch tasks:', error);
         toast.error('Failed to load tasks');
@@ -33,13 +74,25 @@ const TasksPage = () => {
     };
     
     fetchTasks();
-  }, []);
+    return () => {
+      cancelled = true;
+    };
+  }, [activeFilter, priority, debouncedQuery, reloadKey]);
+
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    setLoadingMore(true);
+    try {
+      const page = await taskApi.queryTasks(buildQuery(), nextCursor, PAGE_SIZE);
+      setTasks(prev => [...prev, ...page.tasks]);
+      setNextCursor(page.nextCursor);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
 
-  // We don't need to save tasks on every change anymore
-  // as each task operation (create, update, delete) is handled by the API
-  
-  // Apply filters to get the tasks that should be displayed
-  const filteredTasks = filterTasks(tasks, activeFilter, priorityFilter, searchQuery);
+  // Tasks edited on this page stay in the list until they no longer match the filters.
+  const filteredTasks = filterTasks(tasks, activeFilter, priority, '');
 
   const handleCreateTask = (newTask: TaskProps) => {
     setTasks(prev => [...prev, newTask]);
@@ -93,10 +146,7 @@ const TasksPage = () => {
       if (success) {
         toast.success("Task deleted successfully");
       } else {
-       
-        const { loadTasks } = await import('@/utils/taskUtils');
-        const refreshedTasks = await loadTasks();
-        setTasks(refreshedTasks);
+        setReloadKey(key => key + 1);
         toast.error("Failed to delete task");
       }
     } catch (error) {
@@ -127,7 +177,7 @@ const TasksPage = () => {
     }
   };
 
-  const hasFilters = !!priorityFilter || !!searchQuery;
+  const hasFilters = !!priority || !!searchQuery;
 
   return (
     <div className="max-w-7xl mx-auto animate-fade-in dashboard-content">
@@ -228,6 +278,13 @@ const TasksPage = () => {
             />
           </TabsContent>
         </Tabs>
+        {nextCursor && (
+          <div className="flex justify-center mt-5">
+            <Button variant="outline" onClick={loadMore} disabled={loadingMore}>
+              {loadingMore ? 'Loading...' : 'Load more'}
+            </Button>
+          </div>
+        )}
       </div>
       
       {/* Dialogs and drawers */}
@@ -1,4 +1,4 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useCallback } from 'react';
 import { Button } from '@/components/ui/button';
 import { Card, CardContent, CardHeader, CardTitle } from '@/components/ui/card';
 import { Clock, BarChart4, Calendar, Filter } from 'lucide-react';
@@ -6,27 +6,48 @@ import { TaskProps } from '@/types/task';
 import { Select, SelectContent, SelectItem, SelectTrigger, SelectValue } from '@/components/ui/select';
 import { TimerButton } from '@/components/TimerButton';
 import { toast } from 'sonner';
-import { taskApi } from '@/utils/api';
+import { ActiveTimer, reportApi, taskApi, timeApi } from '@/utils/api';
+
+// Running timers are closed server-side after 15 idle minutes, so check in well before that.
+const HEARTBEAT_MS = 60_000;
+
+const isoDate = (date: Date) => date.toISOString().slice(0, 10);
+
+// First day of the selected range; "all" reaches back before any tracked time.
+const rangeStart = (filter: string) => {
+  const now = new Date();
+  const today = new Date(now.getFullYear(), now.getMonth(), now.getDate());
+  switch (filter) {
+    case 'today':
+      return isoDate(today);
+    case 'week':
+      return isoDate(new Date(today.getTime() - ((today.getDay() + 6) % 7) * 24 * 60 * 60 * 1000));
+    case 'month':
+      return isoDate(new Date(now.getFullYear(), now.getMonth(), 1));
+    default:
+      return '2000-01-01';
+  }
+};
 
 const TimeTracking = () => {
   const [tasks, setTasks] = useState<TaskProps[]>([]);
   const [timeFilter, setTimeFilter] = useState('all');
-  const [activeTask, setActiveTask] = useState<string | null>(null);
+  // Tracked seconds per task in the selected range, from the server-side rollups.
+  const [tracked, setTracked] = useState<Record<string, number>>({});
+  // Running timers by task id; each belongs to the task's assignee.
+  const [timers, setTimers] = useState<Record<string, ActiveTimer>>({});
   const [isLoading, setIsLoading] = useState(true);
-  
-  
+
   useEffect(() => {
     const fetchTasks = async () => {
       setIsLoading(true);
       try {
         const fetchedTasks = await taskApi.getAllTasks();
         setTasks(fetchedTasks);
-        
-        
-        const inProgressTask = fetchedTasks.find(task => task.status === 'in-progress');
-        if (inProgressTask) {
-          setActiveTask(inProgressTask.id);
-        }
+
+        const assignees = [...new Set(fetchedTasks.map(task => task.assigneeId).filter((id): id is string => !!id))];
+        const running = (await Promise.all(assignees.map(id => timeApi.getActiveTimers(id)))).flat();
+        setTimers(Object.fromEntries(running.map(timer => [timer.taskId.toString(), timer])));
       } catch (error) {
         console.error('Failed to fetch tasks:', error);
         toast.error('Failed to load tasks');
@@ -34,120 +55,76 @@ const TimeTracking = () => {
         setIsLoading(false);
       }
     };
-    
+
     fetchTasks();
   }, []);
-  
+
+  const fetchTracked = useCallback(async () => {
+    const rows = await reportApi.getTimeReport(rangeStart(timeFilter), isoDate(new Date()), 'task');
+    setTracked(Object.fromEntries(rows.map(row => [row.key, Math.floor(row.durationMs / 1000)])));
+  }, [timeFilter]);
+
+  useEffect(() => {
+    fetchTracked();
+  }, [fetchTracked]);
+
+  useEffect(() => {
+    const running = Object.values(timers).filter(timer => !timer.paused);
+    if (running.length === 0) return;
+    const interval = setInterval(() => {
+      running.forEach(timer => timeApi.heartbeat(timer.userId.toString(), timer.taskId.toString()));
+    }, HEARTBEAT_MS);
+    return () => clearInterval(interval);
+  }, [timers]);
+
   const formatTime = (seconds?: number) => {
     if (!seconds) return '0h 0m';
-    
+
     const hours = Math.floor(seconds / 3600);
     const minutes = Math.floor((seconds % 3600) / 60);
-    
+
     return `${hours}h ${minutes}m`;
   };
-  
-  const totalTimeLogged = tasks.reduce((total, task) => total + (task.timeLogged || 0), 0);
-  
+
+  const timeLogged = (task: TaskProps) => {
+    const timer = timers[task.id];
+    return (tracked[task.id] || 0) + (timer && !timer.paused ? Math.floor(timer.elapsedMs / 1000) : 0);
+  };
+
+  const totalTimeLogged = tasks.reduce((total, task) => total + timeLogged(task), 0);
+
   const inProgressTasks = tasks.filter(task => task.status === 'in-progress');
   const completedTasks = tasks.filter(task => task.status === 'completed');
-  
-  const getFilteredTasks = () => {
-    const now = new Date();
-    const today = new Date(now.getFullYear(), now.getMonth(), now.getDate()).getTime();
-    const weekStart = new Date(today - (now.getDay() * 24 * 60 * 60 * 1000)).getTime();
-    const monthStart = new Date(now.getFullYear(), now.getMonth(), 1).getTime();
-    
-    let filteredTasks = tasks.filter(task => (task.timeLogged || 0) > 0);
-    
-    if (timeFilter === 'today') {
-      return filteredTasks;
-    } else if (timeFilter === 'week') {
-      return filteredTasks;
-    } else if (timeFilter === 'month') {
-      return filteredTasks;
-    }
-    
-    return filteredTasks;
-  };
-  
-  const filteredTasks = getFilteredTasks();
 
-  const handleTimeUpdate = (taskId: string, newTime: number) => {
-    
-    const taskToUpdate = tasks.find(task => task.id === taskId);
-    if (!taskToUpdate) return;
-    
-   
-    const updatedTask = { ...taskToUpdate, timeLogged: newTime };
-    
-    
-    setTasks(prev => 
-      prev.map(task => 
-        task.id === taskId ? updatedTask : task
-      )
-    );
-    
-    
-  };
+  const filteredTasks = tasks.filter(task => timeLogged(task) > 0 || timers[task.id] || task.status !== 'completed');
 
-  const handleStartTimer = async (taskId: string) => {
-    try {
-      
-      if (activeTask && activeTask !== taskId) {
-        
-        await taskApi.stopTimer(activeTask);
-        
-        
-        setTasks(prev => 
-          prev.map(task => 
-            task.id === activeTask ? { ...task, status: 'todo' } : task
-          )
-        );
-        toast.info("Previous timer paused");
-      }
-      
-      
-      const updatedTask = await taskApi.startTimer(taskId);
-      
-      if (updatedTask) {
-       
-        setTasks(prev => 
-          prev.map(task => 
-            task.id === taskId ? updatedTask : task
-          )
-        );
-        setActiveTask(taskId);
-        toast.success("Timer started");
-      } else {
-        toast.error("Failed to start timer");
-      }
-    } catch (error) {
-      console.error('Error starting timer:', error);
-      toast.error("Failed to start timer");
+  const handleStartTimer = async (task: TaskProps) => {
+    if (!task.assigneeId) {
+      toast.error('Assign the task to someone to track time on it');
+      return;
+    }
+    const timer = await timeApi.start(task.assigneeId, task.id);
+    if (timer) {
+      setTimers(prev => ({ ...prev, [task.id]: timer }));
+      toast.success('Timer started');
+    } else {
+      toast.error('Failed to start timer');
     }
   };
 
-  const handlePauseTimer = async (taskId: string) => {
-    try {
-      
-      const updatedTask = await taskApi.stopTimer(taskId);
-      
-      if (updatedTask) {
-        
-        setTasks(prev => 
-          prev.map(task => 
-            task.id === taskId ? updatedTask : task
-          )
-        );
-        setActiveTask(null);
-        toast.info("Timer stopped");
-      } else {
-        toast.error("Failed to stop timer");
-      }
-    } catch (error) {
-      console.error('Error stopping timer:', error);
-      toast.error("Failed to stop timer");
+  const handleStopTimer = async (task: TaskProps) => {
+    if (!task.assigneeId) return;
+    const timer = await timeApi.stop(task.assigneeId, task.id);
+    if (timer) {
+      setTimers(prev => {
+        const { [task.id]: _stopped, ...rest } = prev;
+        return rest;
+      });
+      // The stopped segment is in the ledger; count it until the rollups are read again.
+      setTracked(prev => ({ ...prev, [task.id]: (prev[task.id] || 0) + Math.floor(timer.elapsedMs / 1000) }));
+      toast.info('Timer stopped');
+    } else {
+      toast.error('Failed to stop timer');
     }
   };
 
@@ -237,16 +214,15 @@ const TimeTracking = () => {
                 <div className="flex items-center gap-3">
                   <div className="flex items-center">
                     <Clock className="h-4 w-4 mr-2 text-muted-foreground" />
-                    <span className="font-medium">{formatTime(task.timeLogged)}</span>
+                    <span className="font-medium">{formatTime(timeLogged(task))}</span>
                   </div>
                   
                   {task.status !== 'completed' && (
                     <TimerButton
-                      isRunning={task.status === 'in-progress'}
-                      timeLogged={task.timeLogged || 0}
-                      onTimeUpdate={(newTime) => handleTimeUpdate(task.id, newTime)}
-                      onStart={() => handleStartTimer(task.id)}
-                      onPause={() => handlePauseTimer(task.id)}
+                      isRunning={!!timers[task.id] && !timers[task.id].paused}
+                      timeLogged={timeLogged(task)}
+                      onStart={() => handleStartTimer(task)}
+                      onPause={() => handleStopTimer(task)}
                       className="h-8 text-xs rounded-xl"
                     />
                   )}
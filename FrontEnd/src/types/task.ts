@@ -7,6 +7,7 @@ export interface TaskProps {
   status: 'todo' | 'in-progress' | 'completed';
   dueDate?: string;
   timeLogged?: number; 
+  assigneeId?: string;
 }
 
 export type TaskStatus = 'todo' | 'in-progress' | 'completed';
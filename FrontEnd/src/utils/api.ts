@@ -76,6 +76,7 @@ const convertBackendTaskToFrontend = (backendTask: any): TaskProps => {
     status: mapBackendStatusToFrontend(backendTask.status),
     dueDate: formattedDueDate,
     timeLogged: backendTask.timeSpent ? backendTask.timeSpent * 60 : 0, 
+    assigneeId: backendTask.assignedUser?.id?.toString(),
   };
 };
 
@@ -93,6 +94,21 @@ const convertFrontendTaskToBackend = (frontendTask: TaskProps): any => {
 };
 
 
+export interface TaskQuery {
+  status?: string[];
+  priority?: string[];
+  assignee?: number;
+  unassigned?: boolean;
+  open?: boolean;
+  parent?: number;
+  createdFrom?: string;
+  createdTo?: string;
+  updatedFrom?: string;
+  updatedTo?: string;
+  sort?: 'id' | 'updatedAt' | 'endTime';
+  order?: 'asc' | 'desc';
+}
+
 export const taskApi = {
  
   getAllTasks: async (): Promise<TaskProps[]> => {
@@ -112,6 +128,64 @@ export const taskApi = {
   },
 
   
+  getTaskPage: async (after?: string, limit = 50): Promise<{ tasks: TaskProps[]; nextCursor: string | null }> => {
+    try {
+      const params = new URLSearchParams({ limit: limit.toString() });
+      if (after) {
+        params.set('after', after);
+      }
+      const response = await fetch(`${API_BASE_URL}/tasks?${params}`);
+      if (!response.ok) {
+        throw new Error('Failed to fetch tasks');
+      }
+      const data = await response.json();
+      return { tasks: data.items.map(convertBackendTaskToFrontend), nextCursor: data.nextCursor };
+    } catch (error) {
+      console.error('Error fetching task page:', error);
+      return { tasks: [], nextCursor: null };
+    }
+  },
+
+  
+  queryTasks: async (filter: TaskQuery, after?: string, limit = 50): Promise<{ tasks: TaskProps[]; nextCursor: string | null }> => {
+    try {
+      const params = new URLSearchParams({ limit: limit.toString() });
+      Object.entries(filter).forEach(([key, value]) => {
+        if (value !== undefined && value !== null && value !== '') {
+          params.set(key, Array.isArray(value) ? value.join(',') : String(value));
+        }
+      });
+      if (after) {
+        params.set('after', after);
+      }
+      const response = await fetch(`${API_BASE_URL}/tasks?${params}`);
+      if (!response.ok) {
+        throw new Error('Failed to query tasks');
+      }
+      const data = await response.json();
+      return { tasks: data.items.map(convertBackendTaskToFrontend), nextCursor: data.nextCursor };
+    } catch (error) {
+      console.error('Error querying tasks:', error);
+      return { tasks: [], nextCursor: null };
+    }
+  },
+
+  searchTasks: async (query: string, limit = 20): Promise<{ task: TaskProps; score: number }[]> => {
+    try {
+      const params = new URLSearchParams({ q: query, limit: limit.toString() });
+      const response = await fetch(`${API_BASE_URL}/tasks/search?${params}`);
+      if (!response.ok) {
+        throw new Error('Failed to search tasks');
+      }
+      const data = await response.json();
+      return data.map((hit: any) => ({ task: convertBackendTaskToFrontend(hit.task), score: hit.score }));
+    } catch (error) {
+      console.error('Error searching tasks:', error);
+      return [];
+    }
+  },
+
+  
   getTaskById: async (id: string): Promise<TaskProps | null> => {
     try {
       const response = await fetch(`${API_BASE_URL}/tasks/${id}`);
@@ -271,3 +345,120 @@ export const taskApi = {
     }
   },
 };
+
+
+export interface ActiveTimer {
+  userId: number;
+  taskId: number;
+  startedAt: string;
+  segmentStartedAt: string | null;
+  lastHeartbeatAt: string;
+  paused: boolean;
+  elapsedMs: number;
+}
+
+export interface TimeTotal {
+  taskId: number;
+  durationMs: number;
+  entries: number;
+  running: boolean;
+}
+
+const timerAction = async (userId: string, taskId: string, action: string): Promise<ActiveTimer | null> => {
+  try {
+    const response = await fetch(`${API_BASE_URL}/users/${userId}/timers/${taskId}/${action}`, {
+      method: 'POST',
+    });
+    if (!response.ok) {
+      throw new Error(`Failed to ${action} timer`);
+    }
+    return await response.json();
+  } catch (error) {
+    console.error(`Error on timer ${action} for task ${taskId}:`, error);
+    return null;
+  }
+};
+
+export const timeApi = {
+  start: (userId: string, taskId: string) => timerAction(userId, taskId, 'start'),
+  pause: (userId: string, taskId: string) => timerAction(userId, taskId, 'pause'),
+  resume: (userId: string, taskId: string) => timerAction(userId, taskId, 'resume'),
+  heartbeat: (userId: string, taskId: string) => timerAction(userId, taskId, 'heartbeat'),
+  stop: (userId: string, taskId: string) => timerAction(userId, taskId, 'stop'),
+
+  getActiveTimers: async (userId: string): Promise<ActiveTimer[]> => {
+    try {
+      const response = await fetch(`${API_BASE_URL}/users/${userId}/timers`);
+      if (!response.ok) {
+        throw new Error('Failed to fetch timers');
+      }
+      return await response.json();
+    } catch (error) {
+      console.error('Error fetching active timers:', error);
+      return [];
+    }
+  },
+
+  getTotals: async (userId: string, from: Date, to: Date): Promise<TimeTotal[]> => {
+    try {
+      const params = new URLSearchParams({ from: from.toISOString().slice(0, 19), to: to.toISOString().slice(0, 19) });
+      const response = await fetch(`${API_BASE_URL}/users/${userId}/timers/totals?${params}`);
+      if (!response.ok) {
+        throw new Error('Failed to fetch time totals');
+      }
+      return await response.json();
+    } catch (error) {
+      console.error('Error fetching time totals:', error);
+      return [];
+    }
+  },
+};
+
+
+export interface TimeReportRow {
+  key: string;
+  durationMs: number;
+  entries: number;
+}
+
+export interface DashboardCounts {
+  todoCount: number;
+  inProgressCount: number;
+  doneCount: number;
+  totalTasks: number;
+}
+
+export const reportApi = {
+  // Status counts kept by the server, so the dashboard never has to download the tasks.
+  getDashboard: async (): Promise<DashboardCounts> => {
+    try {
+      const response = await fetch(`${API_BASE_URL}/reports/dashboard`);
+      if (!response.ok) {
+        throw new Error('Failed to fetch dashboard');
+      }
+      return await response.json();
+    } catch (error) {
+      console.error('Error fetching dashboard:', error);
+      return { todoCount: 0, inProgressCount: 0, doneCount: 0, totalTasks: 0 };
+    }
+  },
+
+  // from/to are inclusive ISO dates (YYYY-MM-DD); totals come from server-side rollups.
+  getTimeReport: async (from: string, to: string, groupBy: 'user' | 'task' | 'day' | 'week' = 'day',
+                        userId?: string): Promise<TimeReportRow[]> => {
+    try {
+      const params = new URLSearchParams({ from, to, groupBy });
+      if (userId) {
+        params.set('userId', userId);
+      }
+      const response = await fetch(`${API_BASE_URL}/reports/time?${params}`);
+      if (!response.ok) {
+        throw new Error('Failed to fetch time report');
+      }
+      return await response.json();
+    } catch (error) {
+      console.error('Error fetching time report:', error);
+      return [];
+    }
+  },
+};